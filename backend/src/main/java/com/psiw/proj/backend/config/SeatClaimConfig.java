@@ -0,0 +1,35 @@
+package com.psiw.proj.backend.config;
+
+import com.psiw.proj.backend.repository.TicketSeatRepository;
+import com.psiw.proj.backend.service.implementation.JpaSeatClaimStrategy;
+import com.psiw.proj.backend.service.implementation.NativeSeatClaimStrategy;
+import com.psiw.proj.backend.service.interfaces.SeatClaimStrategy;
+import com.psiw.proj.backend.utils.enums.SeatClaimMode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@Configuration
+@Slf4j
+public class SeatClaimConfig {
+
+    @Bean
+    public SeatClaimStrategy seatClaimStrategy(@Value("${reservation.seat-claim.mode:NATIVE}") SeatClaimMode mode,
+                                               JdbcTemplate jdbcTemplate,
+                                               TicketSeatRepository ticketSeatRepository) {
+        if (mode == SeatClaimMode.JPA) {
+            return new JpaSeatClaimStrategy(ticketSeatRepository);
+        }
+        // ON CONFLICT DO NOTHING i nextval('...') rozumie PostgreSQL (oraz H2 w trybie MODE=PostgreSQL),
+        // ale nie wbudowane H2 testów @DataJpaTest ani inne bazy – tam zostaje JPA
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) con -> con.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equals(product)) {
+            log.info("Native seat claim is not supported on {}, falling back to JPA", product);
+            return new JpaSeatClaimStrategy(ticketSeatRepository);
+        }
+        return new NativeSeatClaimStrategy(ticketSeatRepository);
+    }
+}
@@ -0,0 +1,118 @@
+package com.psiw.proj.backend.config.security;
+
+import com.psiw.proj.backend.exceptions.custom.LoginThrottledException;
+import com.psiw.proj.backend.utils.cache.BoundedTtlCache;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Koder haseł wykonujący kosztowne operacje BCrypt na osobnej, ograniczonej puli wątków.
+ * Gdy kolejka jest pełna, logowanie jest odrzucane zamiast zajmować procesor wątkom Tomcata.
+ * Poprawnie zweryfikowane hasła są krótko pamiętane jako solony skrót SHA-256.
+ */
+public final class PooledPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor workers;
+    private final BoundedTtlCache<String, byte[]> verified;
+    private final byte[] salt = new byte[16];
+
+    public PooledPasswordEncoder(PasswordEncoder delegate, int poolSize, int queueCapacity,
+                                 Duration credentialTtl, int maxCredentials, Clock clock) {
+        this.delegate = delegate;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+            Thread thread = new Thread(runnable, "password-encoder-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.verified = new BoundedTtlCache<>(maxCredentials, credentialTtl, clock);
+        new SecureRandom().nextBytes(salt);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return await(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        if (rawPassword == null || encodedPassword == null) {
+            return false;
+        }
+        // kluczem jest zapisany hash – zmiana hasła w bazie sama unieważnia wpis
+        byte[] fingerprint = fingerprint(rawPassword, encodedPassword);
+        byte[] known = verified.get(encodedPassword);
+        if (known != null && MessageDigest.isEqual(known, fingerprint)) {
+            return true;
+        }
+
+        boolean matches = await(() -> delegate.matches(rawPassword, encodedPassword));
+        if (matches) {
+            verified.put(encodedPassword, fingerprint);
+        }
+        return matches;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    public int queueDepth() {
+        return workers.getQueue().size();
+    }
+
+    // wywoływane przez Springa przy zamykaniu kontekstu (wnioskowana metoda destroy beana)
+    public void shutdown() {
+        workers.shutdown();
+    }
+
+    private <T> T await(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = workers.submit(task);
+        } catch (RejectedExecutionException e) {
+            throw new LoginThrottledException("Too many concurrent logins, retry shortly");
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new AuthenticationServiceException("Password verification interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new AuthenticationServiceException("Password verification failed", e.getCause());
+        }
+    }
+
+    private byte[] fingerprint(CharSequence rawPassword, String encodedPassword) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(salt);
+            digest.update(encodedPassword.getBytes(StandardCharsets.UTF_8));
+            return digest.digest(rawPassword.toString().getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -3,12 +3,15 @@ package com.psiw.proj.backend.config.security;
 import com.psiw.proj.backend.config.security.jwtUtils.JwtAccessTokenFilter;
 import com.psiw.proj.backend.config.security.jwtUtils.JwtConfig;
 import com.psiw.proj.backend.config.security.jwtUtils.JwtTokenUtils;
+import com.psiw.proj.backend.exceptions.custom.LoginThrottledException;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
 import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
@@ -16,9 +19,12 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
 import org.springframework.security.oauth2.server.resource.web.BearerTokenAuthenticationEntryPoint;
 import org.springframework.security.oauth2.server.resource.web.access.BearerTokenAccessDeniedHandler;
+import org.springframework.security.web.AuthenticationEntryPoint;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
@@ -26,6 +32,8 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import org.springframework.web.filter.CorsFilter;
 
+import java.time.Clock;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -39,7 +47,7 @@ import static org.springframework.security.config.Customizer.withDefaults;
 public class SecurityConfig {
 
     private final UserInfoManagerConfig userInfoManagerConfig;
-    private final RSAKeyRecord rsaKeyRecord;
+    private final JwtDecoder jwtDecoder;
     private final JwtTokenUtils jwtTokenUtils;
 
     @Order(1)
@@ -63,9 +71,9 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth.anyRequest().authenticated())
                 .userDetailsService(userInfoManagerConfig)
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
-                .exceptionHandling(ex -> ex.authenticationEntryPoint((request, response, authException) ->
-                        response.sendError(HttpServletResponse.SC_UNAUTHORIZED, authException.getMessage())))
-                .httpBasic(withDefaults())
+                .exceptionHandling(ex -> ex.authenticationEntryPoint(loginEntryPoint()))
+                // BasicAuthenticationFilter zgłasza błędy logowania własnym punktem wejścia, nie przez exceptionHandling
+                .httpBasic(basic -> basic.authenticationEntryPoint(loginEntryPoint()))
                 .cors(withDefaults())
                 .build();
     }
@@ -90,10 +98,12 @@ public class SecurityConfig {
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(auth -> auth.anyRequest().authenticated())
                 .oauth2ResourceServer(oauth2 -> oauth2
-                        .jwt(jwt -> jwt.jwtAuthenticationConverter(jwtAuthenticationConverter()))
+                        .jwt(jwt -> jwt
+                                .decoder(jwtDecoder)
+                                .jwtAuthenticationConverter(jwtAuthenticationConverter()))
                 )
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
-                .addFilterBefore(new JwtAccessTokenFilter(rsaKeyRecord, jwtTokenUtils), UsernamePasswordAuthenticationFilter.class)
+                .addFilterBefore(new JwtAccessTokenFilter(jwtDecoder, jwtTokenUtils), UsernamePasswordAuthenticationFilter.class)
                 .exceptionHandling(ex -> {
                     ex.authenticationEntryPoint(new BearerTokenAuthenticationEntryPoint());
                     ex.accessDeniedHandler(new BearerTokenAccessDeniedHandler());
@@ -103,9 +113,28 @@ public class SecurityConfig {
                 .build();
     }
 
+    // przepełniona pula BCrypt to chwilowy brak zasobów, a nie błędne dane – 503 z Retry-After zamiast 401
+    private static AuthenticationEntryPoint loginEntryPoint() {
+        return (request, response, authException) -> {
+            if (authException instanceof LoginThrottledException) {
+                response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+                response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, authException.getMessage());
+                return;
+            }
+            response.sendError(HttpServletResponse.SC_UNAUTHORIZED, authException.getMessage());
+        };
+    }
+
     @Bean
-    public BCryptPasswordEncoder bCryptPasswordEncoder() {
-        return new BCryptPasswordEncoder(BCryptPasswordEncoder.BCryptVersion.$2Y, 13);
+    public PasswordEncoder passwordEncoder(Clock clock,
+                                           @Value("${security.password.bcrypt-cost:13}") int bcryptCost,
+                                           @Value("${security.password.pool-size:2}") int poolSize,
+                                           @Value("${security.password.queue-capacity:32}") int queueCapacity,
+                                           @Value("${security.password.credential-cache.ttl:5m}") Duration credentialTtl,
+                                           @Value("${security.password.credential-cache.max-entries:1000}") int maxCredentials) {
+        // po zmianie kosztu hasła są przeliczane przy najbliższym logowaniu (UserInfoManagerConfig.updatePassword)
+        return new PooledPasswordEncoder(new BCryptPasswordEncoder(BCryptPasswordEncoder.BCryptVersion.$2Y, bcryptCost),
+                poolSize, queueCapacity, credentialTtl, maxCredentials, clock);
     }
 
     @Bean
@@ -114,8 +143,9 @@ public class SecurityConfig {
         CorsConfiguration config = new CorsConfiguration();
         config.setAllowCredentials(true);
         config.setAllowedOrigins(List.of("http://localhost:3000"));
-        config.setAllowedHeaders(Arrays.asList("Origin", "Content-Type", "Accept", "Authorization", "X-Refresh-Token"));
+        config.setAllowedHeaders(Arrays.asList("Origin", "Content-Type", "Accept", "Authorization", "X-Refresh-Token", "Idempotency-Key", "If-None-Match"));
         config.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
+        config.setExposedHeaders(List.of("ETag"));
         source.registerCorsConfiguration("/**", config);
         return new CorsFilter(source);
     }
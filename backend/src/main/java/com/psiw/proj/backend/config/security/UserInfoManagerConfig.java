@@ -1,21 +1,40 @@
 package com.psiw.proj.backend.config.security;
 
+import com.psiw.proj.backend.entity.TicketClerk;
+import com.psiw.proj.backend.exceptions.custom.TicketClerkNotFoundException;
 import com.psiw.proj.backend.repository.TicketClerkRepository;
+import com.psiw.proj.backend.service.interfaces.TicketClerkPrincipalService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
-public class UserInfoManagerConfig implements UserDetailsService {
+public class UserInfoManagerConfig implements UserDetailsService, UserDetailsPasswordService {
 
+    private final TicketClerkPrincipalService ticketClerkPrincipalService;
     private final TicketClerkRepository ticketClerkRepository;
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        return ticketClerkRepository.findByUsername(username)
+        try {
+            return ticketClerkPrincipalService.loadPrincipal(username);
+        } catch (TicketClerkNotFoundException e) {
+            throw new UsernameNotFoundException("User not found");
+        }
+    }
+
+    // wywoływane przez DaoAuthenticationProvider, gdy zapisany hash ma niższy koszt niż skonfigurowany
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        TicketClerk clerk = ticketClerkRepository.findByUsername(user.getUsername())
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+        clerk.setPassword(newPassword);
+        return ticketClerkRepository.save(clerk);
     }
 }
@@ -0,0 +1,61 @@
+package com.psiw.proj.backend.config.security.jwtUtils;
+
+import com.psiw.proj.backend.utils.cache.BoundedTtlCache;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+
+/**
+ * Dekoder JWT zapamiętujący już zweryfikowane tokeny do chwili ich wygaśnięcia.
+ * Kluczem jest skrót SHA-256 tokenu, więc podpis RSA sprawdzany jest raz na token.
+ */
+public final class CachingJwtDecoder implements JwtDecoder {
+
+    private final JwtDecoder delegate;
+    private final Clock clock;
+    private final BoundedTtlCache<String, Jwt> verified;
+
+    public CachingJwtDecoder(JwtDecoder delegate, Clock clock, int maxEntries) {
+        this.delegate = delegate;
+        this.clock = clock;
+        // czas życia wpisu zawsze wyznacza exp tokenu – domyślny TTL nie jest używany
+        this.verified = new BoundedTtlCache<>(maxEntries, Duration.ZERO, clock);
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        String key = sha256(token);
+        Jwt cached = verified.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        Jwt jwt = delegate.decode(token);
+        Instant expiresAt = jwt.getExpiresAt();
+        if (expiresAt != null && expiresAt.isAfter(clock.instant())) {
+            verified.put(key, jwt, expiresAt);
+        }
+        return jwt;
+    }
+
+    public int size() {
+        return verified.size();
+    }
+
+    private static String sha256(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
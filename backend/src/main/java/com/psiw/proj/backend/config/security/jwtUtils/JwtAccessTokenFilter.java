@@ -1,6 +1,5 @@
 package com.psiw.proj.backend.config.security.jwtUtils;
 
-import com.psiw.proj.backend.config.security.RSAKeyRecord;
 import com.psiw.proj.backend.utils.enums.TokenType;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -17,7 +16,6 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.JwtValidationException;
-import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.web.filter.OncePerRequestFilter;
 import org.springframework.web.server.ResponseStatusException;
@@ -27,7 +25,7 @@ import java.io.IOException;
 @RequiredArgsConstructor
 public class JwtAccessTokenFilter extends OncePerRequestFilter {
 
-    private final RSAKeyRecord rsaKeyRecord;
+    private final JwtDecoder jwtDecoder;
     private final JwtTokenUtils jwtTokenUtils;
 
     @Override
@@ -44,7 +42,6 @@ public class JwtAccessTokenFilter extends OncePerRequestFilter {
 
             final String token = authHeader.substring(7);
 
-            JwtDecoder jwtDecoder = NimbusJwtDecoder.withPublicKey(rsaKeyRecord.publicKey()).build();
             final Jwt jwtToken = jwtDecoder.decode(token);
 
             final String userName = jwtTokenUtils.getUserName(jwtToken);
@@ -7,6 +7,7 @@ import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
 import com.nimbusds.jose.jwk.source.JWKSource;
 import com.nimbusds.jose.proc.SecurityContext;
 import com.psiw.proj.backend.config.security.RSAKeyRecord;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
@@ -14,6 +15,8 @@ import org.springframework.security.oauth2.jwt.JwtEncoder;
 import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
 import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
 
+import java.time.Clock;
+
 @Configuration
 public class JwtConfig {
     private final RSAKeyRecord rsaKeyRecord;
@@ -23,8 +26,10 @@ public class JwtConfig {
     }
 
     @Bean
-    public JwtDecoder jwtDecoder() {
-        return NimbusJwtDecoder.withPublicKey(rsaKeyRecord.publicKey()).build();
+    public JwtDecoder jwtDecoder(Clock clock,
+                                 @Value("${security.jwt.decoder-cache.max-entries:10000}") int maxEntries) {
+        // jeden dekoder dla filtra, resource servera i odświeżania tokenów
+        return new CachingJwtDecoder(NimbusJwtDecoder.withPublicKey(rsaKeyRecord.publicKey()).build(), clock, maxEntries);
     }
 
     @Bean
@@ -1,7 +1,6 @@
 package com.psiw.proj.backend.config.security.jwtUtils;
 
-import com.psiw.proj.backend.exceptions.custom.TicketClerkNotFoundException;
-import com.psiw.proj.backend.repository.TicketClerkRepository;
+import com.psiw.proj.backend.service.interfaces.TicketClerkPrincipalService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.oauth2.jwt.Jwt;
@@ -14,7 +13,7 @@ import java.util.Objects;
 @RequiredArgsConstructor
 public class JwtTokenUtils {
 
-    private final TicketClerkRepository ticketClerkRepository;
+    private final TicketClerkPrincipalService ticketClerkPrincipalService;
 
     public String getUserName(Jwt jwtToken) {
         return jwtToken.getSubject();
@@ -32,7 +31,6 @@ public class JwtTokenUtils {
     }
 
     public UserDetails userDetails(String emailId) {
-        return ticketClerkRepository.findByUsername(emailId)
-                .orElseThrow(() -> new TicketClerkNotFoundException("User not found"));
+        return ticketClerkPrincipalService.loadPrincipal(emailId);
     }
 }
\ No newline at end of file
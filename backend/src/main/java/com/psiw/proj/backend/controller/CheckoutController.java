@@ -0,0 +1,80 @@
+package com.psiw.proj.backend.controller;
+
+import com.psiw.proj.backend.service.interfaces.CheckoutService;
+import com.psiw.proj.backend.utils.aspects.LogExecution;
+import com.psiw.proj.backend.utils.requestDto.CheckoutRequest;
+import com.psiw.proj.backend.utils.responseDto.CheckoutResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.net.URI;
+import java.util.UUID;
+
+@LogExecution
+@RestController
+@RequestMapping("/psiw/api/v1/open/checkouts")
+@RequiredArgsConstructor
+public class CheckoutController {
+
+    private final CheckoutService checkoutService;
+
+    @Operation(
+            summary = "Zakup biletu",
+            description = "Blokuje miejsca, a następnie w tle przeprowadza płatność (z ponowieniami) i potwierdza rezerwację. " +
+                    "Zwraca identyfikator zakupu, którego stan można odpytywać lub subskrybować."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Miejsca zablokowane, płatność w toku",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = CheckoutResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Nieprawidłowe dane wejściowe", content = @Content),
+            @ApiResponse(responseCode = "409", description = "Co najmniej jedno z miejsc jest już zajęte", content = @Content)
+    })
+    @PostMapping
+    public ResponseEntity<CheckoutResponse> startCheckout(@RequestBody @Valid CheckoutRequest checkoutRequest) {
+        CheckoutResponse checkout = checkoutService.start(checkoutRequest);
+        return ResponseEntity.accepted()
+                .location(URI.create("/psiw/api/v1/open/checkouts/" + checkout.checkoutId()))
+                .body(checkout);
+    }
+
+    @Operation(
+            summary = "Stan zakupu",
+            description = "Zwraca bieżący etap zakupu; po potwierdzeniu zawiera bilet."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stan zakupu",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = CheckoutResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Zakup nie istnieje lub jego wynik już wygasł", content = @Content)
+    })
+    @GetMapping("/{checkoutId}")
+    public ResponseEntity<CheckoutResponse> getCheckout(
+            @Parameter(description = "Identyfikator zakupu", example = "550e8400-e29b-41d4-a716-446655440000")
+            @PathVariable UUID checkoutId) {
+        return ResponseEntity.ok(checkoutService.get(checkoutId));
+    }
+
+    @Operation(
+            summary = "Strumień stanu zakupu",
+            description = "Server-Sent Events: zdarzenie \"checkout\" z bieżącym stanem, a po zakończeniu ze stanem końcowym."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Strumień otwarty"),
+            @ApiResponse(responseCode = "404", description = "Zakup nie istnieje lub jego wynik już wygasł", content = @Content)
+    })
+    @GetMapping(value = "/{checkoutId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamCheckout(
+            @Parameter(description = "Identyfikator zakupu", example = "550e8400-e29b-41d4-a716-446655440000")
+            @PathVariable UUID checkoutId) {
+        return ResponseEntity.ok(checkoutService.subscribe(checkoutId));
+    }
+}
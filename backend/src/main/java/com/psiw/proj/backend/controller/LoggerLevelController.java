@@ -0,0 +1,59 @@
+package com.psiw.proj.backend.controller;
+
+import com.psiw.proj.backend.service.interfaces.LoggerLevelService;
+import com.psiw.proj.backend.utils.aspects.LogExecution;
+import com.psiw.proj.backend.utils.responseDto.LoggerLevelResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@LogExecution
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/psiw/api/v1/auth/loggers")
+public class LoggerLevelController {
+
+    private final LoggerLevelService loggerLevelService;
+
+    @Operation(
+            summary = "Poziom loggera",
+            description = "Zwraca ustawiony i obowiązujący poziom logowania wskazanego loggera"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Poziom pobrany pomyślnie",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = LoggerLevelResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Brak ważnego tokenu", content = @Content)
+    })
+    @GetMapping("/{loggerName}")
+    public ResponseEntity<LoggerLevelResponse> getLevel(
+            @Parameter(description = "Nazwa loggera", example = "org.hibernate.SQL")
+            @PathVariable String loggerName) {
+        return ResponseEntity.ok(loggerLevelService.getLevel(loggerName));
+    }
+
+    @Operation(
+            summary = "Zmiana poziomu loggera",
+            description = "Zmienia poziom logowania w działającej aplikacji, np. włącza logowanie SQL (org.hibernate.SQL) " +
+                    "i parametrów zapytań (org.hibernate.orm.jdbc.bind). Brak parametru level przywraca poziom dziedziczony."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Poziom zmieniony",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = LoggerLevelResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Nieznany poziom logowania", content = @Content),
+            @ApiResponse(responseCode = "401", description = "Brak ważnego tokenu", content = @Content)
+    })
+    @PutMapping("/{loggerName}")
+    public ResponseEntity<LoggerLevelResponse> setLevel(
+            @Parameter(description = "Nazwa loggera", example = "org.hibernate.SQL")
+            @PathVariable String loggerName,
+            @Parameter(description = "Nowy poziom: TRACE, DEBUG, INFO, WARN, ERROR, OFF", example = "DEBUG")
+            @RequestParam(required = false) String level) {
+        return ResponseEntity.ok(loggerLevelService.setLevel(loggerName, level));
+    }
+}
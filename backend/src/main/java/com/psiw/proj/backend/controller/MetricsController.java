@@ -0,0 +1,38 @@
+package com.psiw.proj.backend.controller;
+
+import com.psiw.proj.backend.service.interfaces.MetricsService;
+import com.psiw.proj.backend.utils.aspects.LogExecution;
+import com.psiw.proj.backend.utils.responseDto.MetricsResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@LogExecution
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/psiw/api/v1/auth/metrics")
+public class MetricsController {
+
+    private final MetricsService metricsService;
+
+    @Operation(
+            summary = "Metryki serwera",
+            description = "Zwraca liczniki trafień i chybień pamięci podręcznych oraz percentyle czasów obsługi poszczególnych endpointów"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Metryki pobrane pomyślnie",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = MetricsResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Brak ważnego tokenu", content = @Content)
+    })
+    @GetMapping
+    public ResponseEntity<MetricsResponse> getMetrics() {
+        return ResponseEntity.ok(metricsService.snapshot());
+    }
+}
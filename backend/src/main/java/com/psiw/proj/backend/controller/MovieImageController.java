@@ -1,70 +1,96 @@
 package com.psiw.proj.backend.controller;
 
 import com.psiw.proj.backend.service.interfaces.MovieImageService;
+import com.psiw.proj.backend.service.interfaces.MovieImageVariantService;
 import com.psiw.proj.backend.utils.aspects.LogExecution;
+import com.psiw.proj.backend.utils.enums.ImageFormat;
+import com.psiw.proj.backend.utils.enums.ImageSize;
+import com.psiw.proj.backend.utils.images.MovieImage;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import lombok.RequiredArgsConstructor;
-import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.util.StreamUtils;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Paths;
+import java.time.Duration;
 
 @RestController
 @LogExecution
-@RequestMapping("/psiw/api/v1/open/movies")
+@RequestMapping(MovieImageService.MOVIES_PATH)
 @RequiredArgsConstructor
 public class MovieImageController {
 
+    private static final Duration IMMUTABLE_MAX_AGE = Duration.ofDays(365);
+
     private final MovieImageService imageService;
+    private final MovieImageVariantService imageVariantService;
 
     @Operation(
             summary = "Pobierz obraz filmu",
             description = "Zwraca surowe bajty obrazu powiązanego z podanym ID filmu. " +
-                    "Typ zawartości odpowiedzi jest określany dynamicznie (np. image/jpeg, image/png)."
+                    "Typ zawartości odpowiedzi jest określany na podstawie rozszerzenia pliku (np. image/jpeg, image/png). " +
+                    "Parametry size i format wybierają przeskalowany wariant (np. miniaturę do listy repertuaru). " +
+                    "Obsługuje nagłówki Range, If-None-Match i If-Modified-Since. Adres z parametrem v równym " +
+                    "skrótowi treści (pole imageUrl repertuaru) jest buforowany bez ponownej walidacji."
     )
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Obraz został pomyślnie pobrany"),
+            @ApiResponse(responseCode = "206", description = "Zwrócono żądany zakres bajtów obrazu"),
+            @ApiResponse(responseCode = "304", description = "Obraz nie zmienił się"),
+            @ApiResponse(responseCode = "400", description = "Nieobsługiwany rozmiar lub format"),
             @ApiResponse(responseCode = "404", description = "Film lub jego obraz nie został znaleziony"),
             @ApiResponse(responseCode = "500", description = "Wewnętrzny błąd serwera podczas odczytu obrazu")
     })
     @GetMapping("/{id}/image")
-    public ResponseEntity<ByteArrayResource> getMovieImage(
+    public ResponseEntity<Resource> getMovieImage(
             @Parameter(
                     description = "Unikalny identyfikator filmu",
                     example = "42",
                     required = true
             )
-            @PathVariable("id") Long movieId
-    ) throws IOException {
-        Resource img = imageService.loadImageResource(movieId);
-
-        // Odczyt bajtów
-        byte[] data = StreamUtils.copyToByteArray(img.getInputStream());
-        ByteArrayResource resource = new ByteArrayResource(data);
+            @PathVariable("id") Long movieId,
+            @Parameter(description = "Rozmiar wariantu: thumbnail (200 px), medium (480 px), original", example = "thumbnail")
+            @RequestParam(value = "size", defaultValue = "original") String size,
+            @Parameter(description = "Format wariantu: jpeg, png; domyślnie jpeg dla przeskalowanych wariantów", example = "jpeg")
+            @RequestParam(value = "format", required = false) String format,
+            @Parameter(description = "Wersja obrazu (skrót treści) – wersjonowany adres jest niezmienny", example = "0f343b0931126a20f133d67c2b018a3b")
+            @RequestParam(value = "v", required = false) String version,
+            WebRequest webRequest
+    ) {
+        ImageSize imageSize = ImageSize.from(size);
+        MovieImage original = imageService.loadImage(movieId);
+        MovieImage img = imageSize == ImageSize.ORIGINAL && format == null
+                ? original
+                : imageVariantService.loadVariant(movieId, imageSize, format == null ? ImageFormat.JPEG : ImageFormat.from(format));
 
-        // Rozpoznaj content-type (jpg/png/etc)
-        String contentType = Files.probeContentType(Paths.get(img.getURI()));
-        if (contentType == null) {
-            contentType = MediaType.APPLICATION_OCTET_STREAM_VALUE;
+        String etag = "\"" + img.contentHash() + "\"";
+        if (webRequest.checkNotModified(etag, img.lastModified().toEpochMilli())) {
+            return null;
         }
 
+        // wariant wynika jednoznacznie ze źródła, więc wersja źródła wystarcza dla każdego rozmiaru i formatu
+        CacheControl cacheControl = original.contentHash().equals(version)
+                ? CacheControl.maxAge(IMMUTABLE_MAX_AGE).cachePublic().immutable()
+                : CacheControl.noCache().cachePublic();
+
+        // zasób przesyłany strumieniowo (lub jako ResourceRegion przy Range) – bez kopii całego pliku w pamięci
         return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"" + img.getFilename() + "\"")
-                .contentType(MediaType.parseMediaType(contentType))
-                .contentLength(data.length)
-                .body(resource);
+                .eTag(etag)
+                .lastModified(img.lastModified())
+                .cacheControl(cacheControl)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"" + img.filename() + "\"")
+                .contentType(img.contentType())
+                .contentLength(img.contentLength())
+                .body(img.resource());
     }
 }
@@ -1,5 +1,6 @@
 package com.psiw.proj.backend.controller;
 
+import com.psiw.proj.backend.service.interfaces.PaymentSimulatorService;
 import com.psiw.proj.backend.utils.aspects.LogExecution;
 import com.psiw.proj.backend.utils.requestDto.PaymentRequest;
 import com.psiw.proj.backend.utils.responseDto.PaymentResponse;
@@ -8,53 +9,43 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
-import org.springframework.http.HttpStatus;
+import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.CompletableFuture;
 
 @LogExecution
 @RestController
+@RequiredArgsConstructor
 @RequestMapping("/psiw/api/v1/open/payment")
 public class PaymentController {
 
-    private final AtomicInteger invocationCounter = new AtomicInteger(0);
-    private final Lock lock = new ReentrantLock();
-    private final int failEveryN = 5;
-
+    private final PaymentSimulatorService paymentSimulatorService;
 
     @Operation(
             summary = "Przetwarza płatność",
-            description = "Endpoint do symulacji przetwarzania płatności. Co piąte żądanie kończy się błędem 503 (symulacja awarii)."
+            description = "Endpoint do symulacji przetwarzania płatności. Odsetek awarii, ich rodzaje i rozkład opóźnień ustawia się w konfiguracji (payment.simulator)."
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Płatność przetworzona pomyślnie",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = PaymentResponse.class))),
+            @ApiResponse(responseCode = "402", description = "Symulowane odrzucenie płatności",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = PaymentResponse.class))),
             @ApiResponse(responseCode = "503", description = "Symulowana awaria przetwarzania płatności",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = PaymentResponse.class))),
+            @ApiResponse(responseCode = "504", description = "Symulowany brak odpowiedzi bramki płatności",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = PaymentResponse.class)))
     })
     @PostMapping
-    public ResponseEntity<PaymentResponse> processPayment(@RequestBody PaymentRequest request) {
-        lock.lock();
-        try {
-            int attempt = invocationCounter.incrementAndGet();
-            if (attempt % failEveryN == 0) {
-                invocationCounter.set(0);
-                return ResponseEntity
-                        .status(HttpStatus.SERVICE_UNAVAILABLE)
-                        .body(new PaymentResponse(false, "Payment failed."));
-            }
-
-            return ResponseEntity.ok(new PaymentResponse(true, "Payment succeeded."));
-        } finally {
-            lock.unlock();
-        }
+    public CompletableFuture<ResponseEntity<PaymentResponse>> processPayment(@RequestBody PaymentRequest request) {
+        return paymentSimulatorService.process(request)
+                .thenApply(response -> response.success()
+                        ? ResponseEntity.ok(response)
+                        : ResponseEntity.status(response.failure().status()).body(response));
     }
 
 }
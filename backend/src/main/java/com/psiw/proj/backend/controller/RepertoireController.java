@@ -1,23 +1,37 @@
 package com.psiw.proj.backend.controller;
 
+import com.psiw.proj.backend.service.interfaces.RepertoireRangeService;
 import com.psiw.proj.backend.service.interfaces.RepertoireService;
+import com.psiw.proj.backend.service.interfaces.RepertoireSnapshotService;
+import com.psiw.proj.backend.service.interfaces.RepertoireVersionService;
+import com.psiw.proj.backend.service.interfaces.SeatAvailabilityStreamService;
 import com.psiw.proj.backend.utils.aspects.LogExecution;
+import com.psiw.proj.backend.utils.responseDto.CompactScreeningDetailsResponse;
 import com.psiw.proj.backend.utils.responseDto.MovieResponse;
 import com.psiw.proj.backend.utils.responseDto.ScreeningDetailsResponse;
+import com.psiw.proj.backend.utils.responseDto.helpers.SeatDeltaDto;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
-import java.util.List;
 
 @LogExecution
 @RestController
@@ -25,32 +39,126 @@ import java.util.List;
 @RequiredArgsConstructor
 public class RepertoireController {
 
+    public static final String SEAT_MAP_MEDIA_TYPE = "application/vnd.psiw.seatmap+json";
+
     private final RepertoireService repertoireService;
+    private final RepertoireRangeService repertoireRangeService;
+    private final RepertoireSnapshotService repertoireSnapshotService;
+    private final RepertoireVersionService repertoireVersionService;
+    private final SeatAvailabilityStreamService seatAvailabilityStreamService;
 
     @Operation(
             summary = "Pobiera filmy z repertuaru na dany dzień",
-            description = "Zwraca listę filmów wraz z zaplanowanymi seansami dla konkretnej daty."
+            description = "Zwraca listę filmów wraz z zaplanowanymi seansami dla konkretnej daty. " +
+                    "Obsługuje If-None-Match – niezmieniony repertuar zwraca 304."
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Lista filmów pobrana pomyślnie",
-                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = MovieResponse.class)))
+                    content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = MovieResponse.class)))),
+            @ApiResponse(responseCode = "304", description = "Repertuar nie zmienił się od wskazanego ETagu", content = @Content)
     })
-    @GetMapping("/movies")
-    public ResponseEntity<List<MovieResponse>> getMoviesForSpecificDate(@RequestParam LocalDate date) {
-        return ResponseEntity.ok(repertoireService.getMoviesWithScreeningsForDate(date));
+    @GetMapping(value = "/movies", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> getMoviesForSpecificDate(@RequestParam LocalDate date, WebRequest webRequest) {
+        // ETag odczytany przed treścią – treść może być co najwyżej nowsza od ETagu, nigdy starsza
+        String etag = repertoireVersionService.repertoireEtag(date);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        // gotowy JSON z migawki – bez zapytania i serializacji przy każdym żądaniu
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(repertoireSnapshotService.getMoviesJsonForDate(date));
+    }
+
+    @Operation(
+            summary = "Pobiera filmy z repertuaru na przedział dat",
+            description = "Zwraca filmy z seansami od daty from do daty to włącznie, jednym zapytaniem. " +
+                    "Odpowiedź jest strumieniowana w miarę odczytu – każdy film zawiera wszystkie swoje seanse z przedziału."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lista filmów strumieniowana pomyślnie",
+                    content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = MovieResponse.class)))),
+            @ApiResponse(responseCode = "400", description = "Niepoprawny lub zbyt długi przedział dat", content = @Content)
+    })
+    @GetMapping(value = "/movies/range", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> getMoviesForRange(
+            @Parameter(description = "Pierwszy dzień przedziału", example = "2025-05-26")
+            @RequestParam LocalDate from,
+            @Parameter(description = "Ostatni dzień przedziału (włącznie)", example = "2025-06-01")
+            @RequestParam LocalDate to) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(repertoireRangeService.streamMoviesForRange(from, to));
     }
 
     @Operation(
             summary = "Pobiera szczegóły konkretnego seansu",
-            description = "Zwraca szczegółowe informacje na temat seansu na podstawie jego ID."
+            description = "Zwraca szczegółowe informacje na temat seansu na podstawie jego ID. " +
+                    "Obsługuje If-None-Match – niezmieniona zajętość miejsc zwraca 304."
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Szczegóły seansu zwrócone pomyślnie",
-                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ScreeningDetailsResponse.class)))
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ScreeningDetailsResponse.class))),
+            @ApiResponse(responseCode = "304", description = "Seans nie zmienił się od wskazanego ETagu", content = @Content)
     })
-    @GetMapping("/movie-screening")
-    public ResponseEntity<ScreeningDetailsResponse> getScreeningDetails(@RequestParam Long screeningId) {
-        return ResponseEntity.ok(repertoireService.getScreeningDetails(screeningId));
+    @GetMapping(value = "/movie-screening", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ScreeningDetailsResponse> getScreeningDetails(@RequestParam Long screeningId, WebRequest webRequest) {
+        String etag = repertoireVersionService.screeningEtag(screeningId);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(repertoireService.getScreeningDetails(screeningId));
     }
 
+    @Operation(
+            summary = "Pobiera szczegóły seansu ze zwartą mapą miejsc",
+            description = "Wybierane nagłówkiem Accept: " + SEAT_MAP_MEDIA_TYPE + ". Zamiast listy miejsc zwraca geometrię sali " +
+                    "i bitset dostępności w base64 – klient sam odtwarza siatkę. Obsługuje If-None-Match."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Szczegóły seansu zwrócone pomyślnie",
+                    content = @Content(mediaType = SEAT_MAP_MEDIA_TYPE, schema = @Schema(implementation = CompactScreeningDetailsResponse.class))),
+            @ApiResponse(responseCode = "304", description = "Seans nie zmienił się od wskazanego ETagu", content = @Content)
+    })
+    @GetMapping(value = "/movie-screening", produces = SEAT_MAP_MEDIA_TYPE)
+    public ResponseEntity<CompactScreeningDetailsResponse> getCompactScreeningDetails(@RequestParam Long screeningId, WebRequest webRequest) {
+        // osobny ETag dla tej reprezentacji – inaczej 304 mogłoby potwierdzić treść w innym formacie
+        String etag = compactEtag(repertoireVersionService.screeningEtag(screeningId));
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(repertoireService.getCompactScreeningDetails(screeningId));
+    }
+
+    @Operation(
+            summary = "Strumień zmian zajętości miejsc seansu",
+            description = "Server-Sent Events: zdarzenie \"seats\" zawiera listę zmienionych miejsc (ID i dostępność) " +
+                    "po zatwierdzeniu rezerwacji lub zmianie blokady. Stan początkowy należy pobrać z /movie-screening " +
+                    "po otwarciu strumienia."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Strumień otwarty",
+                    content = @Content(mediaType = "text/event-stream", array = @ArraySchema(schema = @Schema(implementation = SeatDeltaDto.class)))),
+            @ApiResponse(responseCode = "404", description = "Seans nie istnieje", content = @Content)
+    })
+    @GetMapping(value = "/movie-screening/{screeningId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamSeatAvailability(
+            @Parameter(description = "ID seansu", example = "1")
+            @PathVariable Long screeningId) {
+        return ResponseEntity.ok(seatAvailabilityStreamService.subscribe(screeningId));
+    }
+
+    private static String compactEtag(String etag) {
+        return etag.substring(0, etag.length() - 1) + "-seatmap\"";
+    }
 }
@@ -1,10 +1,12 @@
 package com.psiw.proj.backend.controller;
 
+import com.psiw.proj.backend.service.interfaces.IdempotencyService;
 import com.psiw.proj.backend.service.interfaces.ReservationService;
 import com.psiw.proj.backend.utils.aspects.LogExecution;
 import com.psiw.proj.backend.utils.requestDto.ReservationRequest;
 import com.psiw.proj.backend.utils.responseDto.TicketResponse;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -14,6 +16,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -23,20 +26,33 @@ import org.springframework.web.bind.annotation.RestController;
 @RequiredArgsConstructor
 public class ReservationController {
 
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
     private final ReservationService reservationService;
+    private final IdempotencyService idempotencyService;
 
     @Operation(
             summary = "Potwierdzenie rezerwacji miejsc",
-            description = "Umożliwia użytkownikowi potwierdzenie rezerwacji miejsc na konkretny seans, generując bilet z unikalnym identyfikatorem."
+            description = "Umożliwia użytkownikowi potwierdzenie rezerwacji miejsc na konkretny seans, generując bilet z unikalnym identyfikatorem. " +
+                    "Ponowienie żądania z tym samym nagłówkiem Idempotency-Key zwraca pierwotny bilet zamiast tworzyć nowy."
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Rezerwacja została potwierdzona",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = TicketResponse.class))),
-            @ApiResponse(responseCode = "400", description = "Nieprawidłowe dane wejściowe", content = @Content)
+            @ApiResponse(responseCode = "400", description = "Nieprawidłowe dane wejściowe", content = @Content),
+            @ApiResponse(responseCode = "409", description = "Co najmniej jedno z miejsc jest już zajęte", content = @Content),
+            @ApiResponse(responseCode = "422", description = "Klucz Idempotency-Key użyty wcześniej z inną treścią żądania", content = @Content)
     })
     @PostMapping("/confirm")
-    public ResponseEntity<TicketResponse> confirmReservation(@RequestBody @Valid ReservationRequest reservationRequest) {
-        return ResponseEntity.ok(reservationService.reserveSeats(reservationRequest));
+    public ResponseEntity<TicketResponse> confirmReservation(
+            @Parameter(description = "Klucz deduplikacji ponowień żądania", example = "b7c1e9f2-3a4d-4c5e-8f6a-7b8c9d0e1f2a")
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @RequestBody @Valid ReservationRequest reservationRequest) {
+        if (idempotencyKey == null) {
+            return ResponseEntity.ok(reservationService.reserveSeats(reservationRequest));
+        }
+        return ResponseEntity.ok(idempotencyService.execute("confirm:" + idempotencyKey, reservationRequest,
+                () -> reservationService.reserveSeats(reservationRequest)));
     }
 
 }
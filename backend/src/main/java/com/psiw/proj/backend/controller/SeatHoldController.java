@@ -0,0 +1,91 @@
+package com.psiw.proj.backend.controller;
+
+import com.psiw.proj.backend.service.interfaces.IdempotencyService;
+import com.psiw.proj.backend.service.interfaces.SeatHoldService;
+import com.psiw.proj.backend.utils.aspects.LogExecution;
+import com.psiw.proj.backend.utils.requestDto.HoldConfirmationRequest;
+import com.psiw.proj.backend.utils.requestDto.SeatHoldRequest;
+import com.psiw.proj.backend.utils.responseDto.SeatHoldResponse;
+import com.psiw.proj.backend.utils.responseDto.TicketResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+import static com.psiw.proj.backend.controller.ReservationController.IDEMPOTENCY_KEY_HEADER;
+
+@LogExecution
+@RestController
+@RequestMapping("/psiw/api/v1/open/reservations/holds")
+@RequiredArgsConstructor
+public class SeatHoldController {
+
+    private final SeatHoldService seatHoldService;
+    private final IdempotencyService idempotencyService;
+
+    @Operation(
+            summary = "Czasowa blokada miejsc",
+            description = "Blokuje wybrane miejsca na seansie na kilka minut, aby klient zdążył przejść przez płatność. " +
+                    "Niepotwierdzona blokada wygasa automatycznie."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Miejsca zostały zablokowane",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = SeatHoldResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Nieprawidłowe dane wejściowe", content = @Content),
+            @ApiResponse(responseCode = "409", description = "Co najmniej jedno z miejsc jest już zajęte", content = @Content)
+    })
+    @PostMapping
+    public ResponseEntity<SeatHoldResponse> holdSeats(@RequestBody @Valid SeatHoldRequest seatHoldRequest) {
+        return ResponseEntity.ok(seatHoldService.hold(seatHoldRequest));
+    }
+
+    @Operation(
+            summary = "Potwierdzenie blokady",
+            description = "Zamienia aktywną blokadę miejsc na bilet. " +
+                    "Ponowienie żądania z tym samym nagłówkiem Idempotency-Key zwraca pierwotny bilet."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Rezerwacja została potwierdzona",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = TicketResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Blokada nie istnieje lub wygasła", content = @Content),
+            @ApiResponse(responseCode = "422", description = "Klucz Idempotency-Key użyty wcześniej z inną treścią żądania", content = @Content)
+    })
+    @PostMapping("/{holdId}/confirm")
+    public ResponseEntity<TicketResponse> confirmHold(
+            @Parameter(description = "Identyfikator blokady", example = "550e8400-e29b-41d4-a716-446655440000")
+            @PathVariable UUID holdId,
+            @Parameter(description = "Klucz deduplikacji ponowień żądania", example = "b7c1e9f2-3a4d-4c5e-8f6a-7b8c9d0e1f2a")
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @RequestBody @Valid HoldConfirmationRequest confirmationRequest) {
+        if (idempotencyKey == null) {
+            return ResponseEntity.ok(seatHoldService.confirm(holdId, confirmationRequest));
+        }
+        return ResponseEntity.ok(idempotencyService.execute("hold-confirm:" + idempotencyKey, List.of(holdId, confirmationRequest),
+                () -> seatHoldService.confirm(holdId, confirmationRequest)));
+    }
+
+    @Operation(
+            summary = "Zwolnienie blokady",
+            description = "Zwalnia zablokowane miejsca przed upływem czasu blokady."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Blokada została zwolniona", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Blokada nie istnieje lub wygasła", content = @Content)
+    })
+    @DeleteMapping("/{holdId}")
+    public ResponseEntity<Void> releaseHold(
+            @Parameter(description = "Identyfikator blokady", example = "550e8400-e29b-41d4-a716-446655440000")
+            @PathVariable UUID holdId) {
+        seatHoldService.release(holdId);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -1,6 +1,7 @@
 package com.psiw.proj.backend.entity;
 
 import com.fasterxml.jackson.annotation.JsonManagedReference;
+import com.psiw.proj.backend.entity.listeners.MovieEntityListener;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -11,6 +12,7 @@ import java.util.List;
 @Table(name = "movie", indexes = {
         @Index(name = "idx_movie_title_unq", columnList = "title", unique = true)
 })
+@EntityListeners(MovieEntityListener.class)
 @NamedEntityGraph(
         name = "Movie.withScreeningsAndRoom",
         attributeNodes = @NamedAttributeNode(
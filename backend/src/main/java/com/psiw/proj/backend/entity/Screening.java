@@ -2,8 +2,10 @@ package com.psiw.proj.backend.entity;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
+import com.psiw.proj.backend.entity.listeners.ScreeningEntityListener;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
@@ -12,6 +14,7 @@ import java.util.List;
 
 @Entity
 @Table(name = "screening")
+@EntityListeners(ScreeningEntityListener.class)
 @Builder
 @Getter
 @Setter
@@ -19,7 +22,8 @@ import java.util.List;
 @AllArgsConstructor
 public class Screening {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "screening_seq")
+    @SequenceGenerator(name = "screening_seq", sequenceName = "screening_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "film_duration", nullable = false)
@@ -28,6 +32,15 @@ public class Screening {
     @Column(name = "start_time", nullable = false)
     private LocalDateTime startTime;
 
+    /**
+     * liczba miejsc sprzedanych na seans – utrzymywana przy każdej rezerwacji, by repertuar
+     * mógł podać wolne miejsca bez liczenia ticket_seat
+     */
+    @Column(name = "reserved_seats", nullable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private int reservedSeats = 0;
+
     @ManyToOne
     @JoinColumn(name = "movie_id", nullable = false)
     @JsonBackReference("movie-screenings")
@@ -1,6 +1,7 @@
 package com.psiw.proj.backend.entity;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.psiw.proj.backend.entity.listeners.TicketClerkEntityListener;
 import com.psiw.proj.backend.utils.enums.Role;
 import jakarta.persistence.*;
 import lombok.*;
@@ -14,6 +15,7 @@ import java.util.List;
 @Table(name = "ticket_clerks", indexes = {
         @Index(name = "idx_ticketclerk_username_unq", columnList = "username", unique = true)
 })
+@EntityListeners(TicketClerkEntityListener.class)
 @Getter
 @Setter
 @NoArgsConstructor
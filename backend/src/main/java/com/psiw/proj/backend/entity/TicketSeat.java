@@ -19,8 +19,14 @@ import lombok.*;
 @AllArgsConstructor
 public class TicketSeat {
 
+    /**
+     * Rozmiar puli identyfikatorów – współdzielony z natywnym zajmowaniem miejsc.
+     */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ticket_seat_seq")
+    @SequenceGenerator(name = "ticket_seat_seq", sequenceName = "ticket_seat_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     /**
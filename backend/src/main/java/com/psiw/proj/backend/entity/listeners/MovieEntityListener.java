@@ -0,0 +1,24 @@
+package com.psiw.proj.backend.entity.listeners;
+
+import com.psiw.proj.backend.entity.Movie;
+import com.psiw.proj.backend.utils.events.MovieChangedEvent;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class MovieEntityListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Movie movie) {
+        eventPublisher.publishEvent(new MovieChangedEvent(movie.getId()));
+    }
+}
@@ -0,0 +1,24 @@
+package com.psiw.proj.backend.entity.listeners;
+
+import com.psiw.proj.backend.entity.Screening;
+import com.psiw.proj.backend.utils.events.ScreeningChangedEvent;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class ScreeningEntityListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Screening screening) {
+        eventPublisher.publishEvent(new ScreeningChangedEvent(screening.getId()));
+    }
+}
@@ -0,0 +1,24 @@
+package com.psiw.proj.backend.entity.listeners;
+
+import com.psiw.proj.backend.entity.TicketClerk;
+import com.psiw.proj.backend.utils.events.TicketClerkChangedEvent;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class TicketClerkEntityListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(TicketClerk clerk) {
+        eventPublisher.publishEvent(new TicketClerkChangedEvent(clerk.getId(), clerk.getUsername()));
+    }
+}
@@ -0,0 +1,7 @@
+package com.psiw.proj.backend.exceptions.custom;
+
+public class CheckoutNotFoundException extends RuntimeException {
+    public CheckoutNotFoundException(String message) {
+        super(message);
+    }
+}
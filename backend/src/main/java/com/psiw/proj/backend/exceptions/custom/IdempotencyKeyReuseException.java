@@ -0,0 +1,7 @@
+package com.psiw.proj.backend.exceptions.custom;
+
+public class IdempotencyKeyReuseException extends RuntimeException {
+    public IdempotencyKeyReuseException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,9 @@
+package com.psiw.proj.backend.exceptions.custom;
+
+import org.springframework.security.authentication.AuthenticationServiceException;
+
+public class LoginThrottledException extends AuthenticationServiceException {
+    public LoginThrottledException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.psiw.proj.backend.exceptions.custom;
+
+public class SeatHoldNotFoundException extends RuntimeException {
+    public SeatHoldNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.psiw.proj.backend.exceptions.custom;
+
+public class SeatsAlreadyTakenException extends RuntimeException {
+    public SeatsAlreadyTakenException(String message) {
+        super(message);
+    }
+}
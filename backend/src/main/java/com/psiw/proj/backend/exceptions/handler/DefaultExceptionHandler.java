@@ -21,7 +21,8 @@ public class DefaultExceptionHandler {
             IndexOutOfBoundsException.class, UnsupportedOperationException.class,
             TicketNotFoundException.class, ScreeningNotFoundException.class,
             RoomHasNoSeatsException.class, MovieNotFoundException.class,
-            MovieImageNotFoundException.class
+            MovieImageNotFoundException.class, SeatHoldNotFoundException.class,
+            CheckoutNotFoundException.class
     })
     public ResponseEntity<ApiError> handleNotFoundExceptions(Exception e, HttpServletRequest request) {
         return createResponseEntity(e, request, HttpStatus.NOT_FOUND);
@@ -52,6 +53,16 @@ public class DefaultExceptionHandler {
         return createResponseEntity(e, request, HttpStatus.CONFLICT);
     }
 
+    @ExceptionHandler(SeatsAlreadyTakenException.class)
+    public ResponseEntity<ApiError> handleSeatsAlreadyTakenException(SeatsAlreadyTakenException e, HttpServletRequest request) {
+        return createResponseEntity(e, request, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(IdempotencyKeyReuseException.class)
+    public ResponseEntity<ApiError> handleIdempotencyKeyReuseException(IdempotencyKeyReuseException e, HttpServletRequest request) {
+        return createResponseEntity(e, request, HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiError> handleException(Exception e, HttpServletRequest request) {
         return createResponseEntity(e, request, HttpStatus.INTERNAL_SERVER_ERROR);
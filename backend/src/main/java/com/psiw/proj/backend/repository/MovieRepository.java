@@ -1,30 +1,47 @@
 package com.psiw.proj.backend.repository;
 
 import com.psiw.proj.backend.entity.Movie;
-import org.springframework.data.jpa.repository.EntityGraph;
+import com.psiw.proj.backend.repository.projections.RepertoireRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface MovieRepository extends JpaRepository<Movie, Long> {
 
     /**
-     * Zwraca wszystkie filmy mające seanse w danym przedziale
-     * – ładuje od razu screenings + room zgodnie z grafem.
+     * Seanse z przedziału jako płaskie wiersze – wspólne dla repertuaru dziennego i strumienia zakresu.
      */
-    @EntityGraph(value = "Movie.withScreeningsAndRoom", type = EntityGraph.EntityGraphType.FETCH)
-    @Query("""
-              SELECT DISTINCT m
-              FROM Movie m
-              JOIN FETCH m.screenings s
-              JOIN FETCH s.room r
+    String REPERTOIRE_ROWS = """
+              SELECT new com.psiw.proj.backend.repository.projections.RepertoireRow(
+                     m.id, m.title, m.description, s.id, s.startTime, s.duration,
+                     r.rowCount * r.columnCount - s.reservedSeats)
+              FROM Screening s
+              JOIN s.movie m
+              JOIN s.room r
               WHERE s.startTime >= :from
                 AND s.startTime <  :to
-              ORDER BY m.title, s.startTime
-            """)
-    List<Movie> findDistinctByScreeningsStartTimeBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+              ORDER BY m.title, m.id, s.startTime
+            """;
 
+    /**
+     * Seanse z danego przedziału jako płaskie wiersze, posortowane tak, by seanse
+     * jednego filmu następowały po sobie – grupowanie wystarcza w jednym przebiegu.
+     */
+    @Query(REPERTOIRE_ROWS)
+    List<RepertoireRow> findRepertoireRows(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /**
+     * Seanse z dowolnego przedziału jako strumień wierszy – seanse jednego filmu następują po sobie.
+     * Wymaga otwartej transakcji; wiersze są pobierane kursorem, porcjami.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "256"))
+    @Query(REPERTOIRE_ROWS)
+    Stream<RepertoireRow> streamRepertoireRows(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
 }
@@ -3,6 +3,7 @@ package com.psiw.proj.backend.repository;
 import com.psiw.proj.backend.entity.Screening;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -13,4 +14,22 @@ public interface ScreeningRepository extends JpaRepository<Screening, Long> {
     @EntityGraph(attributePaths = {"movie", "room", "room.seats"})
     @Query("SELECT s FROM Screening s WHERE s.id = :id")
     Optional<Screening> findByIdWithRoomAndMovie(@Param("id") Long id);
+
+    /**
+     * Atomowe zwiększenie licznika w bazie – równoległe rezerwacje tego samego seansu nie gubią aktualizacji.
+     */
+    @Modifying
+    @Query("UPDATE Screening s SET s.reservedSeats = s.reservedSeats + :count WHERE s.id = :id")
+    int addReservedSeats(@Param("id") Long id, @Param("count") int count);
+
+    /**
+     * Wyrównuje liczniki z ticket_seat tam, gdzie się rozjechały – dla danych sprzed wprowadzenia licznika.
+     */
+    @Modifying
+    @Query("""
+              UPDATE Screening s
+              SET s.reservedSeats = cast((SELECT count(ts) FROM TicketSeat ts WHERE ts.screening = s) as Integer)
+              WHERE s.reservedSeats <> cast((SELECT count(ts) FROM TicketSeat ts WHERE ts.screening = s) as Integer)
+            """)
+    int recountReservedSeats();
 }
@@ -1,9 +1,15 @@
 package com.psiw.proj.backend.repository;
 
 import com.psiw.proj.backend.entity.Ticket;
+import com.psiw.proj.backend.repository.projections.TicketIndexRow;
+import com.psiw.proj.backend.utils.enums.TicketStatus;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -15,4 +21,48 @@ public interface TicketRepository extends JpaRepository<Ticket, UUID> {
      */
     @EntityGraph(attributePaths = {"ticketSeats", "ticketSeats.seat"})
     List<Ticket> findAllByScreeningId(Long screeningId);
+
+    /**
+     * Wiersze indeksu bramek dla seansów rozpoczynających się w przedziale – bez encji w kontekście utrwalania.
+     */
+    @Query("""
+              SELECT new com.psiw.proj.backend.repository.projections.TicketIndexRow(
+                     t.ticketNumber, t.status, t.ticketPrice, t.ownerEmail, t.ownerName, t.ownerSurname,
+                     s.startTime, s.duration, m.title, seat.seatNumber)
+              FROM TicketSeat ts
+              JOIN ts.ticket t
+              JOIN ts.seat seat
+              JOIN ts.screening s
+              JOIN s.movie m
+              WHERE s.startTime >= :from
+                AND s.startTime <  :to
+              ORDER BY t.ticketNumber, seat.seatNumber
+            """)
+    List<TicketIndexRow> findIndexRowsStartingBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("""
+              SELECT new com.psiw.proj.backend.repository.projections.TicketIndexRow(
+                     t.ticketNumber, t.status, t.ticketPrice, t.ownerEmail, t.ownerName, t.ownerSurname,
+                     s.startTime, s.duration, m.title, seat.seatNumber)
+              FROM TicketSeat ts
+              JOIN ts.ticket t
+              JOIN ts.seat seat
+              JOIN ts.screening s
+              JOIN s.movie m
+              WHERE t.ticketNumber = :ticketNumber
+              ORDER BY seat.seatNumber
+            """)
+    List<TicketIndexRow> findIndexRows(@Param("ticketNumber") UUID ticketNumber);
+
+    /**
+     * Zmienia status tylko wtedy, gdy bilet wciąż ma status {@code from} – dwa równoległe skany
+     * tego samego biletu nie mogą oba się udać.
+     *
+     * @return liczba zmienionych wierszy – 0, jeśli status zmienił się w międzyczasie
+     */
+    @Modifying
+    @Query("UPDATE Ticket t SET t.status = :to WHERE t.ticketNumber = :ticketNumber AND t.status = :from")
+    int updateStatus(@Param("ticketNumber") UUID ticketNumber,
+                     @Param("from") TicketStatus from,
+                     @Param("to") TicketStatus to);
 }
@@ -2,14 +2,61 @@ package com.psiw.proj.backend.repository;
 
 import com.psiw.proj.backend.entity.TicketSeat;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Set;
+import java.util.UUID;
 
 public interface TicketSeatRepository extends JpaRepository<TicketSeat, Long> {
 
     @Query("SELECT ts.seat.id FROM TicketSeat ts WHERE ts.screening.id = :screeningId")
     Set<Long> findTakenSeatIds(@Param("screeningId") Long screeningId);
-}
 
+    /**
+     * Zwraca pozycje zajętych miejsc w sali – (rząd - 1) * liczba kolumn + (kolumna - 1),
+     * bez ładowania encji biletów i miejsc.
+     */
+    @Query("""
+              SELECT (s.rowNumber - 1) * r.columnCount + (s.columnNumber - 1)
+              FROM TicketSeat ts
+              JOIN ts.seat s
+              JOIN s.room r
+              WHERE ts.screening.id = :screeningId
+            """)
+    List<Integer> findTakenSeatPositions(@Param("screeningId") Long screeningId);
+
+    /**
+     * Rezerwuje pulę {@link TicketSeat#ID_ALLOCATION_SIZE} identyfikatorów, tak jak optymalizator pooled Hibernate –
+     * zwracana wartość jest górną granicą puli.
+     */
+    @Query(value = "SELECT nextval('ticket_seat_seq')", nativeQuery = true)
+    long nextIdBlock();
+
+    /**
+     * Zajmuje miejsca jednym zapytaniem. Miejsca już zajęte albo spoza sali seansu nie zostaną wstawione.
+     * Identyfikatory to kolejne wartości od {@code firstId} w kolejności id miejsc – wywołujący rezerwuje je przez
+     * {@link #nextIdBlock()}. Jedynym kluczem, który może się powtórzyć, jest więc (screening_id, seat_id).
+     *
+     * @return liczba faktycznie zajętych miejsc
+     */
+    @Modifying
+    @Query(value = """
+              INSERT INTO ticket_seat (id, ticket_number, seat_id, screening_id)
+              SELECT :firstId + row_number() OVER (ORDER BY s.id) - 1, :ticketNumber, s.id, sc.id
+              FROM seat s
+              JOIN screening sc ON sc.room_number = s.room_number
+              WHERE sc.id = :screeningId AND s.id IN (:seatIds)
+              ON CONFLICT DO NOTHING
+            """, nativeQuery = true)
+    int claimSeats(@Param("firstId") long firstId,
+                   @Param("ticketNumber") UUID ticketNumber,
+                   @Param("screeningId") Long screeningId,
+                   @Param("seatIds") Collection<Long> seatIds);
+
+    @Query("SELECT ts.seat.id FROM TicketSeat ts WHERE ts.ticket.ticketNumber = :ticketNumber")
+    List<Long> findSeatIdsByTicketNumber(@Param("ticketNumber") UUID ticketNumber);
+}
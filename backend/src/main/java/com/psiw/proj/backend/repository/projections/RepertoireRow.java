@@ -0,0 +1,18 @@
+package com.psiw.proj.backend.repository.projections;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Płaski wiersz repertuaru – jeden seans wraz z danymi filmu, bez encji w kontekście utrwalania.
+ */
+public record RepertoireRow(
+        Long movieId,
+        String title,
+        String description,
+        Long screeningId,
+        LocalDateTime startTime,
+        Duration duration,
+        Integer freeSeats
+) {
+}
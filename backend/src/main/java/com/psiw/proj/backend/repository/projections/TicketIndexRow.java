@@ -0,0 +1,25 @@
+package com.psiw.proj.backend.repository.projections;
+
+import com.psiw.proj.backend.utils.enums.TicketStatus;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Płaski wiersz indeksu biletów – jedno miejsce biletu wraz z danymi biletu i seansu.
+ */
+public record TicketIndexRow(
+        UUID ticketNumber,
+        TicketStatus status,
+        BigDecimal ticketPrice,
+        String ownerEmail,
+        String ownerName,
+        String ownerSurname,
+        LocalDateTime startTime,
+        Duration duration,
+        String movieTitle,
+        Integer seatNumber
+) {
+}
@@ -0,0 +1,354 @@
+package com.psiw.proj.backend.service.implementation;
+
+import com.psiw.proj.backend.exceptions.custom.CheckoutNotFoundException;
+import com.psiw.proj.backend.exceptions.custom.SeatHoldNotFoundException;
+import com.psiw.proj.backend.service.interfaces.CheckoutService;
+import com.psiw.proj.backend.service.interfaces.PaymentSimulatorService;
+import com.psiw.proj.backend.service.interfaces.SeatHoldService;
+import com.psiw.proj.backend.utils.cache.BoundedTtlCache;
+import com.psiw.proj.backend.utils.concurrency.CircuitBreaker;
+import com.psiw.proj.backend.utils.enums.CheckoutStatus;
+import com.psiw.proj.backend.utils.enums.PaymentFailureType;
+import com.psiw.proj.backend.utils.requestDto.CheckoutRequest;
+import com.psiw.proj.backend.utils.requestDto.HoldConfirmationRequest;
+import com.psiw.proj.backend.utils.requestDto.PaymentRequest;
+import com.psiw.proj.backend.utils.requestDto.SeatHoldRequest;
+import com.psiw.proj.backend.utils.responseDto.CheckoutResponse;
+import com.psiw.proj.backend.utils.responseDto.PaymentResponse;
+import com.psiw.proj.backend.utils.responseDto.SeatHoldResponse;
+import com.psiw.proj.backend.utils.responseDto.TicketResponse;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Service
+@Slf4j
+public class CheckoutServiceImpl implements CheckoutService {
+
+    private static final String GATEWAY_UNAVAILABLE = "Payment gateway unavailable.";
+    private static final String HOLD_TOO_SHORT = "Seat hold expires before payment could complete.";
+    private static final String PAYMENT_UNCONFIRMED = "Payment gateway did not answer in time.";
+
+    private final SeatHoldService seatHoldService;
+    private final PaymentSimulatorService paymentSimulatorService;
+    private final CircuitBreaker paymentCircuit;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration attemptTimeout;
+    private final Duration streamTimeout;
+    private final Clock clock;
+    // trwające zakupy nie mogą wypaść z LRU – trafiają do pamięci podręcznej dopiero po zakończeniu
+    private final ConcurrentMap<UUID, Checkout> inFlight = new ConcurrentHashMap<>();
+    private final BoundedTtlCache<UUID, Checkout> checkouts;
+    private final ExecutorService pipelines = Executors.newVirtualThreadPerTaskExecutor();
+
+    public CheckoutServiceImpl(SeatHoldService seatHoldService,
+                               PaymentSimulatorService paymentSimulatorService,
+                               Clock clock,
+                               @Value("${checkout.payment.max-attempts:4}") int maxAttempts,
+                               @Value("${checkout.payment.initial-backoff:200ms}") Duration initialBackoff,
+                               @Value("${checkout.payment.max-backoff:2s}") Duration maxBackoff,
+                               @Value("${checkout.payment.attempt-timeout:5s}") Duration attemptTimeout,
+                               @Value("${checkout.circuit-breaker.failure-threshold:5}") int failureThreshold,
+                               @Value("${checkout.circuit-breaker.open-duration:10s}") Duration openDuration,
+                               @Value("${checkout.retention:30m}") Duration retention,
+                               @Value("${checkout.max-entries:10000}") int maxEntries,
+                               @Value("${checkout.stream.timeout:2m}") Duration streamTimeout) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("Checkout needs at least one payment attempt, got " + maxAttempts);
+        }
+        this.seatHoldService = seatHoldService;
+        this.paymentSimulatorService = paymentSimulatorService;
+        this.paymentCircuit = new CircuitBreaker(failureThreshold, openDuration, clock);
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.attemptTimeout = attemptTimeout;
+        this.streamTimeout = streamTimeout;
+        this.clock = clock;
+        this.checkouts = new BoundedTtlCache<>(maxEntries, retention, clock);
+    }
+
+    @PreDestroy
+    void stopPipelines() {
+        pipelines.shutdownNow();
+    }
+
+    @Override
+    public CheckoutResponse start(CheckoutRequest checkoutRequest) {
+        SeatHoldResponse hold = seatHoldService.hold(new SeatHoldRequest(checkoutRequest.screeningId(), checkoutRequest.seatIds()));
+
+        Checkout checkout = new Checkout(UUID.randomUUID(), hold);
+        CheckoutResponse accepted = checkout.response();
+        inFlight.put(checkout.id, checkout);
+        checkout.completion.thenRun(() -> retire(checkout));
+        pipelines.execute(() -> run(checkout, checkoutRequest));
+        return accepted;
+    }
+
+    @Override
+    public CheckoutResponse get(UUID checkoutId) {
+        return find(checkoutId).response();
+    }
+
+    @Override
+    public SseEmitter subscribe(UUID checkoutId) {
+        Checkout checkout = find(checkoutId);
+        SseEmitter emitter = new SseEmitter(streamTimeout.toMillis());
+
+        if (checkout.completion.isDone()) {
+            sendAndComplete(emitter, checkout.completion.join());
+            return emitter;
+        }
+        try {
+            emitter.send(SseEmitter.event().name("checkout").data(checkout.response()));
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+            return emitter;
+        }
+        checkout.completion.thenAccept(response -> sendAndComplete(emitter, response));
+        return emitter;
+    }
+
+    /**
+     * Stan bezpiecznika bramki płatności – na potrzeby metryk i testów.
+     */
+    public CircuitBreaker.State paymentCircuitState() {
+        return paymentCircuit.state();
+    }
+
+    private void run(Checkout checkout, CheckoutRequest checkoutRequest) {
+        UUID holdId = checkout.hold.holdId();
+        // nie pobieramy pieniędzy, jeśli blokada może wygasnąć w trakcie ponowień płatności
+        if (LocalDateTime.now(clock).plus(paymentWindow()).isAfter(checkout.hold.expiresAt())) {
+            releaseQuietly(holdId);
+            checkout.finish(CheckoutStatus.PAYMENT_FAILED, null, HOLD_TOO_SHORT);
+            return;
+        }
+        PaymentResult payment;
+        try {
+            payment = pay(checkout, checkoutRequest.payment());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            releaseQuietly(holdId);
+            checkout.finish(CheckoutStatus.FAILED, null, "Checkout interrupted");
+            return;
+        }
+        if (payment.outcome() == PaymentOutcome.REJECTED) {
+            releaseQuietly(holdId);
+            checkout.finish(CheckoutStatus.PAYMENT_FAILED, null, payment.message());
+            return;
+        }
+        if (payment.outcome() == PaymentOutcome.UNKNOWN) {
+            // bramka mogła pobrać pieniądze już po naszym limicie czasu – zwracamy je zamiast ponawiać
+            releaseQuietly(holdId);
+            compensate(checkout, checkoutRequest.payment(), payment.message());
+            return;
+        }
+
+        try {
+            TicketResponse ticket = seatHoldService.confirm(holdId,
+                    new HoldConfirmationRequest(checkoutRequest.email(), checkoutRequest.name(), checkoutRequest.surname()));
+            checkout.finish(CheckoutStatus.CONFIRMED, ticket, null);
+        } catch (RuntimeException e) {
+            log.warn("Checkout {} failed after payment: {}", checkout.id, e.getMessage());
+            compensate(checkout, checkoutRequest.payment(), e.getMessage());
+        }
+    }
+
+    /**
+     * Płatność przyjęta (lub mogła zostać przyjęta), ale bilet nie powstał – zwracamy pieniądze
+     * z tymi samymi ponowieniami co płatność.
+     */
+    private void compensate(Checkout checkout, PaymentRequest paymentRequest, String cause) {
+        Duration backoff = initialBackoff;
+        try {
+            for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+                PaymentResponse refund = awaitGateway(paymentSimulatorService.refund(paymentRequest));
+                if (refund != null && refund.success()) {
+                    checkout.finish(CheckoutStatus.REFUNDED, null, cause + " Payment refunded.");
+                    return;
+                }
+                if (attempt < maxAttempts) {
+                    Thread.sleep(withJitter(backoff));
+                    backoff = nextBackoff(backoff);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.error("Checkout {} could not refund payment of {} for user {}", checkout.id, paymentRequest.amount(), paymentRequest.userId());
+        checkout.finish(CheckoutStatus.FAILED, null, cause + " Refund pending.");
+    }
+
+    // najdłuższy możliwy czas płatności: każda próba do limitu czasu, między nimi maksymalne opóźnienie
+    private Duration paymentWindow() {
+        return attemptTimeout.plus(maxBackoff).multipliedBy(maxAttempts);
+    }
+
+    private PaymentResult pay(Checkout checkout, PaymentRequest paymentRequest) throws InterruptedException {
+        Duration backoff = initialBackoff;
+        String lastFailure = GATEWAY_UNAVAILABLE;
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            if (paymentCircuit.tryAcquire()) {
+                checkout.attempts.incrementAndGet();
+                PaymentResponse response = awaitGateway(paymentSimulatorService.process(paymentRequest));
+                if (response == null) {
+                    // ponowienie mogłoby obciążyć klienta drugi raz
+                    paymentCircuit.onFailure();
+                    return new PaymentResult(PaymentOutcome.UNKNOWN, PAYMENT_UNCONFIRMED);
+                }
+                if (response.success()) {
+                    paymentCircuit.onSuccess();
+                    return new PaymentResult(PaymentOutcome.ACCEPTED, null);
+                }
+                if (!response.failure().isRetryable()) {
+                    // odmowa to poprawna odpowiedź bramki – nie otwiera obwodu i nie jest ponawiana
+                    paymentCircuit.onSuccess();
+                    return new PaymentResult(PaymentOutcome.REJECTED, response.message());
+                }
+                paymentCircuit.onFailure();
+                lastFailure = response.message();
+            } else {
+                lastFailure = GATEWAY_UNAVAILABLE;
+            }
+
+            if (attempt < maxAttempts) {
+                Thread.sleep(withJitter(backoff));
+                backoff = nextBackoff(backoff);
+            }
+        }
+        return new PaymentResult(PaymentOutcome.REJECTED, lastFailure);
+    }
+
+    /**
+     * @return odpowiedź bramki albo {@code null}, gdy nie nadeszła w limicie czasu – wynik operacji jest wtedy nieznany
+     */
+    private PaymentResponse awaitGateway(CompletableFuture<PaymentResponse> pending) throws InterruptedException {
+        try {
+            return pending.get(attemptTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // anulowanie zwalnia tylko nasze oczekiwanie – nie zatrzymuje operacji po stronie bramki
+            pending.cancel(true);
+            return null;
+        } catch (ExecutionException e) {
+            return failedPayment(PaymentFailureType.UNAVAILABLE, GATEWAY_UNAVAILABLE);
+        }
+    }
+
+    private Duration nextBackoff(Duration backoff) {
+        Duration doubled = backoff.multipliedBy(2);
+        return doubled.compareTo(maxBackoff) > 0 ? maxBackoff : doubled;
+    }
+
+    // połowa opóźnienia stała, połowa losowa – rozprasza ponowienia wielu klientów
+    private static Duration withJitter(Duration backoff) {
+        long half = backoff.toMillis() / 2;
+        return Duration.ofMillis(half + ThreadLocalRandom.current().nextLong(half + 1));
+    }
+
+    private void releaseQuietly(UUID holdId) {
+        try {
+            seatHoldService.release(holdId);
+        } catch (SeatHoldNotFoundException e) {
+            log.debug("Seat hold {} already expired", holdId);
+        }
+    }
+
+    private static void sendAndComplete(SseEmitter emitter, CheckoutResponse response) {
+        try {
+            emitter.send(SseEmitter.event().name("checkout").data(response));
+            emitter.complete();
+        } catch (IOException | IllegalStateException e) {
+            emitter.completeWithError(e);
+        }
+    }
+
+    private static PaymentResponse failedPayment(PaymentFailureType type, String message) {
+        return PaymentResponse.builder()
+                .success(false)
+                .message(message)
+                .failure(type)
+                .build();
+    }
+
+    // najpierw do pamięci podręcznej, potem z mapy trwających – odczyt w międzyczasie zawsze coś znajdzie
+    private void retire(Checkout checkout) {
+        checkouts.put(checkout.id, checkout);
+        inFlight.remove(checkout.id);
+    }
+
+    private Checkout find(UUID checkoutId) {
+        Checkout checkout = inFlight.get(checkoutId);
+        if (checkout == null) {
+            checkout = checkouts.get(checkoutId);
+        }
+        if (checkout == null) {
+            throw new CheckoutNotFoundException("Checkout not found: " + checkoutId);
+        }
+        return checkout;
+    }
+
+    private enum PaymentOutcome {
+        ACCEPTED,
+        REJECTED,
+        UNKNOWN
+    }
+
+    private record PaymentResult(PaymentOutcome outcome, String message) {
+    }
+
+    private static final class Checkout {
+        private final UUID id;
+        private final SeatHoldResponse hold;
+        private final AtomicInteger attempts = new AtomicInteger();
+        private final CompletableFuture<CheckoutResponse> completion = new CompletableFuture<>();
+        private volatile TicketResponse ticket;
+        private volatile String message;
+        // zapisywany jako ostatni – odczyt stanu końcowego widzi bilet i komunikat
+        private volatile CheckoutStatus status = CheckoutStatus.PAYMENT_PENDING;
+
+        private Checkout(UUID id, SeatHoldResponse hold) {
+            this.id = id;
+            this.hold = hold;
+        }
+
+        private void finish(CheckoutStatus finalStatus, TicketResponse finalTicket, String finalMessage) {
+            ticket = finalTicket;
+            message = finalMessage;
+            status = finalStatus;
+            completion.complete(response());
+        }
+
+        private CheckoutResponse response() {
+            CheckoutStatus current = status;
+            return CheckoutResponse.builder()
+                    .checkoutId(id)
+                    .status(current)
+                    .paymentAttempts(attempts.get())
+                    .holdExpiresAt(current == CheckoutStatus.PAYMENT_PENDING ? hold.expiresAt() : null)
+                    .ticket(ticket)
+                    .message(message)
+                    .build();
+        }
+    }
+}
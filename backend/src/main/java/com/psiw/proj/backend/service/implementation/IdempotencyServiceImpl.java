@@ -0,0 +1,92 @@
+package com.psiw.proj.backend.service.implementation;
+
+import com.psiw.proj.backend.exceptions.custom.IdempotencyKeyReuseException;
+import com.psiw.proj.backend.service.interfaces.IdempotencyService;
+import com.psiw.proj.backend.utils.cache.BoundedTtlCache;
+import com.psiw.proj.backend.utils.responseDto.TicketResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+@Service
+public class IdempotencyServiceImpl implements IdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final BoundedTtlCache<String, CompletedRequest> completed;
+    private final ConcurrentMap<String, InFlightRequest> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyServiceImpl(Clock clock,
+                                  @Value("${reservation.idempotency.ttl:24h}") Duration ttl,
+                                  @Value("${reservation.idempotency.max-entries:100000}") int maxEntries) {
+        this.completed = new BoundedTtlCache<>(maxEntries, ttl, clock);
+    }
+
+    @Override
+    public TicketResponse execute(String idempotencyKey, Object request, Supplier<TicketResponse> action) {
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key must be 1-" + MAX_KEY_LENGTH + " characters long");
+        }
+
+        CompletedRequest done = completed.get(idempotencyKey);
+        if (done != null) {
+            checkSameRequest(done.request(), request);
+            return done.response();
+        }
+
+        InFlightRequest mine = new InFlightRequest(request, new CompletableFuture<>());
+        InFlightRequest running = inFlight.putIfAbsent(idempotencyKey, mine);
+        if (running != null) {
+            checkSameRequest(running.request(), request);
+            return await(running.response());
+        }
+
+        try {
+            // pierwsze wykonanie mogło skończyć się między odczytem cache a rejestracją
+            done = completed.get(idempotencyKey);
+            if (done != null) {
+                checkSameRequest(done.request(), request);
+            }
+            TicketResponse response = done != null ? done.response() : action.get();
+            completed.put(idempotencyKey, new CompletedRequest(request, response));
+            mine.response().complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            // błędy nie są zapamiętywane – klient może ponowić żądanie
+            mine.response().completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(idempotencyKey, mine);
+        }
+    }
+
+    private void checkSameRequest(Object original, Object request) {
+        if (!original.equals(request)) {
+            throw new IdempotencyKeyReuseException("Idempotency-Key was already used with a different request");
+        }
+    }
+
+    private TicketResponse await(CompletableFuture<TicketResponse> response) {
+        try {
+            return response.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private record CompletedRequest(Object request, TicketResponse response) {
+    }
+
+    private record InFlightRequest(Object request, CompletableFuture<TicketResponse> response) {
+    }
+}
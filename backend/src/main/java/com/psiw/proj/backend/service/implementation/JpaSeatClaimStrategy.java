@@ -0,0 +1,32 @@
+package com.psiw.proj.backend.service.implementation;
+
+import com.psiw.proj.backend.entity.Screening;
+import com.psiw.proj.backend.entity.Seat;
+import com.psiw.proj.backend.entity.Ticket;
+import com.psiw.proj.backend.entity.TicketSeat;
+import com.psiw.proj.backend.repository.TicketSeatRepository;
+import com.psiw.proj.backend.service.interfaces.SeatClaimStrategy;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+public class JpaSeatClaimStrategy implements SeatClaimStrategy {
+
+    private final TicketSeatRepository ticketSeatRepository;
+
+    @Override
+    public void claim(Ticket ticket, Screening screening, List<Seat> seats) {
+        List<TicketSeat> links = seats.stream()
+                .map(seat -> TicketSeat.builder()
+                        .ticket(ticket)
+                        .seat(seat)
+                        .screening(screening)
+                        .build()
+                )
+                .toList();
+
+        ticketSeatRepository.saveAll(links);
+        ticket.setTicketSeats(links);
+    }
+}
@@ -0,0 +1,54 @@
+package com.psiw.proj.backend.service.implementation;
+
+import com.psiw.proj.backend.service.interfaces.LoggerLevelService;
+import com.psiw.proj.backend.utils.responseDto.LoggerLevelResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggerConfiguration;
+import org.springframework.boot.logging.LoggingSystem;
+import org.springframework.stereotype.Service;
+
+import java.util.Locale;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LoggerLevelServiceImpl implements LoggerLevelService {
+
+    private final LoggingSystem loggingSystem;
+
+    @Override
+    public LoggerLevelResponse getLevel(String loggerName) {
+        LoggerConfiguration configuration = loggingSystem.getLoggerConfiguration(loggerName);
+        if (configuration == null) {
+            // logger jeszcze nie powstał – obowiązuje poziom korzenia
+            LoggerConfiguration root = loggingSystem.getLoggerConfiguration(LoggingSystem.ROOT_LOGGER_NAME);
+            return LoggerLevelResponse.builder()
+                    .name(loggerName)
+                    .effectiveLevel(root.getEffectiveLevel().name())
+                    .build();
+        }
+        return LoggerLevelResponse.builder()
+                .name(loggerName)
+                .configuredLevel(configuration.getConfiguredLevel() == null ? null : configuration.getConfiguredLevel().name())
+                .effectiveLevel(configuration.getEffectiveLevel().name())
+                .build();
+    }
+
+    @Override
+    public LoggerLevelResponse setLevel(String loggerName, String level) {
+        LogLevel logLevel = level == null ? null : parse(level);
+        loggingSystem.setLogLevel(loggerName, logLevel);
+        log.warn("Log level of {} changed to {}", loggerName, logLevel == null ? "inherited" : logLevel);
+        return getLevel(loggerName);
+    }
+
+    private static LogLevel parse(String level) {
+        try {
+            return LogLevel.valueOf(level.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported log level: " + level);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.psiw.proj.backend.service.implementation;
+
+import com.psiw.proj.backend.service.interfaces.MetricsService;
+import com.psiw.proj.backend.service.interfaces.TicketClerkPrincipalService;
+import com.psiw.proj.backend.utils.metrics.EndpointLatencyRegistry;
+import com.psiw.proj.backend.utils.responseDto.MetricsResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+public class MetricsServiceImpl implements MetricsService {
+
+    private final TicketClerkPrincipalService ticketClerkPrincipalService;
+    private final EndpointLatencyRegistry endpointLatencyRegistry;
+
+    @Override
+    public MetricsResponse snapshot() {
+        return MetricsResponse.builder()
+                .principalCache(ticketClerkPrincipalService.stats())
+                .endpoints(endpointLatencyRegistry.snapshot())
+                .build();
+    }
+}
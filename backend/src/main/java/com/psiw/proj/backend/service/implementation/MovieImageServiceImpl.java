@@ -5,23 +5,91 @@ import com.psiw.proj.backend.exceptions.custom.MovieImageNotFoundException;
 import com.psiw.proj.backend.exceptions.custom.MovieNotFoundException;
 import com.psiw.proj.backend.repository.MovieRepository;
 import com.psiw.proj.backend.service.interfaces.MovieImageService;
-import lombok.RequiredArgsConstructor;
+import com.psiw.proj.backend.utils.cache.WeightedLruCache;
+import com.psiw.proj.backend.utils.events.MovieChangedEvent;
+import com.psiw.proj.backend.utils.images.MovieImage;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.StreamUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 @Service
-@RequiredArgsConstructor
+@Slf4j
 public class MovieImageServiceImpl implements MovieImageService {
     private final MovieRepository movieRepository;
     private final ResourceLoader resourceLoader;
+    private final String imagesLocation;
+    private final long maxPosterBytes;
+
+    // plakaty trzymane w pamięci – bez zapytania o film i odczytu zasobu przy każdym żądaniu
+    private final WeightedLruCache<Long, MovieImage> posters;
+
+    // skróty treści przeżywają wyparcie plakatu – adres w repertuarze nie wymaga ponownego odczytu pliku
+    private final ConcurrentMap<Long, String> contentHashes = new ConcurrentHashMap<>();
 
-    @Value("${movie.images.location}")
-    private String imagesLocation;
+    public MovieImageServiceImpl(MovieRepository movieRepository,
+                                 ResourceLoader resourceLoader,
+                                 @Value("${movie.images.location}") String imagesLocation,
+                                 @Value("${movie.images.cache.max-size:64MB}") DataSize maxCacheSize,
+                                 @Value("${movie.images.cache.max-poster-size:4MB}") DataSize maxPosterSize) {
+        this.movieRepository = movieRepository;
+        this.resourceLoader = resourceLoader;
+        this.imagesLocation = imagesLocation;
+        this.maxPosterBytes = maxPosterSize.toBytes();
+        this.posters = new WeightedLruCache<>(maxCacheSize.toBytes(), MovieImageServiceImpl::heapBytes);
+    }
+
+    @Override
+    public MovieImage loadImage(Long movieId) {
+        MovieImage image = posters.get(movieId);
+        if (image == null) {
+            image = resolve(movieId);
+            posters.put(movieId, image);
+            contentHashes.put(movieId, image.contentHash());
+        }
+        return image;
+    }
 
     @Override
-    public Resource loadImageResource(Long movieId) {
+    public String versionedImageUrl(Long movieId) {
+        String url = MOVIES_PATH + "/" + movieId + "/image";
+        String contentHash = contentHashes.get(movieId);
+        if (contentHash != null) {
+            return url + "?v=" + contentHash;
+        }
+        try {
+            return url + "?v=" + loadImage(movieId).contentHash();
+        } catch (MovieImageNotFoundException | UncheckedIOException e) {
+            log.warn("Image of movie {} unavailable: {}", movieId, e.getMessage());
+            return url;
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMovieChanged(MovieChangedEvent event) {
+        contentHashes.remove(event.movieId());
+        if (posters.remove(event.movieId()) != null) {
+            log.debug("Poster of movie {} evicted after change", event.movieId());
+        }
+    }
+
+    private MovieImage resolve(Long movieId) {
         Movie movie = movieRepository.findById(movieId)
                 .orElseThrow(() -> new MovieNotFoundException("Movie not found with ID: " + movieId));
 
@@ -32,7 +100,41 @@ public class MovieImageServiceImpl implements MovieImageService {
         if (!resource.exists() || !resource.isReadable()) {
             throw new MovieImageNotFoundException("Image not found: " + filename);
         }
-        return resource;
+
+        MediaType contentType = MediaTypeFactory.getMediaType(filename).orElse(MediaType.APPLICATION_OCTET_STREAM);
+        try {
+            long contentLength = resource.contentLength();
+            Instant lastModified = lastModified(resource);
+            if (contentLength > maxPosterBytes) {
+                // zbyt duży na cache – przesyłany strumieniowo przy każdym żądaniu, skrót liczony raz
+                String contentHash;
+                try (InputStream in = resource.getInputStream()) {
+                    contentHash = DigestUtils.md5DigestAsHex(in);
+                }
+                return new MovieImage(resource, filename, contentType, contentLength, contentHash, lastModified);
+            }
+            byte[] data;
+            try (InputStream in = resource.getInputStream()) {
+                data = StreamUtils.copyToByteArray(in);
+            }
+            return new MovieImage(new ByteArrayResource(data), filename, contentType, data.length,
+                    DigestUtils.md5DigestAsHex(data), lastModified);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read image: " + filename, e);
+        }
     }
-}
 
+    // Last-Modified z dokładnością do sekundy, tak jak w nagłówku HTTP
+    private static Instant lastModified(Resource resource) {
+        try {
+            return Instant.ofEpochMilli(resource.lastModified()).truncatedTo(ChronoUnit.SECONDS);
+        } catch (IOException e) {
+            return Instant.EPOCH;
+        }
+    }
+
+    // plakat spoza limitu zajmuje w cache tylko metadane
+    private static long heapBytes(MovieImage image) {
+        return image.resource() instanceof ByteArrayResource ? image.contentLength() : 0;
+    }
+}
@@ -0,0 +1,208 @@
+package com.psiw.proj.backend.service.implementation;
+
+import com.psiw.proj.backend.entity.Movie;
+import com.psiw.proj.backend.repository.MovieRepository;
+import com.psiw.proj.backend.service.interfaces.MovieImageService;
+import com.psiw.proj.backend.service.interfaces.MovieImageVariantService;
+import com.psiw.proj.backend.utils.enums.ImageFormat;
+import com.psiw.proj.backend.utils.enums.ImageSize;
+import com.psiw.proj.backend.utils.events.MovieChangedEvent;
+import com.psiw.proj.backend.utils.images.ImageResizer;
+import com.psiw.proj.backend.utils.images.MovieImage;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.DigestUtils;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+@Service
+@Slf4j
+public class MovieImageVariantServiceImpl implements MovieImageVariantService {
+
+    private static final int WORKERS = 2;
+    private static final List<ImageSize> PREGENERATED_SIZES = List.of(ImageSize.THUMBNAIL, ImageSize.MEDIUM);
+
+    private final MovieImageService movieImageService;
+    private final MovieRepository movieRepository;
+    private final Path variantsDirectory;
+    private final boolean pregenerate;
+
+    // metadane gotowych plików – trafienie nie sprawdza dysku
+    private final ConcurrentMap<Path, MovieImage> variants = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Path, CompletableFuture<MovieImage>> pending = new ConcurrentHashMap<>();
+    private final ExecutorService workers;
+
+    public MovieImageVariantServiceImpl(MovieImageService movieImageService,
+                                        MovieRepository movieRepository,
+                                        @Value("${movie.images.variants.location:${java.io.tmpdir}/psiw-image-variants}") Path variantsDirectory,
+                                        @Value("${movie.images.variants.pregenerate:true}") boolean pregenerate) {
+        this.movieImageService = movieImageService;
+        this.movieRepository = movieRepository;
+        this.variantsDirectory = variantsDirectory;
+        this.pregenerate = pregenerate;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(WORKERS, runnable -> {
+            Thread thread = new Thread(runnable, "image-variants-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stopWorkers() {
+        workers.shutdownNow();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void pregenerateVariants() {
+        if (!pregenerate) {
+            return;
+        }
+        List<Long> movieIds = movieRepository.findAll().stream().map(Movie::getId).toList();
+        // tylko zlecenie generowania – zadanie na puli nie może czekać na inne zadania tej puli
+        workers.execute(() -> movieIds.forEach(movieId -> PREGENERATED_SIZES.forEach(size -> {
+            try {
+                MovieImage original = movieImageService.loadImage(movieId);
+                Path path = variantPath(movieId, original, size, ImageFormat.JPEG);
+                if (!variants.containsKey(path) && !Files.isReadable(path)) {
+                    generation(path, original, size, ImageFormat.JPEG);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Pre-generating {} variant of movie {} failed: {}", size, movieId, e.getMessage());
+            }
+        })));
+        log.info("Scheduled image variants for {} movies", movieIds.size());
+    }
+
+    @Override
+    public MovieImage loadVariant(Long movieId, ImageSize size, ImageFormat format) {
+        MovieImage original = movieImageService.loadImage(movieId);
+        Path path = variantPath(movieId, original, size, format);
+
+        MovieImage variant = variants.get(path);
+        if (variant != null) {
+            return variant;
+        }
+        if (Files.isReadable(path)) {
+            return remember(path, original, format);
+        }
+
+        try {
+            return generation(path, original, size, format).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMovieChanged(MovieChangedEvent event) {
+        String prefix = event.movieId() + "-";
+        variants.keySet().removeIf(path -> path.getFileName().toString().startsWith(prefix));
+        if (!Files.isDirectory(variantsDirectory)) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(variantsDirectory)) {
+            files.filter(path -> path.getFileName().toString().startsWith(prefix)).forEach(this::deleteQuietly);
+        } catch (IOException e) {
+            log.warn("Cannot clean image variants of movie {}: {}", event.movieId(), e.getMessage());
+        }
+    }
+
+    // jedno generowanie danego pliku naraz, niezależnie od liczby oczekujących żądań
+    private CompletableFuture<MovieImage> generation(Path path, MovieImage original, ImageSize size, ImageFormat format) {
+        CompletableFuture<MovieImage> generation = pending.computeIfAbsent(path,
+                p -> CompletableFuture.supplyAsync(() -> generate(original, size, format, p), workers));
+        generation.whenComplete((variant, error) -> pending.remove(path, generation));
+        return generation;
+    }
+
+    private MovieImage generate(MovieImage original, ImageSize size, ImageFormat format, Path path) {
+        try {
+            BufferedImage source;
+            try (InputStream in = original.resource().getInputStream()) {
+                source = ImageResizer.read(in);
+            }
+            BufferedImage scaled = size == ImageSize.ORIGINAL ? source : ImageResizer.scaleToWidth(source, size.width());
+
+            // zapis do pliku tymczasowego i atomowa podmiana – czytelnik nigdy nie zobaczy połowy pliku
+            Files.createDirectories(variantsDirectory);
+            Path temp = Files.createTempFile(variantsDirectory, path.getFileName().toString(), ".tmp");
+            try {
+                try (OutputStream out = Files.newOutputStream(temp)) {
+                    ImageResizer.write(scaled, format, out);
+                }
+                Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+            log.debug("Generated {} {} variant of {} ({} -> {} bytes)", size, format, original.filename(),
+                    original.contentLength(), Files.size(path));
+            return remember(path, original, format);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot generate image variant " + path.getFileName(), e);
+        }
+    }
+
+    private MovieImage remember(Path path, MovieImage original, ImageFormat format) {
+        try {
+            String filename = stripExtension(original.filename()) + "." + format.extension();
+            String contentHash;
+            try (InputStream in = Files.newInputStream(path)) {
+                contentHash = DigestUtils.md5DigestAsHex(in);
+            }
+            Instant lastModified = Files.getLastModifiedTime(path).toInstant().truncatedTo(ChronoUnit.SECONDS);
+            MovieImage variant = new MovieImage(new FileSystemResource(path), filename, format.mediaType(), Files.size(path),
+                    contentHash, lastModified);
+            variants.put(path, variant);
+            return variant;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read image variant " + path.getFileName(), e);
+        }
+    }
+
+    // nazwa zawiera skrót źródła – podmieniony plakat nigdy nie trafi na stary wariant, także po restarcie
+    private Path variantPath(Long movieId, MovieImage original, ImageSize size, ImageFormat format) {
+        return variantsDirectory.resolve(movieId + "-" + original.contentHash() + "-"
+                + size.name().toLowerCase() + "." + format.extension());
+    }
+
+    private static String stripExtension(String filename) {
+        int dot = filename.lastIndexOf('.');
+        return dot > 0 ? filename.substring(0, dot) : filename;
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Cannot delete image variant {}: {}", path, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.psiw.proj.backend.service.implementation;
+
+import com.psiw.proj.backend.entity.Screening;
+import com.psiw.proj.backend.entity.Seat;
+import com.psiw.proj.backend.entity.Ticket;
+import com.psiw.proj.backend.entity.TicketSeat;
+import com.psiw.proj.backend.exceptions.custom.SeatsAlreadyTakenException;
+import com.psiw.proj.backend.repository.TicketSeatRepository;
+import com.psiw.proj.backend.service.interfaces.SeatClaimStrategy;
+import lombok.RequiredArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static com.psiw.proj.backend.entity.TicketSeat.ID_ALLOCATION_SIZE;
+
+@RequiredArgsConstructor
+public class NativeSeatClaimStrategy implements SeatClaimStrategy {
+
+    private final TicketSeatRepository ticketSeatRepository;
+
+    @Override
+    public void claim(Ticket ticket, Screening screening, List<Seat> seats) {
+        // zapytanie nadaje identyfikatory w kolejności id miejsc
+        List<Long> seatIds = seats.stream().map(Seat::getId).distinct().sorted().toList();
+
+        // bilet musi trafić do bazy przed wierszami ticket_seat, które się do niego odwołują
+        ticketSeatRepository.flush();
+        List<Long> ids = new ArrayList<>(seatIds.size());
+        int claimed = 0;
+        for (int from = 0; from < seatIds.size(); from += ID_ALLOCATION_SIZE) {
+            List<Long> chunk = seatIds.subList(from, Math.min(from + ID_ALLOCATION_SIZE, seatIds.size()));
+            long firstId = nextIdBlock() - ID_ALLOCATION_SIZE + 1;
+            claimed += ticketSeatRepository.claimSeats(firstId, ticket.getTicketNumber(), screening.getId(), chunk);
+            for (int i = 0; i < chunk.size(); i++) {
+                ids.add(firstId + i);
+            }
+        }
+
+        if (claimed != seatIds.size()) {
+            Set<Long> inserted = new HashSet<>(ticketSeatRepository.findSeatIdsByTicketNumber(ticket.getTicketNumber()));
+            List<Long> conflict = seatIds.stream().filter(id -> !inserted.contains(id)).toList();
+            throw new SeatsAlreadyTakenException("Seats already taken: " + conflict);
+        }
+
+        // wszystkie wiersze wstawione, więc identyfikatory są znane – referencje bez dodatkowego zapytania
+        List<TicketSeat> links = ids.stream().map(ticketSeatRepository::getReferenceById).toList();
+        ticket.getTicketSeats().addAll(links);
+    }
+
+    // tak jak optymalizator pooled: pierwsza wartość świeżej sekwencji nie wyznacza pełnej puli
+    private long nextIdBlock() {
+        long hi = ticketSeatRepository.nextIdBlock();
+        return hi < ID_ALLOCATION_SIZE ? ticketSeatRepository.nextIdBlock() : hi;
+    }
+}
@@ -0,0 +1,108 @@
+package com.psiw.proj.backend.service.implementation;
+
+import com.psiw.proj.backend.service.interfaces.PaymentSimulatorService;
+import com.psiw.proj.backend.utils.enums.LatencyProfile;
+import com.psiw.proj.backend.utils.enums.PaymentFailureType;
+import com.psiw.proj.backend.utils.requestDto.PaymentRequest;
+import com.psiw.proj.backend.utils.responseDto.PaymentResponse;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bezstanowy symulator bramki płatności: awarie i opóźnienia są losowane z {@link ThreadLocalRandom},
+ * więc równoległe płatności nie współdzielą żadnego licznika ani blokady.
+ */
+@Service
+public class PaymentSimulatorServiceImpl implements PaymentSimulatorService {
+
+    private final double failureRatio;
+    private final List<PaymentFailureType> failureTypes;
+    private final LatencyProfile latencyProfile;
+    private final long meanMillis;
+    private final long stddevMillis;
+    private final double tailRatio;
+    private final long tailMillis;
+    // wspólny wątek opóźnień JDK tylko przekazuje zadanie – odpowiedź i zależne etapy kończą się na wątkach wirtualnych
+    private final ExecutorService completions = Executors.newVirtualThreadPerTaskExecutor();
+
+    public PaymentSimulatorServiceImpl(@Value("${payment.simulator.failure-ratio:0.2}") double failureRatio,
+                                       @Value("${payment.simulator.failure-types:UNAVAILABLE}") List<PaymentFailureType> failureTypes,
+                                       @Value("${payment.simulator.latency.profile:FIXED}") LatencyProfile latencyProfile,
+                                       @Value("${payment.simulator.latency.mean:0ms}") Duration mean,
+                                       @Value("${payment.simulator.latency.stddev:0ms}") Duration stddev,
+                                       @Value("${payment.simulator.latency.tail-ratio:0.01}") double tailRatio,
+                                       @Value("${payment.simulator.latency.tail:2s}") Duration tail) {
+        if (failureRatio < 0 || failureRatio > 1) {
+            throw new IllegalArgumentException("Failure ratio must be within 0..1, got " + failureRatio);
+        }
+        if (failureTypes.isEmpty()) {
+            throw new IllegalArgumentException("At least one payment failure type must be configured");
+        }
+        this.failureRatio = failureRatio;
+        this.failureTypes = List.copyOf(failureTypes);
+        this.latencyProfile = latencyProfile;
+        this.meanMillis = mean.toMillis();
+        this.stddevMillis = stddev.toMillis();
+        this.tailRatio = tailRatio;
+        this.tailMillis = tail.toMillis();
+    }
+
+    @PreDestroy
+    void stopCompletions() {
+        completions.shutdownNow();
+    }
+
+    @Override
+    public CompletableFuture<PaymentResponse> process(PaymentRequest request) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        PaymentResponse response = random.nextDouble() < failureRatio
+                ? failure(failureTypes.get(random.nextInt(failureTypes.size())))
+                : PaymentResponse.builder().success(true).message("Payment succeeded.").build();
+
+        return delayed(response, random);
+    }
+
+    // zwrot przyjętej płatności nie podlega losowym awariom – symulowana bramka zawsze go przyjmuje
+    @Override
+    public CompletableFuture<PaymentResponse> refund(PaymentRequest request) {
+        return delayed(PaymentResponse.builder().success(true).message("Payment refunded.").build(), ThreadLocalRandom.current());
+    }
+
+    private CompletableFuture<PaymentResponse> delayed(PaymentResponse response, ThreadLocalRandom random) {
+        long latency = sampleLatency(random);
+        if (latency <= 0) {
+            return CompletableFuture.completedFuture(response);
+        }
+        return CompletableFuture.supplyAsync(() -> response,
+                CompletableFuture.delayedExecutor(latency, TimeUnit.MILLISECONDS, completions));
+    }
+
+    private long sampleLatency(ThreadLocalRandom random) {
+        return switch (latencyProfile) {
+            case FIXED -> meanMillis;
+            case NORMAL -> gaussian(random);
+            case LONG_TAIL -> random.nextDouble() < tailRatio ? tailMillis : gaussian(random);
+        };
+    }
+
+    private long gaussian(ThreadLocalRandom random) {
+        return Math.max(0, Math.round(meanMillis + stddevMillis * random.nextGaussian()));
+    }
+
+    private static PaymentResponse failure(PaymentFailureType type) {
+        return PaymentResponse.builder()
+                .success(false)
+                .message("Payment failed.")
+                .failure(type)
+                .build();
+    }
+}
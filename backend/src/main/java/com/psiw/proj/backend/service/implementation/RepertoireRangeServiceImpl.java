@@ -0,0 +1,78 @@
+package com.psiw.proj.backend.service.implementation;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.psiw.proj.backend.repository.MovieRepository;
+import com.psiw.proj.backend.repository.projections.RepertoireRow;
+import com.psiw.proj.backend.service.interfaces.MovieImageService;
+import com.psiw.proj.backend.service.interfaces.RepertoireRangeService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+public class RepertoireRangeServiceImpl implements RepertoireRangeService {
+
+    private final MovieRepository movieRepository;
+    private final MovieImageService movieImageService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int maxDays;
+
+    public RepertoireRangeServiceImpl(MovieRepository movieRepository,
+                                      MovieImageService movieImageService,
+                                      ObjectMapper objectMapper,
+                                      PlatformTransactionManager transactionManager,
+                                      @Value("${repertoire.range.max-days:31}") int maxDays) {
+        this.movieRepository = movieRepository;
+        this.movieImageService = movieImageService;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.maxDays = maxDays;
+    }
+
+    @Override
+    public StreamingResponseBody streamMoviesForRange(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("Range end " + to + " is before its start " + from);
+        }
+        long days = ChronoUnit.DAYS.between(from, to) + 1;
+        if (days > maxDays) {
+            throw new IllegalArgumentException("Range of " + days + " days exceeds the limit of " + maxDays);
+        }
+        LocalDateTime start = from.atStartOfDay();
+        LocalDateTime end = to.plusDays(1).atStartOfDay();
+
+        // strumień JPA żyje tylko w transakcji – otwieramy ją w wątku, który pisze odpowiedź
+        return out -> readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<RepertoireRow> rows = movieRepository.streamRepertoireRows(start, end)) {
+                writeMovies(rows.iterator(), out);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private void writeMovies(Iterator<RepertoireRow> rows, OutputStream out) throws IOException {
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            json.writeStartArray();
+            // film trafia do klienta, gdy tylko jest kompletny
+            RepertoireRowGrouping.forEachMovie(rows, movieImageService::versionedImageUrl,
+                    movie -> objectMapper.writeValue(json, movie));
+            json.writeEndArray();
+        }
+    }
+}
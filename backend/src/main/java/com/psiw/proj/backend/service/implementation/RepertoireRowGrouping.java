@@ -0,0 +1,67 @@
+package com.psiw.proj.backend.service.implementation;
+
+import com.psiw.proj.backend.repository.projections.RepertoireRow;
+import com.psiw.proj.backend.utils.responseDto.MovieResponse;
+import com.psiw.proj.backend.utils.responseDto.helpers.ScreeningSummaryDto;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.LongFunction;
+
+/**
+ * Składa płaskie wiersze repertuaru w filmy z listą seansów – wspólne dla repertuaru dziennego i zakresu.
+ */
+final class RepertoireRowGrouping {
+
+    @FunctionalInterface
+    interface MovieConsumer<E extends Exception> {
+        void accept(MovieResponse movie) throws E;
+    }
+
+    private RepertoireRowGrouping() {
+    }
+
+    // wiersze przychodzą posortowane po filmie – film jest kompletny, gdy zmienia się movieId
+    static <E extends Exception> void forEachMovie(Iterator<RepertoireRow> rows,
+                                                   LongFunction<String> imageUrl,
+                                                   MovieConsumer<E> consumer) throws E {
+        RepertoireRow first = null;
+        List<ScreeningSummaryDto> screenings = new ArrayList<>();
+        while (rows.hasNext()) {
+            RepertoireRow row = rows.next();
+            if (first != null && !first.movieId().equals(row.movieId())) {
+                consumer.accept(createMovieDto(first, screenings, imageUrl));
+                screenings = new ArrayList<>();
+                first = null;
+            }
+            if (first == null) {
+                first = row;
+            }
+            screenings.add(createScreeningDto(row));
+        }
+        if (first != null) {
+            consumer.accept(createMovieDto(first, screenings, imageUrl));
+        }
+    }
+
+    private static MovieResponse createMovieDto(RepertoireRow row, List<ScreeningSummaryDto> screenings,
+                                                LongFunction<String> imageUrl) {
+        return new MovieResponse(
+                row.movieId(),
+                row.title(),
+                row.description(),
+                imageUrl.apply(row.movieId()),
+                screenings
+        );
+    }
+
+    private static ScreeningSummaryDto createScreeningDto(RepertoireRow row) {
+        return ScreeningSummaryDto.builder()
+                .id(row.screeningId())
+                .startTime(row.startTime())
+                .duration(row.duration().toMinutes())
+                .freeSeats(row.freeSeats())
+                .build();
+    }
+}
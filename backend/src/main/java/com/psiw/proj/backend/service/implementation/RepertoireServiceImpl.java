@@ -1,28 +1,31 @@
 package com.psiw.proj.backend.service.implementation;
 
-import com.psiw.proj.backend.entity.Movie;
 import com.psiw.proj.backend.entity.Screening;
 import com.psiw.proj.backend.entity.Seat;
 import com.psiw.proj.backend.exceptions.custom.RoomHasNoSeatsException;
 import com.psiw.proj.backend.exceptions.custom.ScreeningNotFoundException;
 import com.psiw.proj.backend.repository.MovieRepository;
 import com.psiw.proj.backend.repository.ScreeningRepository;
-import com.psiw.proj.backend.repository.TicketSeatRepository;
+import com.psiw.proj.backend.service.interfaces.MovieImageService;
 import com.psiw.proj.backend.service.interfaces.RepertoireService;
+import com.psiw.proj.backend.service.interfaces.SeatOccupancyService;
+import com.psiw.proj.backend.utils.responseDto.CompactScreeningDetailsResponse;
 import com.psiw.proj.backend.utils.responseDto.MovieResponse;
 import com.psiw.proj.backend.utils.responseDto.ScreeningDetailsResponse;
 import com.psiw.proj.backend.utils.responseDto.helpers.MovieSimpleDto;
 import com.psiw.proj.backend.utils.responseDto.helpers.RoomDto;
-import com.psiw.proj.backend.utils.responseDto.helpers.ScreeningSummaryDto;
 import com.psiw.proj.backend.utils.responseDto.helpers.SeatDto;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Optional;
-import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -30,71 +33,111 @@ public class RepertoireServiceImpl implements RepertoireService {
 
     private final MovieRepository movieRepository;
     private final ScreeningRepository screeningRepository;
-    private final TicketSeatRepository ticketSeatRepository;
+    private final SeatOccupancyService seatOccupancyService;
+    private final MovieImageService movieImageService;
 
     @Override
     public List<MovieResponse> getMoviesWithScreeningsForDate(LocalDate date) {
         LocalDateTime from = date.atStartOfDay();
         LocalDateTime to = date.plusDays(1).atStartOfDay();
 
-        List<Movie> movies = movieRepository.findDistinctByScreeningsStartTimeBetween(from, to);
-
-        return createMovieResponse(movies);
+        List<MovieResponse> movies = new ArrayList<>();
+        RepertoireRowGrouping.forEachMovie(movieRepository.findRepertoireRows(from, to).iterator(),
+                movieImageService::versionedImageUrl, movies::add);
+        return movies;
     }
 
     @Override
     public ScreeningDetailsResponse getScreeningDetails(Long screeningId) {
-        Screening s = screeningRepository.findByIdWithRoomAndMovie(screeningId)
+        Screening s = findScreening(screeningId);
+        return createScreeningResponse(s, getSeats(s));
+    }
+
+    @Override
+    public CompactScreeningDetailsResponse getCompactScreeningDetails(Long screeningId) {
+        Screening s = findScreening(screeningId);
+        return createCompactScreeningResponse(s, getSeats(s));
+    }
+
+    private Screening findScreening(Long screeningId) {
+        return screeningRepository.findByIdWithRoomAndMovie(screeningId)
                 .orElseThrow(() -> new ScreeningNotFoundException("Screening not found"));
+    }
 
-        Set<Long> taken = ticketSeatRepository.findTakenSeatIds(screeningId);
-        List<Seat> seatList = Optional.ofNullable(s.getRoom().getSeats())
+    private List<Seat> getSeats(Screening s) {
+        return Optional.ofNullable(s.getRoom().getSeats())
                 .orElseThrow(() -> new RoomHasNoSeatsException("Room has no seats defined"));
-
-        return createScreeningResponse(s, seatList, taken);
     }
 
-    private ScreeningDetailsResponse createScreeningResponse(Screening s, List<Seat> seatList, Set<Long> taken) {
+    private ScreeningDetailsResponse createScreeningResponse(Screening s, List<Seat> seatList) {
         return new ScreeningDetailsResponse(
                 s.getId(),
                 new MovieSimpleDto(s.getMovie().getId(), s.getMovie().getTitle()),
                 new RoomDto(s.getRoom().getRoomNumber(), s.getRoom().getRowCount(), s.getRoom().getColumnCount()),
                 s.getStartTime(),
                 s.getDuration().toMinutes(),
-                getSeatDtos(seatList, taken)
+                getSeatDtos(s, seatList)
         );
     }
 
-    private List<MovieResponse> createMovieResponse(List<Movie> movies) {
-        return movies.stream()
-                .map(m -> new MovieResponse(
-                        m.getId(),
-                        m.getTitle(),
-                        m.getDescription(),
-                        m.getScreenings().stream()
-                                .map(this::createScreeningDto)
-                                .toList()
-                ))
-                .toList();
+    private CompactScreeningDetailsResponse createCompactScreeningResponse(Screening s, List<Seat> seatList) {
+        int columnCount = s.getRoom().getColumnCount();
+        int capacity = s.getRoom().getRowCount() * columnCount;
+        Long[] seatIds = new Long[capacity];
+        Integer[] seatNumbers = new Integer[capacity];
+        for (Seat seat : seatList) {
+            int position = (seat.getRowNumber() - 1) * columnCount + (seat.getColumnNumber() - 1);
+            seatIds[position] = seat.getId();
+            seatNumbers[position] = seat.getSeatNumber();
+        }
+
+        BitSet available = new BitSet(capacity);
+        available.set(0, capacity);
+        available.andNot(seatOccupancyService.takenPositions(s));
+        for (int position = 0; position < capacity; position++) {
+            if (seatIds[position] == null) {
+                available.clear(position);
+            }
+        }
+        Long seatIdBase = regularSeatIdBase(seatIds, seatNumbers);
+
+        return CompactScreeningDetailsResponse.builder()
+                .id(s.getId())
+                .movie(new MovieSimpleDto(s.getMovie().getId(), s.getMovie().getTitle()))
+                .room(new RoomDto(s.getRoom().getRoomNumber(), s.getRoom().getRowCount(), columnCount))
+                .startTime(s.getStartTime())
+                .duration(s.getDuration().toMinutes())
+                .availability(Base64.getEncoder().encodeToString(available.toByteArray()))
+                .seatIdBase(seatIdBase)
+                .seatIds(seatIdBase == null ? Arrays.asList(seatIds) : null)
+                .seatNumbers(seatIdBase == null ? Arrays.asList(seatNumbers) : null)
+                .build();
     }
 
-    private List<SeatDto> getSeatDtos(List<Seat> seatList, Set<Long> taken) {
+    // sala regularna: pełna siatka, ID rosnące kolejno wierszami, numeracja od 1 – wystarczy jedna liczba
+    private Long regularSeatIdBase(Long[] seatIds, Integer[] seatNumbers) {
+        if (seatIds.length == 0 || seatIds[0] == null) {
+            return null;
+        }
+        long base = seatIds[0];
+        for (int position = 0; position < seatIds.length; position++) {
+            if (seatIds[position] == null || seatIds[position] != base + position || seatNumbers[position] != position + 1) {
+                return null;
+            }
+        }
+        return base;
+    }
+
+    // zajętość z mapy bitowej seansu – uwzględnia również aktywne blokady miejsc
+    private List<SeatDto> getSeatDtos(Screening screening, List<Seat> seatList) {
         return seatList.stream()
                 .map(seat -> new SeatDto(
                         seat.getId(),
                         seat.getRowNumber(),
                         seat.getColumnNumber(),
                         seat.getSeatNumber(),
-                        !taken.contains(seat.getId())
+                        !seatOccupancyService.isTaken(screening, seat)
                 ))
                 .toList();
     }
-
-    private ScreeningSummaryDto createScreeningDto(Screening screening) {
-        return ScreeningSummaryDto.builder()
-                .id(screening.getId())
-                .startTime(screening.getStartTime())
-                .duration(screening.getDuration().toMinutes())
-                .build();
-    }
 }
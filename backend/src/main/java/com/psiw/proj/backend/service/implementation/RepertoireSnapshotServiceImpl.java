@@ -0,0 +1,109 @@
+package com.psiw.proj.backend.service.implementation;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.psiw.proj.backend.service.interfaces.RepertoireService;
+import com.psiw.proj.backend.service.interfaces.RepertoireSnapshotService;
+import com.psiw.proj.backend.utils.cache.BoundedTtlCache;
+import com.psiw.proj.backend.utils.concurrency.StripedLocks;
+import com.psiw.proj.backend.utils.events.MovieChangedEvent;
+import com.psiw.proj.backend.utils.events.ScreeningChangedEvent;
+import com.psiw.proj.backend.utils.events.SeatAvailabilityChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.UncheckedIOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+
+@Service
+@Slf4j
+public class RepertoireSnapshotServiceImpl implements RepertoireSnapshotService {
+
+    private static final int LOCK_STRIPES = 16;
+
+    private final RepertoireService repertoireService;
+    private final ObjectMapper objectMapper;
+    private final BoundedTtlCache<LocalDate, byte[]> snapshots;
+    private final StripedLocks locks = new StripedLocks(LOCK_STRIPES);
+    // zmienia się przy każdym unieważnieniu – migawka zbudowana przed nim nie trafi do cache
+    private final AtomicLong generation = new AtomicLong();
+
+    public RepertoireSnapshotServiceImpl(RepertoireService repertoireService,
+                                         ObjectMapper objectMapper,
+                                         Clock clock,
+                                         @Value("${repertoire.snapshot.ttl:10m}") Duration ttl,
+                                         @Value("${repertoire.snapshot.max-entries:62}") int maxEntries) {
+        this.repertoireService = repertoireService;
+        this.objectMapper = objectMapper;
+        this.snapshots = new BoundedTtlCache<>(maxEntries, ttl, clock);
+    }
+
+    @Override
+    public byte[] getMoviesJsonForDate(LocalDate date) {
+        byte[] snapshot = snapshots.get(date);
+        if (snapshot != null) {
+            return snapshot;
+        }
+        // jedno zapytanie na datę, nawet gdy wiele żądań trafi na pusty cache jednocześnie
+        Lock lock = locks.lockFor(date);
+        lock.lock();
+        try {
+            snapshot = snapshots.get(date);
+            if (snapshot == null) {
+                long startedAt = generation.get();
+                snapshot = serialize(date);
+                if (generation.get() == startedAt) {
+                    snapshots.put(date, snapshot);
+                }
+            }
+            return snapshot;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void evictAll() {
+        generation.incrementAndGet();
+        snapshots.clear();
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScreeningChanged(ScreeningChangedEvent event) {
+        log.debug("Screening {} changed, dropping repertoire snapshots", event.screeningId());
+        evictAll();
+    }
+
+    // tytuł, opis i adres plakatu są częścią migawki
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMovieChanged(MovieChangedEvent event) {
+        log.debug("Movie {} changed, dropping repertoire snapshots", event.movieId());
+        evictAll();
+    }
+
+    // migawka niesie liczbę wolnych miejsc – wystarczy odrzucić dzień, którego dotyczy zmiana
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSeatAvailabilityChanged(SeatAvailabilityChangedEvent event) {
+        generation.incrementAndGet();
+        snapshots.remove(event.screeningDate());
+    }
+
+    private byte[] serialize(LocalDate date) {
+        try {
+            return objectMapper.writeValueAsBytes(repertoireService.getMoviesWithScreeningsForDate(date));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("Cannot serialize repertoire for " + date, e);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.psiw.proj.backend.service.implementation;
+
+import com.psiw.proj.backend.service.interfaces.RepertoireVersionService;
+import com.psiw.proj.backend.utils.events.MovieChangedEvent;
+import com.psiw.proj.backend.utils.events.ScreeningChangedEvent;
+import com.psiw.proj.backend.utils.events.SeatAvailabilityChangedEvent;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+public class RepertoireVersionServiceImpl implements RepertoireVersionService {
+
+    private static final AtomicLong UNCHANGED = new AtomicLong();
+
+    // liczniki startują od zera po restarcie – identyfikator uruchomienia odróżnia ETagi poprzedniej instancji
+    private final String instanceId;
+    // zmiana seansu lub filmu nie niesie daty, więc unieważnia wszystkie ETagi naraz
+    private final AtomicLong epoch = new AtomicLong();
+    private final ConcurrentMap<LocalDate, AtomicLong> dateVersions = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, AtomicLong> screeningVersions = new ConcurrentHashMap<>();
+
+    public RepertoireVersionServiceImpl(Clock clock) {
+        this.instanceId = Long.toString(clock.millis(), 36);
+    }
+
+    @Override
+    public String repertoireEtag(LocalDate date) {
+        return etag(dateVersions.getOrDefault(date, UNCHANGED));
+    }
+
+    @Override
+    public String screeningEtag(Long screeningId) {
+        return etag(screeningVersions.getOrDefault(screeningId, UNCHANGED));
+    }
+
+    // po unieważnieniu migawek repertuaru – nowy ETag nigdy nie opisuje starej treści
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSeatAvailabilityChanged(SeatAvailabilityChangedEvent event) {
+        invalidateScreening(event.screeningId(), event.screeningDate());
+    }
+
+    @Override
+    public void invalidateScreening(Long screeningId, LocalDate screeningDate) {
+        dateVersions.computeIfAbsent(screeningDate, d -> new AtomicLong()).incrementAndGet();
+        screeningVersions.computeIfAbsent(screeningId, id -> new AtomicLong()).incrementAndGet();
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(classes = {ScreeningChangedEvent.class, MovieChangedEvent.class}, fallbackExecution = true)
+    public void onRepertoireChanged() {
+        epoch.incrementAndGet();
+    }
+
+    private String etag(AtomicLong version) {
+        return "\"" + instanceId + "-" + epoch.get() + "-" + version.get() + "\"";
+    }
+}
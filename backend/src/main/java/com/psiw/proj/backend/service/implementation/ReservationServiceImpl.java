@@ -3,25 +3,27 @@ package com.psiw.proj.backend.service.implementation;
 import com.psiw.proj.backend.entity.Screening;
 import com.psiw.proj.backend.entity.Seat;
 import com.psiw.proj.backend.entity.Ticket;
-import com.psiw.proj.backend.entity.TicketSeat;
 import com.psiw.proj.backend.exceptions.custom.ScreeningNotFoundException;
 import com.psiw.proj.backend.repository.ScreeningRepository;
 import com.psiw.proj.backend.repository.SeatRepository;
 import com.psiw.proj.backend.repository.TicketRepository;
-import com.psiw.proj.backend.repository.TicketSeatRepository;
 import com.psiw.proj.backend.service.interfaces.ReservationService;
+import com.psiw.proj.backend.service.interfaces.SeatClaimStrategy;
+import com.psiw.proj.backend.service.interfaces.SeatOccupancyService;
 import com.psiw.proj.backend.utils.enums.TicketStatus;
+import com.psiw.proj.backend.utils.events.SeatAvailabilityChangedEvent;
+import com.psiw.proj.backend.utils.events.TicketIssuedEvent;
 import com.psiw.proj.backend.utils.requestDto.ReservationRequest;
 import com.psiw.proj.backend.utils.responseDto.TicketResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.List;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.Objects;
 
 import static com.psiw.proj.backend.utils.DBInit.DEFAULT_SEAT_PRICE;
 
@@ -32,7 +34,9 @@ public class ReservationServiceImpl implements ReservationService {
     private final ScreeningRepository screeningRepository;
     private final SeatRepository seatRepository;
     private final TicketRepository ticketRepository;
-    private final TicketSeatRepository ticketSeatRepository;
+    private final SeatClaimStrategy seatClaimStrategy;
+    private final SeatOccupancyService seatOccupancyService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -40,26 +44,41 @@ public class ReservationServiceImpl implements ReservationService {
         Screening screening = screeningRepository.findById(reservationRequest.screeningId())
                 .orElseThrow(() -> new ScreeningNotFoundException("Screening not found: " + reservationRequest.screeningId()));
 
-        String roomNo = screening.getRoom().getRoomNumber();
-        long matching = seatRepository.countByIdInAndRoomRoomNumber(reservationRequest.seatIds(), roomNo);
-        if (matching != reservationRequest.seatIds().size())
+        // sala sprawdzana na wczytanych miejscach – bez osobnego zapytania COUNT
+        List<Seat> seats = seatRepository.findAllById(reservationRequest.seatIds());
+        Long roomId = screening.getRoom().getId();
+        if (seats.size() != reservationRequest.seatIds().size()
+                || seats.stream().anyMatch(seat -> !Objects.equals(seat.getRoom().getId(), roomId)))
             throw new IllegalArgumentException("One or more seats not found or not in the same room");
 
-        Set<Long> taken = extractTakenSeats(reservationRequest);
-        List<Long> conflict = reservationRequest.seatIds().stream()
-                .filter(taken::contains)
-                .toList();
+        // przegrany wyścig o miejsca kończy się tutaj, zanim pójdzie jakikolwiek INSERT
+        seatOccupancyService.claim(screening, seats);
 
-        if (!conflict.isEmpty()) throw new IllegalStateException("Seats already taken: " + conflict);
+        return issueTicket(reservationRequest, screening, seats);
+    }
 
-        Ticket ticket = ticketRepository.save(createTicket(reservationRequest, screening));
+    @Override
+    @Transactional
+    public TicketResponse reserveHeldSeats(ReservationRequest reservationRequest) {
+        Screening screening = screeningRepository.findById(reservationRequest.screeningId())
+                .orElseThrow(() -> new ScreeningNotFoundException("Screening not found: " + reservationRequest.screeningId()));
         List<Seat> seats = seatRepository.findAllById(reservationRequest.seatIds());
-        List<TicketSeat> links = getTicketSeats(seats, ticket, screening);
 
-        ticketSeatRepository.saveAll(links);
-        ticket.setTicketSeats(links);
+        TicketResponse response = issueTicket(reservationRequest, screening, seats);
+        // zajętość zmieniła się już przy blokadzie, ale licznik wolnych miejsc dopiero teraz
+        eventPublisher.publishEvent(new SeatAvailabilityChangedEvent(
+                screening.getId(), screening.getStartTime().toLocalDate(), reservationRequest.seatIds(), false));
+        return response;
+    }
+
+    private TicketResponse issueTicket(ReservationRequest reservationRequest, Screening screening, List<Seat> seats) {
+        Ticket ticket = ticketRepository.save(createTicket(reservationRequest, screening));
+        seatClaimStrategy.claim(ticket, screening, seats);
+        screeningRepository.addReservedSeats(screening.getId(), seats.size());
 
-        return createTicketResponse(seats, screening, ticket);
+        TicketResponse response = createTicketResponse(seats, screening, ticket);
+        eventPublisher.publishEvent(new TicketIssuedEvent(response, screening.getDuration()));
+        return response;
     }
 
     private TicketResponse createTicketResponse(List<Seat> seats, Screening screening, Ticket ticket) {
@@ -75,30 +94,12 @@ public class ReservationServiceImpl implements ReservationService {
                 .build();
     }
 
-    private Set<Long> extractTakenSeats(ReservationRequest reservationRequest) {
-        return ticketRepository.findAllByScreeningId(reservationRequest.screeningId()).stream()
-                .flatMap(ticket -> ticket.getTicketSeats().stream())
-                .map(ts -> ts.getSeat().getId())
-                .collect(Collectors.toSet());
-    }
-
     private List<Integer> getSeatNumbers(List<Seat> seats) {
         return seats.stream()
                 .map(Seat::getSeatNumber)
                 .toList();
     }
 
-    private List<TicketSeat> getTicketSeats(List<Seat> seats, Ticket ticket, Screening screening) {
-        return seats.stream()
-                .map(seat -> TicketSeat.builder()
-                        .ticket(ticket)
-                        .seat(seat)
-                        .screening(screening)
-                        .build()
-                )
-                .toList();
-    }
-
     private Ticket createTicket(ReservationRequest reservationRequest, Screening screening) {
         return Ticket.builder()
                 .screening(screening)
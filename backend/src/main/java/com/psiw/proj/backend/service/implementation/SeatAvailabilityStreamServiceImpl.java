@@ -0,0 +1,181 @@
+package com.psiw.proj.backend.service.implementation;
+
+import com.psiw.proj.backend.exceptions.custom.ScreeningNotFoundException;
+import com.psiw.proj.backend.repository.ScreeningRepository;
+import com.psiw.proj.backend.service.interfaces.SeatAvailabilityStreamService;
+import com.psiw.proj.backend.utils.events.SeatAvailabilityChangedEvent;
+import com.psiw.proj.backend.utils.responseDto.helpers.SeatDeltaDto;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Service
+@Slf4j
+public class SeatAvailabilityStreamServiceImpl implements SeatAvailabilityStreamService {
+
+    private static final String SEATS_EVENT = "seats";
+
+    private final ScreeningRepository screeningRepository;
+    private final Duration emitterTimeout;
+    private final Duration heartbeat;
+    private final int bufferSize;
+
+    private final ConcurrentMap<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    // wysyłka na wątkach wirtualnych – wolny klient blokuje tylko własny wątek, nie publikującego
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private ScheduledExecutorService heartbeats;
+
+    public SeatAvailabilityStreamServiceImpl(ScreeningRepository screeningRepository,
+                                             @Value("${repertoire.stream.timeout:30m}") Duration emitterTimeout,
+                                             @Value("${repertoire.stream.heartbeat:15s}") Duration heartbeat,
+                                             @Value("${repertoire.stream.buffer-size:64}") int bufferSize) {
+        this.screeningRepository = screeningRepository;
+        this.emitterTimeout = emitterTimeout;
+        this.heartbeat = heartbeat;
+        this.bufferSize = bufferSize;
+    }
+
+    @PostConstruct
+    void startHeartbeats() {
+        heartbeats = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "seat-stream-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        heartbeats.scheduleAtFixedRate(this::sendHeartbeats, heartbeat.toMillis(), heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    // przed zatrzymaniem serwera – otwarte strumienie nie wstrzymują zamykania aplikacji
+    @EventListener(ContextClosedEvent.class)
+    public void completeAll() {
+        subscribers.values().forEach(set -> set.forEach(subscriber -> subscriber.emitter.complete()));
+        subscribers.clear();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        heartbeats.shutdownNow();
+        senders.shutdownNow();
+    }
+
+    @Override
+    public SseEmitter subscribe(Long screeningId) {
+        if (!screeningRepository.existsById(screeningId)) {
+            throw new ScreeningNotFoundException("Screening not found: " + screeningId);
+        }
+        SseEmitter emitter = new SseEmitter(emitterTimeout.toMillis());
+        Subscriber subscriber = new Subscriber(screeningId, emitter, new ArrayBlockingQueue<>(bufferSize));
+        subscribers.computeIfAbsent(screeningId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(e -> unsubscribe(subscriber));
+        return emitter;
+    }
+
+    @Override
+    public int subscriberCount(Long screeningId) {
+        Set<Subscriber> set = subscribers.get(screeningId);
+        return set == null ? 0 : set.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSeatAvailabilityChanged(SeatAvailabilityChangedEvent event) {
+        Set<Subscriber> set = subscribers.get(event.screeningId());
+        if (set == null || set.isEmpty()) {
+            return;
+        }
+        List<SeatDeltaDto> deltas = event.seatIds().stream()
+                .map(seatId -> new SeatDeltaDto(seatId, event.available()))
+                .toList();
+        Message message = new Message(SEATS_EVENT, deltas);
+        set.forEach(subscriber -> enqueue(subscriber, message));
+    }
+
+    private void sendHeartbeats() {
+        subscribers.values().forEach(set -> set.forEach(subscriber -> enqueue(subscriber, Message.HEARTBEAT)));
+    }
+
+    private void enqueue(Subscriber subscriber, Message message) {
+        if (!subscriber.pending.offer(message)) {
+            // klient nie nadąża – zamykamy strumień, po ponownym połączeniu pobierze pełny stan
+            log.debug("Seat stream subscriber of screening {} overflowed, closing", subscriber.screeningId);
+            unsubscribe(subscriber);
+            subscriber.emitter.complete();
+            return;
+        }
+        if (subscriber.draining.compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    // jeden wątek opróżnia kolejkę danego klienta naraz – zachowana kolejność zdarzeń
+    private void drain(Subscriber subscriber) {
+        do {
+            try {
+                Message message;
+                while ((message = subscriber.pending.poll()) != null) {
+                    subscriber.emitter.send(message.toEvent());
+                }
+            } catch (IOException | IllegalStateException e) {
+                unsubscribe(subscriber);
+                subscriber.emitter.completeWithError(e);
+                return;
+            } finally {
+                subscriber.draining.set(false);
+            }
+        } while (!subscriber.pending.isEmpty() && subscriber.draining.compareAndSet(false, true));
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.screeningId, (id, set) -> {
+            set.remove(subscriber);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    private static final class Subscriber {
+        private final Long screeningId;
+        private final SseEmitter emitter;
+        private final Queue<Message> pending;
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private Subscriber(Long screeningId, SseEmitter emitter, Queue<Message> pending) {
+            this.screeningId = screeningId;
+            this.emitter = emitter;
+            this.pending = pending;
+        }
+    }
+
+    private record Message(String name, Object data) {
+        static final Message HEARTBEAT = new Message(null, null);
+
+        SseEmitter.SseEventBuilder toEvent() {
+            if (name == null) {
+                return SseEmitter.event().comment("heartbeat");
+            }
+            return SseEmitter.event().name(name).data(data, MediaType.APPLICATION_JSON);
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package com.psiw.proj.backend.service.implementation;
+
+import com.psiw.proj.backend.entity.Screening;
+import com.psiw.proj.backend.entity.Seat;
+import com.psiw.proj.backend.exceptions.custom.ScreeningNotFoundException;
+import com.psiw.proj.backend.exceptions.custom.SeatHoldNotFoundException;
+import com.psiw.proj.backend.exceptions.custom.SeatsAlreadyTakenException;
+import com.psiw.proj.backend.repository.ScreeningRepository;
+import com.psiw.proj.backend.repository.SeatRepository;
+import com.psiw.proj.backend.service.interfaces.ReservationService;
+import com.psiw.proj.backend.service.interfaces.SeatHoldService;
+import com.psiw.proj.backend.service.interfaces.SeatOccupancyService;
+import com.psiw.proj.backend.utils.concurrency.TimingWheel;
+import com.psiw.proj.backend.utils.requestDto.HoldConfirmationRequest;
+import com.psiw.proj.backend.utils.requestDto.ReservationRequest;
+import com.psiw.proj.backend.utils.requestDto.SeatHoldRequest;
+import com.psiw.proj.backend.utils.responseDto.SeatHoldResponse;
+import com.psiw.proj.backend.utils.responseDto.TicketResponse;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@Service
+@Slf4j
+public class SeatHoldServiceImpl implements SeatHoldService {
+
+    private static final int WHEEL_SIZE = 512;
+
+    private final ScreeningRepository screeningRepository;
+    private final SeatRepository seatRepository;
+    private final SeatOccupancyService seatOccupancyService;
+    private final ReservationService reservationService;
+    private final Clock clock;
+    private final Duration holdTtl;
+    private final Duration tick;
+
+    private final ConcurrentMap<UUID, SeatHold> holds = new ConcurrentHashMap<>();
+    private final TimingWheel<SeatHold> wheel;
+    private ScheduledExecutorService ticker;
+
+    public SeatHoldServiceImpl(ScreeningRepository screeningRepository,
+                               SeatRepository seatRepository,
+                               SeatOccupancyService seatOccupancyService,
+                               ReservationService reservationService,
+                               Clock clock,
+                               @Value("${reservation.hold.ttl:10m}") Duration holdTtl,
+                               @Value("${reservation.hold.tick:1s}") Duration tick) {
+        this.screeningRepository = screeningRepository;
+        this.seatRepository = seatRepository;
+        this.seatOccupancyService = seatOccupancyService;
+        this.reservationService = reservationService;
+        this.clock = clock;
+        this.holdTtl = holdTtl;
+        this.tick = tick;
+        this.wheel = new TimingWheel<>(tick, WHEEL_SIZE, clock.instant(), this::expire);
+    }
+
+    @PostConstruct
+    void startTicker() {
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "seat-hold-expiry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(this::expireDueHolds, tick.toMillis(), tick.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stopTicker() {
+        ticker.shutdownNow();
+    }
+
+    @Override
+    public SeatHoldResponse hold(SeatHoldRequest seatHoldRequest) {
+        Screening screening = screeningRepository.findById(seatHoldRequest.screeningId())
+                .orElseThrow(() -> new ScreeningNotFoundException("Screening not found: " + seatHoldRequest.screeningId()));
+
+        String roomNo = screening.getRoom().getRoomNumber();
+        long matching = seatRepository.countByIdInAndRoomRoomNumber(seatHoldRequest.seatIds(), roomNo);
+        if (matching != seatHoldRequest.seatIds().size())
+            throw new IllegalArgumentException("One or more seats not found or not in the same room");
+
+        List<Seat> seats = seatRepository.findAllById(seatHoldRequest.seatIds());
+        seatOccupancyService.claim(screening, seats);
+
+        Instant expiresAt = clock.instant().plus(holdTtl);
+        SeatHold hold = new SeatHold(UUID.randomUUID(), screening, seats, expiresAt);
+        // najpierw w mapie – termin wygasający od razu po zaplanowaniu musi już znaleźć blokadę
+        holds.put(hold.id, hold);
+        hold.timeout = wheel.schedule(hold, expiresAt);
+
+        return createHoldResponse(hold);
+    }
+
+    @Override
+    public TicketResponse confirm(UUID holdId, HoldConfirmationRequest confirmationRequest) {
+        SeatHold hold = takeHold(holdId);
+        if (!clock.instant().isBefore(hold.expiresAt)) {
+            seatOccupancyService.release(hold.screening, hold.seats);
+            throw new SeatHoldNotFoundException("Seat hold expired: " + holdId);
+        }
+
+        ReservationRequest reservationRequest = new ReservationRequest(
+                hold.screening.getId(),
+                getSeatIds(hold),
+                confirmationRequest.email(),
+                confirmationRequest.name(),
+                confirmationRequest.surname()
+        );
+        try {
+            return reservationService.reserveHeldSeats(reservationRequest);
+        } catch (SeatsAlreadyTakenException | DataAccessException | TransactionException e) {
+            // miejsca mogły zostać sprzedane w bazie (inny węzeł, ograniczenie unikalności, niepewny commit) –
+            // bitmapa przyjmuje stan z bazy zamiast zwalniać je w ciemno
+            resyncQuietly(hold, e);
+            throw e;
+        } catch (RuntimeException e) {
+            // transakcja wycofana przed zapisem miejsc – blokada jest już zużyta, miejsca wracają do puli
+            seatOccupancyService.release(hold.screening, hold.seats);
+            throw e;
+        }
+    }
+
+    @Override
+    public void release(UUID holdId) {
+        SeatHold hold = takeHold(holdId);
+        seatOccupancyService.release(hold.screening, hold.seats);
+    }
+
+    /**
+     * Wywoływane co takt przez wątek koła czasowego; publiczne na potrzeby testów.
+     */
+    public void expireDueHolds() {
+        wheel.advanceTo(clock.instant());
+    }
+
+    private SeatHold takeHold(UUID holdId) {
+        SeatHold hold = holds.remove(holdId);
+        if (hold == null) {
+            throw new SeatHoldNotFoundException("Seat hold not found or expired: " + holdId);
+        }
+        // termin może jeszcze nie być zaplanowany – po usunięciu z mapy i tak niczego nie zwolni
+        TimingWheel.Timeout<SeatHold> timeout = hold.timeout;
+        if (timeout != null) {
+            timeout.cancel();
+        }
+        return hold;
+    }
+
+    private void resyncQuietly(SeatHold hold, RuntimeException cause) {
+        try {
+            seatOccupancyService.resync(hold.screening, hold.seats);
+        } catch (RuntimeException e) {
+            // bez bazy miejsca zostają oznaczone jako zajęte – bezpieczniej niż sprzedać je drugi raz
+            cause.addSuppressed(e);
+            log.warn("Could not resync seats of screening {} after failed confirmation of hold {}", hold.screening.getId(), hold.id, e);
+        }
+    }
+
+    private void expire(SeatHold hold) {
+        if (holds.remove(hold.id, hold)) {
+            seatOccupancyService.release(hold.screening, hold.seats);
+            log.debug("Seat hold {} expired, released {} seats of screening {}", hold.id, hold.seats.size(), hold.screening.getId());
+        }
+    }
+
+    private SeatHoldResponse createHoldResponse(SeatHold hold) {
+        return SeatHoldResponse.builder()
+                .holdId(hold.id)
+                .screeningId(hold.screening.getId())
+                .seatIds(getSeatIds(hold))
+                .expiresAt(LocalDateTime.ofInstant(hold.expiresAt, clock.getZone()))
+                .build();
+    }
+
+    private List<Long> getSeatIds(SeatHold hold) {
+        return hold.seats.stream()
+                .map(Seat::getId)
+                .toList();
+    }
+
+    private static final class SeatHold {
+        private final UUID id;
+        private final Screening screening;
+        private final List<Seat> seats;
+        private final Instant expiresAt;
+        private volatile TimingWheel.Timeout<SeatHold> timeout;
+
+        private SeatHold(UUID id, Screening screening, List<Seat> seats, Instant expiresAt) {
+            this.id = id;
+            this.screening = screening;
+            this.seats = seats;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.psiw.proj.backend.service.implementation;
+
+import com.psiw.proj.backend.entity.Room;
+import com.psiw.proj.backend.entity.Screening;
+import com.psiw.proj.backend.entity.Seat;
+import com.psiw.proj.backend.exceptions.custom.SeatsAlreadyTakenException;
+import com.psiw.proj.backend.repository.TicketSeatRepository;
+import com.psiw.proj.backend.service.interfaces.RepertoireVersionService;
+import com.psiw.proj.backend.service.interfaces.SeatOccupancyService;
+import com.psiw.proj.backend.utils.concurrency.StripedLocks;
+import com.psiw.proj.backend.utils.events.SeatAvailabilityChangedEvent;
+import com.psiw.proj.backend.utils.occupancy.SeatBitmap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.Lock;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class SeatOccupancyServiceImpl implements SeatOccupancyService {
+
+    private static final int LOCK_STRIPES = 64;
+
+    private final TicketSeatRepository ticketSeatRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RepertoireVersionService repertoireVersionService;
+
+    private final ConcurrentMap<Long, SeatBitmap> bitmaps = new ConcurrentHashMap<>();
+    private final StripedLocks locks = new StripedLocks(LOCK_STRIPES);
+
+    @Override
+    public void claim(Screening screening, Collection<Seat> seats) {
+        SeatBitmap bitmap = bitmapFor(screening);
+        int[] positions = seats.stream()
+                .mapToInt(seat -> bitmap.positionOf(seat.getRowNumber(), seat.getColumnNumber()))
+                .toArray();
+
+        // sprawdzenie i zajęcie muszą być atomowe tylko w obrębie jednego seansu
+        Lock lock = locks.lockFor(screening.getId());
+        lock.lock();
+        try {
+            List<Long> conflict = new ArrayList<>();
+            int i = 0;
+            for (Seat seat : seats) {
+                if (bitmap.isTaken(positions[i++])) {
+                    conflict.add(seat.getId());
+                }
+            }
+            if (!conflict.isEmpty()) {
+                throw new SeatsAlreadyTakenException("Seats already taken: " + conflict);
+            }
+            for (int position : positions) {
+                bitmap.markTaken(position);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        releaseOnRollback(screening, bitmap, positions);
+        publishChange(screening, seats, false);
+    }
+
+    @Override
+    public void release(Screening screening, Collection<Seat> seats) {
+        SeatBitmap bitmap = bitmapFor(screening);
+        seats.forEach(seat -> bitmap.release(bitmap.positionOf(seat.getRowNumber(), seat.getColumnNumber())));
+        publishChange(screening, seats, true);
+    }
+
+    @Override
+    public void resync(Screening screening, Collection<Seat> seats) {
+        SeatBitmap bitmap = bitmapFor(screening);
+        Set<Integer> sold = new HashSet<>(ticketSeatRepository.findTakenSeatPositions(screening.getId()));
+        List<Seat> freed = new ArrayList<>();
+        for (Seat seat : seats) {
+            int position = bitmap.positionOf(seat.getRowNumber(), seat.getColumnNumber());
+            if (sold.contains(position)) {
+                bitmap.markTaken(position);
+            } else {
+                bitmap.release(position);
+                freed.add(seat);
+            }
+        }
+        if (!freed.isEmpty()) {
+            publishChange(screening, freed, true);
+        }
+    }
+
+    @Override
+    public boolean isTaken(Screening screening, Seat seat) {
+        SeatBitmap bitmap = bitmapFor(screening);
+        return bitmap.isTaken(bitmap.positionOf(seat.getRowNumber(), seat.getColumnNumber()));
+    }
+
+    @Override
+    public BitSet takenPositions(Screening screening) {
+        return bitmapFor(screening).snapshot();
+    }
+
+    // przy wycofaniu transakcji zdarzenie nie zostanie dostarczone – tak jak zajęcie nie zostanie utrwalone
+    private void publishChange(Screening screening, Collection<Seat> seats, boolean available) {
+        List<Long> seatIds = seats.stream().map(Seat::getId).toList();
+        eventPublisher.publishEvent(new SeatAvailabilityChangedEvent(
+                screening.getId(), screening.getStartTime().toLocalDate(), seatIds, available));
+    }
+
+    private void releaseOnRollback(Screening screening, SeatBitmap bitmap, int[] positions) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        Long screeningId = screening.getId();
+        LocalDate screeningDate = screening.getStartTime().toLocalDate();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    for (int position : positions) {
+                        bitmap.release(position);
+                    }
+                    // niezatwierdzona zajętość mogła już trafić do klientów pod bieżącym ETagiem;
+                    // zdarzenie opublikowane w afterCompletion zostałoby zarejestrowane w kończącej się transakcji i przepadło
+                    repertoireVersionService.invalidateScreening(screeningId, screeningDate);
+                }
+            }
+        });
+    }
+
+    private SeatBitmap bitmapFor(Screening screening) {
+        SeatBitmap bitmap = bitmaps.get(screening.getId());
+        if (bitmap != null) {
+            return bitmap;
+        }
+        // ładowanie pod blokadą seansu – równoległe claim() nie zobaczą niepełnej mapy
+        Lock lock = locks.lockFor(screening.getId());
+        lock.lock();
+        try {
+            return bitmaps.computeIfAbsent(screening.getId(), id -> load(screening));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private SeatBitmap load(Screening screening) {
+        Room room = screening.getRoom();
+        SeatBitmap bitmap = new SeatBitmap(room.getRowCount(), room.getColumnCount());
+        ticketSeatRepository.findTakenSeatPositions(screening.getId()).forEach(bitmap::markTaken);
+        log.debug("Seat bitmap loaded for screening {}: {}/{} taken", screening.getId(), bitmap.takenCount(), bitmap.capacity());
+        return bitmap;
+    }
+}
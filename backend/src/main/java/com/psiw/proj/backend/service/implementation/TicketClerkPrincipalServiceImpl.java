@@ -0,0 +1,75 @@
+package com.psiw.proj.backend.service.implementation;
+
+import com.psiw.proj.backend.entity.TicketClerk;
+import com.psiw.proj.backend.exceptions.custom.TicketClerkNotFoundException;
+import com.psiw.proj.backend.repository.TicketClerkRepository;
+import com.psiw.proj.backend.service.interfaces.TicketClerkPrincipalService;
+import com.psiw.proj.backend.utils.cache.BoundedTtlCache;
+import com.psiw.proj.backend.utils.events.TicketClerkChangedEvent;
+import com.psiw.proj.backend.utils.responseDto.helpers.CacheStatsDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+@Slf4j
+@Service
+public class TicketClerkPrincipalServiceImpl implements TicketClerkPrincipalService {
+
+    private final TicketClerkRepository ticketClerkRepository;
+    private final BoundedTtlCache<String, TicketClerk> principals;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public TicketClerkPrincipalServiceImpl(TicketClerkRepository ticketClerkRepository,
+                                           Clock clock,
+                                           @Value("${security.principal-cache.ttl:5m}") Duration ttl,
+                                           @Value("${security.principal-cache.max-entries:1000}") int maxEntries) {
+        this.ticketClerkRepository = ticketClerkRepository;
+        this.principals = new BoundedTtlCache<>(maxEntries, ttl, clock);
+    }
+
+    @Override
+    public TicketClerk loadPrincipal(String username) {
+        TicketClerk cached = principals.get(username);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+
+        misses.increment();
+        TicketClerk clerk = ticketClerkRepository.findByUsername(username)
+                .orElseThrow(() -> new TicketClerkNotFoundException("User not found"));
+        principals.put(username, clerk);
+        return clerk;
+    }
+
+    @Override
+    public void evictAll() {
+        principals.clear();
+    }
+
+    @Override
+    public CacheStatsDto stats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long total = hitCount + missCount;
+        return CacheStatsDto.builder()
+                .hits(hitCount)
+                .misses(missCount)
+                .hitRatio(total == 0 ? 0.0 : (double) hitCount / total)
+                .size(principals.size())
+                .build();
+    }
+
+    // po zmianie nazwy stary klucz nie jest znany, więc czyścimy całość – zmiany bileterów są rzadkie
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketClerkChanged(TicketClerkChangedEvent event) {
+        log.debug("Ticket clerk {} changed, dropping cached principals", event.clerkId());
+        evictAll();
+    }
+}
@@ -0,0 +1,218 @@
+package com.psiw.proj.backend.service.implementation;
+
+import com.psiw.proj.backend.exceptions.custom.TicketNotFoundException;
+import com.psiw.proj.backend.repository.TicketRepository;
+import com.psiw.proj.backend.repository.projections.TicketIndexRow;
+import com.psiw.proj.backend.service.interfaces.TicketIndexService;
+import com.psiw.proj.backend.utils.enums.TicketStatus;
+import com.psiw.proj.backend.utils.events.TicketIssuedEvent;
+import com.psiw.proj.backend.utils.responseDto.TicketResponse;
+import com.psiw.proj.backend.utils.validation.TicketIndexEntry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Indeks biletów na seanse z najbliższych godzin – sprawdzenie biletu przy bramce to jedno
+ * wyszukanie w mapie. Baza pozostaje źródłem prawdy: zmiany statusu idą warunkowym UPDATE,
+ * a indeks jest okresowo odświeżany z płaskiej projekcji.
+ */
+@Service
+@Slf4j
+public class TicketIndexServiceImpl implements TicketIndexService {
+
+    private final TicketRepository ticketRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final ZoneId zone;
+    private final Duration horizon;
+    private final Duration lookback;
+    private final Duration refreshInterval;
+
+    private final ConcurrentMap<UUID, TicketIndexEntry> entries = new ConcurrentHashMap<>();
+    private ScheduledExecutorService refresher;
+
+    public TicketIndexServiceImpl(TicketRepository ticketRepository,
+                                  TransactionTemplate transactionTemplate,
+                                  Clock clock,
+                                  @Value("${ticket.validation.zone:UTC+2}") ZoneId zone,
+                                  @Value("${ticket.index.horizon:6h}") Duration horizon,
+                                  @Value("${ticket.index.lookback:4h}") Duration lookback,
+                                  @Value("${ticket.index.refresh:5m}") Duration refreshInterval) {
+        this.ticketRepository = ticketRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.clock = clock;
+        this.zone = zone;
+        this.horizon = horizon;
+        this.lookback = lookback;
+        this.refreshInterval = refreshInterval;
+    }
+
+    @PostConstruct
+    void startRefresher() {
+        refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ticket-index-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        refresher.scheduleAtFixedRate(this::refreshSafely, 0, refreshInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stopRefresher() {
+        refresher.shutdownNow();
+    }
+
+    @Override
+    public TicketIndexEntry get(UUID ticketNumber) {
+        TicketIndexEntry entry = entries.get(ticketNumber);
+        if (entry != null) {
+            return entry;
+        }
+        TicketIndexEntry loaded = load(ticketNumber);
+        return inWindow(loaded.screeningStart(), now())
+                ? entries.merge(ticketNumber, loaded, TicketIndexEntry::latest)
+                : loaded;
+    }
+
+    @Override
+    public TicketIndexEntry reload(UUID ticketNumber) {
+        TicketIndexEntry loaded = load(ticketNumber);
+        if (inWindow(loaded.screeningStart(), now())) {
+            entries.put(ticketNumber, loaded);
+        }
+        return loaded;
+    }
+
+    @Override
+    public boolean changeStatus(TicketIndexEntry entry, TicketStatus to) {
+        Integer updated = transactionTemplate.execute(status ->
+                ticketRepository.updateStatus(entry.ticketNumber(), entry.status(), to));
+        if (updated == null || updated == 0) {
+            return false;
+        }
+
+        TicketIndexEntry changed = entry.withStatus(to);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publish(changed);
+            return true;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                publish(changed);
+            }
+        });
+        return true;
+    }
+
+    @Override
+    public int size() {
+        return entries.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketIssued(TicketIssuedEvent event) {
+        TicketResponse ticket = event.ticket();
+        if (inWindow(ticket.screeningStartTime(), now())) {
+            entries.putIfAbsent(ticket.ticketId(),
+                    new TicketIndexEntry(ticket, ticket.screeningStartTime().plus(event.screeningDuration())));
+        }
+    }
+
+    /**
+     * Wczytuje bilety z okna indeksu i usuwa te, których seanse z niego wypadły;
+     * wywoływane przez wątek odświeżający, publiczne na potrzeby testów.
+     */
+    public void refresh() {
+        LocalDateTime now = now();
+        LocalDateTime from = now.minus(lookback);
+        List<TicketIndexRow> rows = ticketRepository.findIndexRowsStartingBetween(from, now.plus(horizon));
+        List<TicketIndexEntry> loaded = toEntries(rows);
+        loaded.forEach(entry -> entries.merge(entry.ticketNumber(), entry, TicketIndexEntry::latest));
+        entries.values().removeIf(entry -> entry.screeningStart().isBefore(from));
+        log.debug("Ticket index refreshed: {} loaded, {} indexed", loaded.size(), entries.size());
+    }
+
+    private void refreshSafely() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            log.warn("Ticket index refresh failed", e);
+        }
+    }
+
+    private void publish(TicketIndexEntry changed) {
+        if (inWindow(changed.screeningStart(), now())) {
+            entries.merge(changed.ticketNumber(), changed, TicketIndexEntry::latest);
+        }
+    }
+
+    private TicketIndexEntry load(UUID ticketNumber) {
+        List<TicketIndexEntry> loaded = toEntries(ticketRepository.findIndexRows(ticketNumber));
+        if (loaded.isEmpty()) {
+            throw new TicketNotFoundException("Ticket not found: " + ticketNumber);
+        }
+        return loaded.getFirst();
+    }
+
+    private boolean inWindow(LocalDateTime screeningStart, LocalDateTime now) {
+        return !screeningStart.isBefore(now.minus(lookback)) && screeningStart.isBefore(now.plus(horizon));
+    }
+
+    // okno liczone w tej samej strefie co aktywacja biletów przy bramce
+    private LocalDateTime now() {
+        return LocalDateTime.ofInstant(clock.instant(), zone);
+    }
+
+    /**
+     * Wiersze są posortowane po numerze biletu – kolejne wiersze jednego biletu składają się w jeden wpis.
+     */
+    private List<TicketIndexEntry> toEntries(List<TicketIndexRow> rows) {
+        List<TicketIndexEntry> result = new ArrayList<>();
+        int i = 0;
+        while (i < rows.size()) {
+            TicketIndexRow first = rows.get(i);
+            List<Integer> seatNumbers = new ArrayList<>();
+            while (i < rows.size() && rows.get(i).ticketNumber().equals(first.ticketNumber())) {
+                seatNumbers.add(rows.get(i).seatNumber());
+                i++;
+            }
+            result.add(createEntry(first, seatNumbers));
+        }
+        return result;
+    }
+
+    private TicketIndexEntry createEntry(TicketIndexRow row, List<Integer> seatNumbers) {
+        TicketResponse ticket = TicketResponse.builder()
+                .seatNumbers(List.copyOf(seatNumbers))
+                .movieTitle(row.movieTitle())
+                .screeningStartTime(row.startTime())
+                .ticketId(row.ticketNumber())
+                .status(row.status())
+                .email(row.ownerEmail())
+                .ticketOwner(row.ownerName() + " " + row.ownerSurname())
+                .price(row.ticketPrice())
+                .build();
+        return new TicketIndexEntry(ticket, row.startTime().plus(row.duration()));
+    }
+}
@@ -1,105 +1,71 @@
 package com.psiw.proj.backend.service.implementation;
 
-import com.psiw.proj.backend.entity.Ticket;
-import com.psiw.proj.backend.exceptions.custom.TicketNotFoundException;
-import com.psiw.proj.backend.repository.TicketRepository;
+import com.psiw.proj.backend.service.interfaces.TicketIndexService;
 import com.psiw.proj.backend.service.interfaces.TicketValidationService;
 import com.psiw.proj.backend.utils.enums.TicketStatus;
 import com.psiw.proj.backend.utils.responseDto.TicketResponse;
-import jakarta.annotation.Nullable;
-import jakarta.transaction.Transactional;
-import lombok.RequiredArgsConstructor;
+import com.psiw.proj.backend.utils.validation.TicketIndexEntry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.time.Clock;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
-import java.time.ZonedDateTime;
-import java.util.List;
 import java.util.UUID;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class TicketValidationServiceImpl implements TicketValidationService {
 
-    private final TicketRepository ticketRepository;
+    private final TicketIndexService ticketIndexService;
     private final Clock clock;
+    // godziny seansów są zapisane w czasie lokalnym kina, niezależnie od strefy serwera
+    private final ZoneId zone;
+
+    public TicketValidationServiceImpl(TicketIndexService ticketIndexService,
+                                       Clock clock,
+                                       @Value("${ticket.validation.zone:UTC+2}") ZoneId zone) {
+        this.ticketIndexService = ticketIndexService;
+        this.clock = clock;
+        this.zone = zone;
+    }
 
     @Override
-    @Transactional
     public TicketResponse checkTicket(UUID ticketNumber) {
-        Ticket ticket = ticketRepository.findById(ticketNumber)
-                .orElseThrow(() -> new TicketNotFoundException("Ticket not found: " + ticketNumber));
-
-        ZoneId zone = ZoneId.of("UTC+2");
-        LocalDateTime now = ZonedDateTime.now(clock.withZone(zone)).toLocalDateTime();
-        LocalDateTime start = ticket.getScreening().getStartTime();
-        LocalDateTime end = start.plus(ticket.getScreening().getDuration());
-
-        log.info("Start: {}", start);
-        log.info("End: {}", end);
-        log.info("Now: {}", now);
-
-        // WAITING_FOR_ACTIVATION
-        if (ticket.getStatus() == TicketStatus.WAITING_FOR_ACTIVATION) {
-            // ticket becomes active 15 minutes before the film starts
-            if (!now.isBefore(start.minusMinutes(15)) && now.isBefore(end)) {
-                ticket.setStatus(TicketStatus.VALID);
-                ticketRepository.save(ticket);
-                return mapToTicketResponse(ticket);
-            }
-            return mapToTicketResponse(ticket);
-        }
-
-        // VALID
-        if (ticket.getStatus() == TicketStatus.VALID) {
-            if (now.isAfter(end) || now.isEqual(end)) {
-                ticket.setStatus(TicketStatus.EXPIRED);
-                ticketRepository.save(ticket);
-                return mapToTicketResponse(ticket);
-            }
-            return mapToTicketResponse(ticket);
-        }
-
-        // 3) pozostałe statusy (USED, EXPIRED itd.) zwracamy bez zmian
-        return mapToTicketResponse(ticket);
+        return advance(ticketIndexService.get(ticketNumber)).ticket();
     }
 
     @Override
-    @Transactional
     public TicketResponse scanTicket(UUID ticketNumber) {
         // najpierw uaktualniamy status
-        TicketStatus current = checkTicket(ticketNumber).status();
+        TicketIndexEntry entry = advance(ticketIndexService.get(ticketNumber));
 
-        if (current != TicketStatus.VALID) {
-            throw new IllegalStateException("Cannot scan ticket in status: " + current);
+        if (entry.status() != TicketStatus.VALID) {
+            throw new IllegalStateException("Cannot scan ticket in status: " + entry.status());
         }
 
-        // oznaczamy jako USED
-        Ticket ticket = ticketRepository.getReferenceById(ticketNumber);
-        ticket.setStatus(TicketStatus.USED);
-        Ticket updated = ticketRepository.save(ticket);
-
-        return mapToTicketResponse(updated);
+        // oznaczamy jako USED – przy równoległym skanie uda się tylko jeden
+        if (!ticketIndexService.changeStatus(entry, TicketStatus.USED)) {
+            TicketStatus current = ticketIndexService.reload(ticketNumber).status();
+            throw new IllegalStateException("Cannot scan ticket in status: " + current);
+        }
+        return entry.withStatus(TicketStatus.USED).ticket();
     }
 
-    private TicketResponse mapToTicketResponse(Ticket ticket) {
-        List<Integer> seats = ticket.getTicketSeats().stream()
-                .map(ts -> ts.getSeat().getSeatNumber())
-                .toList();
-
-        return TicketResponse.builder()
-                .ticketId(ticket.getTicketNumber())
-                .seatNumbers(seats)
-                .movieTitle(ticket.getScreening().getMovie().getTitle())
-                .screeningStartTime(ticket.getScreening().getStartTime())
-                .status(ticket.getStatus())
-                .email(ticket.getOwnerEmail())
-                .ticketOwner(ticket.getOwnerName() + " " + ticket.getOwnerSurname())
-                .price(ticket.getTicketPrice())
-                .build();
+    /**
+     * Aktywuje bilet 15 minut przed seansem i wygasza go po jego końcu; pozostałe statusy
+     * (USED, EXPIRED) zwracamy bez zmian.
+     */
+    private TicketIndexEntry advance(TicketIndexEntry entry) {
+        LocalDateTime now = LocalDateTime.ofInstant(clock.instant(), zone);
+        TicketStatus next = entry.statusAt(now);
+        if (next == entry.status()) {
+            return entry;
+        }
+        log.debug("Ticket {} moves from {} to {} at {}", entry.ticketNumber(), entry.status(), next, now);
+        return ticketIndexService.changeStatus(entry, next)
+                ? entry.withStatus(next)
+                : ticketIndexService.reload(entry.ticketNumber());
     }
 }
-
@@ -0,0 +1,24 @@
+package com.psiw.proj.backend.service.interfaces;
+
+import com.psiw.proj.backend.exceptions.custom.CheckoutNotFoundException;
+import com.psiw.proj.backend.utils.requestDto.CheckoutRequest;
+import com.psiw.proj.backend.utils.responseDto.CheckoutResponse;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.UUID;
+
+public interface CheckoutService {
+
+    /**
+     * Blokuje miejsca od razu (konflikt zwraca błąd synchronicznie), a płatność z ponowieniami
+     * i potwierdzenie rezerwacji wykonuje w tle.
+     */
+    CheckoutResponse start(CheckoutRequest checkoutRequest);
+
+    CheckoutResponse get(UUID checkoutId) throws CheckoutNotFoundException;
+
+    /**
+     * Strumień zmian stanu zakupu – zamykany po osiągnięciu stanu końcowego.
+     */
+    SseEmitter subscribe(UUID checkoutId) throws CheckoutNotFoundException;
+}
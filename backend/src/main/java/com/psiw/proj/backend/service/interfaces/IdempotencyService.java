@@ -0,0 +1,18 @@
+package com.psiw.proj.backend.service.interfaces;
+
+import com.psiw.proj.backend.exceptions.custom.IdempotencyKeyReuseException;
+import com.psiw.proj.backend.utils.responseDto.TicketResponse;
+
+import java.util.function.Supplier;
+
+public interface IdempotencyService {
+
+    /**
+     * Wykonuje {@code action} co najwyżej raz dla danego klucza. Ponowienie z tym samym kluczem
+     * zwraca zapamiętany wynik; ponowienie w trakcie pierwszego wykonania czeka na jego wynik.
+     *
+     * @param request treść żądania – ten sam klucz z inną treścią jest odrzucany
+     */
+    TicketResponse execute(String idempotencyKey, Object request, Supplier<TicketResponse> action)
+            throws IdempotencyKeyReuseException;
+}
@@ -0,0 +1,13 @@
+package com.psiw.proj.backend.service.interfaces;
+
+import com.psiw.proj.backend.utils.responseDto.LoggerLevelResponse;
+
+public interface LoggerLevelService {
+
+    LoggerLevelResponse getLevel(String loggerName);
+
+    /**
+     * Zmienia poziom loggera w działającej aplikacji; {@code null} przywraca poziom dziedziczony.
+     */
+    LoggerLevelResponse setLevel(String loggerName, String level);
+}
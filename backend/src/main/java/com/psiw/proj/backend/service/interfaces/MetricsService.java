@@ -0,0 +1,8 @@
+package com.psiw.proj.backend.service.interfaces;
+
+import com.psiw.proj.backend.utils.responseDto.MetricsResponse;
+
+public interface MetricsService {
+
+    MetricsResponse snapshot();
+}
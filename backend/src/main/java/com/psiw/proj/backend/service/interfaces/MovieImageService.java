@@ -1,7 +1,17 @@
 package com.psiw.proj.backend.service.interfaces;
 
-import org.springframework.core.io.Resource;
+import com.psiw.proj.backend.utils.images.MovieImage;
 
 public interface MovieImageService {
-    public Resource loadImageResource(Long movieId);
+    /**
+     * Ścieżka zasobów filmów – wspólna dla kontrolera obrazów i adresów w repertuarze.
+     */
+    String MOVIES_PATH = "/psiw/api/v1/open/movies";
+
+    public MovieImage loadImage(Long movieId);
+
+    /**
+     * Adres obrazu z wersją równą skrótowi treści; bez wersji, jeśli obrazu nie da się odczytać.
+     */
+    public String versionedImageUrl(Long movieId);
 }
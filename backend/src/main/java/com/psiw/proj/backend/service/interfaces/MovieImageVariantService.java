@@ -0,0 +1,14 @@
+package com.psiw.proj.backend.service.interfaces;
+
+import com.psiw.proj.backend.utils.enums.ImageFormat;
+import com.psiw.proj.backend.utils.enums.ImageSize;
+import com.psiw.proj.backend.utils.images.MovieImage;
+
+public interface MovieImageVariantService {
+
+    /**
+     * Zwraca przeskalowany i ponownie skompresowany wariant obrazu filmu z dyskowej pamięci podręcznej,
+     * generując go przy pierwszym użyciu, jeśli nie został przygotowany w tle.
+     */
+    MovieImage loadVariant(Long movieId, ImageSize size, ImageFormat format);
+}
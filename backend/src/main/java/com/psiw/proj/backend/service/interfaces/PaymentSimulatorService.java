@@ -0,0 +1,19 @@
+package com.psiw.proj.backend.service.interfaces;
+
+import com.psiw.proj.backend.utils.requestDto.PaymentRequest;
+import com.psiw.proj.backend.utils.responseDto.PaymentResponse;
+
+import java.util.concurrent.CompletableFuture;
+
+public interface PaymentSimulatorService {
+
+    /**
+     * Symuluje bramkę płatności – wynik pojawia się po wylosowanym opóźnieniu, bez blokowania wątku wywołującego.
+     */
+    CompletableFuture<PaymentResponse> process(PaymentRequest request);
+
+    /**
+     * Zwraca przyjętą wcześniej płatność – z tym samym opóźnieniem co {@link #process(PaymentRequest)}.
+     */
+    CompletableFuture<PaymentResponse> refund(PaymentRequest request);
+}
@@ -0,0 +1,14 @@
+package com.psiw.proj.backend.service.interfaces;
+
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+
+public interface RepertoireRangeService {
+
+    /**
+     * Repertuar z przedziału dat (oba końce włącznie) zapisywany do odpowiedzi w trakcie odczytu –
+     * w pamięci jest co najwyżej jeden film z jego seansami. Zakres sprawdzany od razu, przed otwarciem strumienia.
+     */
+    StreamingResponseBody streamMoviesForRange(LocalDate from, LocalDate to) throws IllegalArgumentException;
+}
@@ -1,5 +1,6 @@
 package com.psiw.proj.backend.service.interfaces;
 
+import com.psiw.proj.backend.utils.responseDto.CompactScreeningDetailsResponse;
 import com.psiw.proj.backend.utils.responseDto.MovieResponse;
 import com.psiw.proj.backend.utils.responseDto.ScreeningDetailsResponse;
 
@@ -11,4 +12,6 @@ public interface RepertoireService {
     List<MovieResponse> getMoviesWithScreeningsForDate(LocalDate date);
 
     ScreeningDetailsResponse getScreeningDetails(Long screeningId);
+
+    CompactScreeningDetailsResponse getCompactScreeningDetails(Long screeningId);
 }
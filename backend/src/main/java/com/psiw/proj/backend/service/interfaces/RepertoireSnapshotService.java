@@ -0,0 +1,13 @@
+package com.psiw.proj.backend.service.interfaces;
+
+import java.time.LocalDate;
+
+public interface RepertoireSnapshotService {
+
+    /**
+     * Repertuar na dany dzień jako gotowy JSON (lista {@code MovieResponse}).
+     */
+    byte[] getMoviesJsonForDate(LocalDate date);
+
+    void evictAll();
+}
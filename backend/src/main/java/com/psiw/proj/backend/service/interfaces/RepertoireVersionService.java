@@ -0,0 +1,22 @@
+package com.psiw.proj.backend.service.interfaces;
+
+import java.time.LocalDate;
+
+public interface RepertoireVersionService {
+
+    /**
+     * Silny ETag repertuaru na dany dzień – zmienia się przy każdej rezerwacji i zmianie seansów.
+     */
+    String repertoireEtag(LocalDate date);
+
+    /**
+     * Silny ETag szczegółów seansu – zmienia się przy każdej zmianie zajętości jego miejsc.
+     */
+    String screeningEtag(Long screeningId);
+
+    /**
+     * Przesuwa ETagi seansu i jego dnia poza zdarzeniami – np. po wycofaniu transakcji,
+     * w której klient mógł już zobaczyć niezatwierdzoną zajętość.
+     */
+    void invalidateScreening(Long screeningId, LocalDate screeningDate);
+}
@@ -7,4 +7,9 @@ public interface ReservationService {
 
     TicketResponse reserveSeats(ReservationRequest reservationRequest);
 
+    /**
+     * Wystawia bilet na miejsca zajęte wcześniej przez blokadę – bez ponownego sprawdzania konfliktów.
+     */
+    TicketResponse reserveHeldSeats(ReservationRequest reservationRequest);
+
 }
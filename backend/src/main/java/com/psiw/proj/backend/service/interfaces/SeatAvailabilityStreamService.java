@@ -0,0 +1,15 @@
+package com.psiw.proj.backend.service.interfaces;
+
+import com.psiw.proj.backend.exceptions.custom.ScreeningNotFoundException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface SeatAvailabilityStreamService {
+
+    /**
+     * Otwiera strumień zmian zajętości miejsc seansu. Strumień przenosi wyłącznie zmiany –
+     * stan początkowy klient pobiera z {@code getScreeningDetails} po otwarciu strumienia.
+     */
+    SseEmitter subscribe(Long screeningId) throws ScreeningNotFoundException;
+
+    int subscriberCount(Long screeningId);
+}
@@ -0,0 +1,17 @@
+package com.psiw.proj.backend.service.interfaces;
+
+import com.psiw.proj.backend.entity.Screening;
+import com.psiw.proj.backend.entity.Seat;
+import com.psiw.proj.backend.entity.Ticket;
+import com.psiw.proj.backend.exceptions.custom.SeatsAlreadyTakenException;
+
+import java.util.List;
+
+public interface SeatClaimStrategy {
+
+    /**
+     * Zapisuje powiązania biletu z miejscami seansu. Jeśli któreś miejsce jest już zajęte w bazie,
+     * rzuca wyjątek, a otaczająca transakcja zostaje wycofana.
+     */
+    void claim(Ticket ticket, Screening screening, List<Seat> seats) throws SeatsAlreadyTakenException;
+}
@@ -0,0 +1,17 @@
+package com.psiw.proj.backend.service.interfaces;
+
+import com.psiw.proj.backend.utils.requestDto.HoldConfirmationRequest;
+import com.psiw.proj.backend.utils.requestDto.SeatHoldRequest;
+import com.psiw.proj.backend.utils.responseDto.SeatHoldResponse;
+import com.psiw.proj.backend.utils.responseDto.TicketResponse;
+
+import java.util.UUID;
+
+public interface SeatHoldService {
+
+    SeatHoldResponse hold(SeatHoldRequest seatHoldRequest);
+
+    TicketResponse confirm(UUID holdId, HoldConfirmationRequest confirmationRequest);
+
+    void release(UUID holdId);
+}
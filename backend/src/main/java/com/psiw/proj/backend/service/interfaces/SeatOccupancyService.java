@@ -0,0 +1,32 @@
+package com.psiw.proj.backend.service.interfaces;
+
+import com.psiw.proj.backend.entity.Screening;
+import com.psiw.proj.backend.entity.Seat;
+import com.psiw.proj.backend.exceptions.custom.SeatsAlreadyTakenException;
+
+import java.util.BitSet;
+import java.util.Collection;
+
+public interface SeatOccupancyService {
+
+    /**
+     * Atomowo zajmuje wszystkie miejsca albo żadne. W aktywnej transakcji
+     * miejsca są zwalniane, jeśli transakcja zostanie wycofana.
+     */
+    void claim(Screening screening, Collection<Seat> seats) throws SeatsAlreadyTakenException;
+
+    void release(Screening screening, Collection<Seat> seats);
+
+    /**
+     * Ustawia bity podanych miejsc zgodnie z bazą – gdy nie wiadomo, czy nieudana transakcja
+     * nie oznacza, że miejsca sprzedano. Pozostałych miejsc (np. cudzych blokad) nie rusza.
+     */
+    void resync(Screening screening, Collection<Seat> seats);
+
+    boolean isTaken(Screening screening, Seat seat);
+
+    /**
+     * Zajęte pozycje seansu w układzie {@code SeatBitmap.positionOf}.
+     */
+    BitSet takenPositions(Screening screening);
+}
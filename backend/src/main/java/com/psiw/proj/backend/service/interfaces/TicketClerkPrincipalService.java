@@ -0,0 +1,17 @@
+package com.psiw.proj.backend.service.interfaces;
+
+import com.psiw.proj.backend.entity.TicketClerk;
+import com.psiw.proj.backend.exceptions.custom.TicketClerkNotFoundException;
+import com.psiw.proj.backend.utils.responseDto.helpers.CacheStatsDto;
+
+public interface TicketClerkPrincipalService {
+
+    /**
+     * Zwraca bileter o podanej nazwie – z pamięci podręcznej, a przy jej braku z bazy.
+     */
+    TicketClerk loadPrincipal(String username) throws TicketClerkNotFoundException;
+
+    void evictAll();
+
+    CacheStatsDto stats();
+}
@@ -0,0 +1,30 @@
+package com.psiw.proj.backend.service.interfaces;
+
+import com.psiw.proj.backend.exceptions.custom.TicketNotFoundException;
+import com.psiw.proj.backend.utils.enums.TicketStatus;
+import com.psiw.proj.backend.utils.validation.TicketIndexEntry;
+
+import java.util.UUID;
+
+public interface TicketIndexService {
+
+    /**
+     * Wpis biletu z indeksu; bilety spoza okna indeksu są doczytywane z bazy.
+     */
+    TicketIndexEntry get(UUID ticketNumber) throws TicketNotFoundException;
+
+    /**
+     * Ponownie wczytuje bilet z bazy i zastępuje nim wpis w indeksie.
+     */
+    TicketIndexEntry reload(UUID ticketNumber) throws TicketNotFoundException;
+
+    /**
+     * Warunkowo zmienia status biletu w bazie (tylko z {@code entry.status()}), a indeks
+     * aktualizuje po zatwierdzeniu transakcji.
+     *
+     * @return {@code false}, jeśli status biletu zmienił się w międzyczasie
+     */
+    boolean changeStatus(TicketIndexEntry entry, TicketStatus to);
+
+    int size();
+}
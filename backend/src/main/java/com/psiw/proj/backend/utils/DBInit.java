@@ -5,7 +5,7 @@ import com.psiw.proj.backend.repository.*;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
@@ -27,7 +27,7 @@ public class DBInit {
     private final RoomRepository roomRepository;
     private final ScreeningRepository screeningRepository;
     private final MovieRepository movieRepository;
-    private final BCryptPasswordEncoder bCryptPasswordEncoder;
+    private final PasswordEncoder passwordEncoder;
     private final TicketClerkRepository ticketClerkRepository;
 
     public static final BigDecimal DEFAULT_SEAT_PRICE = new BigDecimal("25.00");
@@ -193,7 +193,7 @@ public class DBInit {
         // 5. Create admin users
         for (int i = 0; i < 5; i++) {
             String username = "admin" + i;
-            String password = bCryptPasswordEncoder.encode("admin" + i);
+            String password = passwordEncoder.encode("admin" + i);
             TicketClerk clerk = TicketClerk.builder()
                     .username(username)
                     .password(password)
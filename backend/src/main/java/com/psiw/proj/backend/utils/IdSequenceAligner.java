@@ -0,0 +1,50 @@
+package com.psiw.proj.backend.utils;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+
+/**
+ * Bazy założone jeszcze przy kluczach IDENTITY mają już wiersze o id wyższych niż
+ * świeżo utworzone sekwencje – przesuwamy sekwencję za max(id), zanim cokolwiek zostanie wstawione.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+@DependsOn("entityManagerFactory")
+public class IdSequenceAligner {
+
+    private static final Map<String, String> SEQUENCES = Map.of(
+            "seat_seq", "seat",
+            "screening_seq", "screening",
+            "ticket_seat_seq", "ticket_seat"
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void align() {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) con -> con.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equals(product)) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> SEQUENCES.forEach(this::alignSequence));
+    }
+
+    private void alignSequence(String sequence, String table) {
+        Long maxId = jdbcTemplate.queryForObject("SELECT max(id) FROM " + table, Long.class);
+        Long lastValue = jdbcTemplate.queryForObject("SELECT last_value FROM " + sequence, Long.class);
+        if (maxId != null && lastValue != null && lastValue < maxId) {
+            jdbcTemplate.queryForObject("SELECT setval(?, ?)", Long.class, sequence, maxId);
+            log.info("Sequence {} moved from {} to {} to follow existing {} rows", sequence, lastValue, maxId, table);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.psiw.proj.backend.utils;
+
+import com.psiw.proj.backend.repository.ScreeningRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Licznik reserved_seats pojawił się później niż bilety – po starcie wyrównujemy go z ticket_seat,
+ * dalej utrzymuje go już każda rezerwacja.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class ReservedSeatsRecount {
+
+    private final ScreeningRepository screeningRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void recount() {
+        Integer updated = transactionTemplate.execute(status -> screeningRepository.recountReservedSeats());
+        if (updated != null && updated > 0) {
+            log.info("Reserved seat counters recounted for {} screenings", updated);
+        }
+    }
+}
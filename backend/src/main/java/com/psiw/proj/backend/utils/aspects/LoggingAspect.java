@@ -1,6 +1,7 @@
 package com.psiw.proj.backend.utils.aspects;
 
-import org.springframework.util.StopWatch;
+import com.psiw.proj.backend.utils.metrics.EndpointLatencyRegistry;
+import com.psiw.proj.backend.utils.metrics.LatencyHistogram;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
@@ -10,6 +11,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
 import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
 
 @Aspect
 @Component
@@ -17,28 +19,48 @@ public class LoggingAspect {
 
     private static final Logger logger = LoggerFactory.getLogger(LoggingAspect.class);
 
+    private final EndpointLatencyRegistry latencyRegistry;
+
+    public LoggingAspect(EndpointLatencyRegistry latencyRegistry) {
+        this.latencyRegistry = latencyRegistry;
+    }
+
     @Around("@within(com.psiw.proj.backend.utils.aspects.LogExecution)")
     public Object logExecution(ProceedingJoinPoint joinPoint) throws Throwable {
-        StopWatch stopWatch = new StopWatch();
-        stopWatch.start();
-
+        long start = System.nanoTime();
         MethodSignature methodSignature = (MethodSignature) joinPoint.getSignature();
-        String className = methodSignature.getDeclaringType().getSimpleName();
-        String methodName = methodSignature.getName();
-        Object[] args = joinPoint.getArgs();
+        LatencyHistogram histogram = latencyRegistry.histogramFor(methodSignature.getMethod());
 
-        logger.info("▶️ Wywołanie metody: {}.{}() z argumentami: {}", className, methodName, Arrays.toString(args));
+        // argumenty i wynik tylko na DEBUG – ich zamiana na tekst potrafi kosztować więcej niż samo żądanie
+        if (logger.isDebugEnabled()) {
+            logger.debug("▶️ Wywołanie metody: {}.{}() z argumentami: {}", methodSignature.getDeclaringType().getSimpleName(),
+                    methodSignature.getName(), Arrays.toString(joinPoint.getArgs()));
+        }
 
         try {
             Object result = joinPoint.proceed();
-            stopWatch.stop();
-            logger.info("✅ Metoda: {}.{}() zakończyła się sukcesem w czasie: {} ms, zwrócono: {}", className, methodName, stopWatch.getTotalTimeMillis(), result);
+            if (result instanceof CompletableFuture<?> pending && !pending.isDone()) {
+                // odpowiedź asynchroniczna – mierzymy do jej zakończenia
+                pending.whenComplete((value, error) -> histogram.record(elapsedMicros(start)));
+            } else {
+                histogram.record(elapsedMicros(start));
+            }
+            if (logger.isDebugEnabled()) {
+                logger.debug("✅ Metoda: {}.{}() zakończyła się sukcesem w czasie: {} ms, zwrócono: {}", methodSignature.getDeclaringType().getSimpleName(),
+                        methodSignature.getName(), elapsedMicros(start) / 1000, result);
+            }
             return result;
 
         } catch (Throwable throwable) {
-            stopWatch.stop();
-            logger.error("❌ Metoda: {}.{}() zakończyła się błędem po czasie: {} ms, błąd: {}", className, methodName, stopWatch.getTotalTimeMillis(), throwable.getMessage(), throwable);
+            long micros = elapsedMicros(start);
+            histogram.record(micros);
+            logger.error("❌ Metoda: {}.{}() zakończyła się błędem po czasie: {} ms, błąd: {}", methodSignature.getDeclaringType().getSimpleName(),
+                    methodSignature.getName(), micros / 1000, throwable.getMessage(), throwable);
             throw throwable;
         }
     }
+
+    private static long elapsedMicros(long start) {
+        return (System.nanoTime() - start) / 1000;
+    }
 }
@@ -0,0 +1,86 @@
+package com.psiw.proj.backend.utils.concurrency;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Bezblokadowy bezpiecznik: po {@code failureThreshold} kolejnych błędach przechodzi w stan OPEN
+ * i odrzuca wywołania przez {@code openDuration}. Potem przepuszcza jedno wywołanie próbne (HALF_OPEN),
+ * którego wynik zamyka lub ponownie otwiera obwód.
+ */
+public final class CircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final Duration openDuration;
+    private final Clock clock;
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>(new Snapshot(State.CLOSED, 0, Instant.MIN));
+
+    public CircuitBreaker(int failureThreshold, Duration openDuration, Clock clock) {
+        if (failureThreshold < 1) {
+            throw new IllegalArgumentException("Failure threshold must be at least 1, got " + failureThreshold);
+        }
+        this.failureThreshold = failureThreshold;
+        this.openDuration = openDuration;
+        this.clock = clock;
+    }
+
+    /**
+     * @return {@code true}, jeśli wywołanie może zostać wykonane; wynik należy zgłosić przez
+     * {@link #onSuccess()} lub {@link #onFailure()}
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            Snapshot current = snapshot.get();
+            switch (current.state) {
+                case CLOSED:
+                    return true;
+                case HALF_OPEN:
+                    return false;
+                default:
+                    if (clock.instant().isBefore(current.openedAt.plus(openDuration))) {
+                        return false;
+                    }
+                    if (snapshot.compareAndSet(current, new Snapshot(State.HALF_OPEN, current.failures, current.openedAt))) {
+                        return true;
+                    }
+            }
+        }
+    }
+
+    public void onSuccess() {
+        while (true) {
+            Snapshot current = snapshot.get();
+            if (current.state == State.CLOSED && current.failures == 0) {
+                return;
+            }
+            if (snapshot.compareAndSet(current, new Snapshot(State.CLOSED, 0, Instant.MIN))) {
+                return;
+            }
+        }
+    }
+
+    public void onFailure() {
+        while (true) {
+            Snapshot current = snapshot.get();
+            Snapshot next = current.state == State.HALF_OPEN || current.failures + 1 >= failureThreshold
+                    ? new Snapshot(State.OPEN, current.failures + 1, clock.instant())
+                    : new Snapshot(current.state, current.failures + 1, current.openedAt);
+            if (current.state == State.OPEN || snapshot.compareAndSet(current, next)) {
+                return;
+            }
+        }
+    }
+
+    public State state() {
+        return snapshot.get().state;
+    }
+
+    private record Snapshot(State state, int failures, Instant openedAt) {
+    }
+}
@@ -0,0 +1,39 @@
+package com.psiw.proj.backend.utils.concurrency;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Stała pula blokad, do której klucze są przypisywane po hashu.
+ * Ten sam klucz zawsze trafia na tę samą blokadę, różne klucze najczęściej na różne.
+ */
+public final class StripedLocks {
+
+    private final Lock[] stripes;
+    private final int mask;
+
+    public StripedLocks(int minStripes) {
+        if (minStripes < 1) {
+            throw new IllegalArgumentException("Stripe count must be positive, got " + minStripes);
+        }
+        int size = 1;
+        while (size < minStripes) {
+            size <<= 1;
+        }
+        this.stripes = new Lock[size];
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    public Lock lockFor(Object key) {
+        int h = key.hashCode();
+        h ^= (h >>> 16);
+        return stripes[h & mask];
+    }
+
+    public int size() {
+        return stripes.length;
+    }
+}
@@ -0,0 +1,117 @@
+package com.psiw.proj.backend.utils.concurrency;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Haszowane koło czasowe: terminy trafiają do kubełka wyznaczonego przez numer taktu,
+ * a {@link #advanceTo(Instant)} przegląda tylko kubełki taktów, które właśnie minęły.
+ * Dodanie i anulowanie są O(1), niezależnie od liczby oczekujących terminów.
+ */
+@Slf4j
+public final class TimingWheel<T> {
+
+    private final long tickMillis;
+    private final long startMillis;
+    private final Queue<Timeout<T>>[] buckets;
+    private final int mask;
+    private final Consumer<T> onExpiry;
+
+    private volatile long currentTick;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public TimingWheel(Duration tick, int wheelSize, Instant start, Consumer<T> onExpiry) {
+        if (tick.toMillis() < 1) {
+            throw new IllegalArgumentException("Tick must be at least 1 ms, got " + tick);
+        }
+        int size = 1;
+        while (size < wheelSize) {
+            size <<= 1;
+        }
+        this.tickMillis = tick.toMillis();
+        this.startMillis = start.toEpochMilli();
+        this.buckets = new Queue[size];
+        this.mask = size - 1;
+        this.onExpiry = onExpiry;
+        for (int i = 0; i < size; i++) {
+            buckets[i] = new ConcurrentLinkedQueue<>();
+        }
+    }
+
+    public Timeout<T> schedule(T item, Instant deadline) {
+        long deadlineMillis = deadline.toEpochMilli() - startMillis;
+        long deadlineTick = Math.max((deadlineMillis + tickMillis - 1) / tickMillis, currentTick + 1);
+        Timeout<T> timeout = new Timeout<>(item, deadlineTick);
+        buckets[(int) (deadlineTick & mask)].add(timeout);
+        return timeout;
+    }
+
+    /**
+     * Wygasza wszystkie terminy do {@code now} włącznie. Wywoływane z jednego wątku.
+     */
+    public void advanceTo(Instant now) {
+        long targetTick = (now.toEpochMilli() - startMillis) / tickMillis;
+        long fromTick = currentTick + 1;
+        if (targetTick < fromTick) {
+            return;
+        }
+        // po dłuższej przerwie wystarczy jedno pełne okrążenie
+        if (targetTick - fromTick >= buckets.length) {
+            fromTick = targetTick - buckets.length + 1;
+        }
+        for (long tick = fromTick; tick <= targetTick; tick++) {
+            expireBucket(buckets[(int) (tick & mask)], targetTick);
+        }
+        currentTick = targetTick;
+    }
+
+    private void expireBucket(Queue<Timeout<T>> bucket, long upToTick) {
+        Iterator<Timeout<T>> it = bucket.iterator();
+        while (it.hasNext()) {
+            Timeout<T> timeout = it.next();
+            if (timeout.state.get() == Timeout.CANCELLED) {
+                it.remove();
+            } else if (timeout.deadlineTick <= upToTick && timeout.state.compareAndSet(Timeout.PENDING, Timeout.EXPIRED)) {
+                it.remove();
+                try {
+                    onExpiry.accept(timeout.item);
+                } catch (RuntimeException e) {
+                    log.error("Expiry callback failed for {}", timeout.item, e);
+                }
+            }
+        }
+    }
+
+    public static final class Timeout<T> {
+        private static final int PENDING = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+
+        private final T item;
+        private final long deadlineTick;
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+
+        private Timeout(T item, long deadlineTick) {
+            this.item = item;
+            this.deadlineTick = deadlineTick;
+        }
+
+        /**
+         * @return {@code true}, jeśli termin został anulowany przed wygaśnięciem
+         */
+        public boolean cancel() {
+            return state.compareAndSet(PENDING, CANCELLED);
+        }
+
+        public boolean isExpired() {
+            return state.get() == EXPIRED;
+        }
+    }
+}
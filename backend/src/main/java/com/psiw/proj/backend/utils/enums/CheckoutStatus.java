@@ -0,0 +1,25 @@
+package com.psiw.proj.backend.utils.enums;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Etap zakupu biletu po stronie serwera")
+public enum CheckoutStatus {
+    @Schema(description = "Miejsca zablokowane, trwa płatność (z ponowieniami)")
+    PAYMENT_PENDING,
+
+    @Schema(description = "Płatność przyjęta, rezerwacja potwierdzona – bilet gotowy")
+    CONFIRMED,
+
+    @Schema(description = "Płatność nie powiodła się – miejsca zostały zwolnione")
+    PAYMENT_FAILED,
+
+    @Schema(description = "Płatność przyjęta (lub bramka nie odpowiedziała na czas), ale rezerwacja nie została potwierdzona – płatność zwrócona")
+    REFUNDED,
+
+    @Schema(description = "Płatność przyjęta (lub bramka nie odpowiedziała na czas), ale nie udało się potwierdzić rezerwacji ani zwrócić płatności")
+    FAILED;
+
+    public boolean isTerminal() {
+        return this != PAYMENT_PENDING;
+    }
+}
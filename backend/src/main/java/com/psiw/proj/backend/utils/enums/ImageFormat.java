@@ -0,0 +1,46 @@
+package com.psiw.proj.backend.utils.enums;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.http.MediaType;
+
+import java.util.Locale;
+
+/**
+ * Formaty zapisywane przez wbudowane ImageIO – JDK nie zawiera kodera WebP.
+ */
+@Schema(description = "Format wariantu obrazu filmu")
+public enum ImageFormat {
+    @Schema(description = "JPEG, kompresja stratna")
+    JPEG("jpg", MediaType.IMAGE_JPEG),
+
+    @Schema(description = "PNG, kompresja bezstratna")
+    PNG("png", MediaType.IMAGE_PNG);
+
+    private final String extension;
+    private final MediaType mediaType;
+
+    ImageFormat(String extension, MediaType mediaType) {
+        this.extension = extension;
+        this.mediaType = mediaType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    public MediaType mediaType() {
+        return mediaType;
+    }
+
+    public static ImageFormat from(String value) {
+        String normalized = value.trim().toUpperCase(Locale.ROOT);
+        if (normalized.equals("JPG")) {
+            return JPEG;
+        }
+        try {
+            return valueOf(normalized);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported image format: " + value);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.psiw.proj.backend.utils.enums;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.Locale;
+
+@Schema(description = "Rozmiar wariantu obrazu filmu")
+public enum ImageSize {
+    @Schema(description = "Miniatura do listy repertuaru – szerokość 200 px")
+    THUMBNAIL(200),
+
+    @Schema(description = "Widok szczegółów – szerokość 480 px")
+    MEDIUM(480),
+
+    @Schema(description = "Plik źródłowy bez zmian")
+    ORIGINAL(0);
+
+    private final int width;
+
+    ImageSize(int width) {
+        this.width = width;
+    }
+
+    public int width() {
+        return width;
+    }
+
+    public static ImageSize from(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported image size: " + value);
+        }
+    }
+}
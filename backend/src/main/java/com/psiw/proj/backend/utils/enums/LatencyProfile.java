@@ -0,0 +1,15 @@
+package com.psiw.proj.backend.utils.enums;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Rozkład opóźnienia symulowanej bramki płatności")
+public enum LatencyProfile {
+    @Schema(description = "Zawsze średnie opóźnienie")
+    FIXED,
+
+    @Schema(description = "Rozkład normalny wokół średniej")
+    NORMAL,
+
+    @Schema(description = "Rozkład normalny z rzadkimi, bardzo długimi odpowiedziami")
+    LONG_TAIL
+}
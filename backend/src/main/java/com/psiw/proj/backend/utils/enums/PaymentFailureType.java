@@ -0,0 +1,30 @@
+package com.psiw.proj.backend.utils.enums;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.http.HttpStatus;
+
+@Schema(description = "Rodzaj symulowanej awarii płatności")
+public enum PaymentFailureType {
+    @Schema(description = "Bramka chwilowo niedostępna – można ponowić")
+    UNAVAILABLE(HttpStatus.SERVICE_UNAVAILABLE),
+
+    @Schema(description = "Bramka nie odpowiedziała na czas – można ponowić")
+    TIMEOUT(HttpStatus.GATEWAY_TIMEOUT),
+
+    @Schema(description = "Płatność odrzucona – ponowienie nic nie da")
+    DECLINED(HttpStatus.PAYMENT_REQUIRED);
+
+    private final HttpStatus status;
+
+    PaymentFailureType(HttpStatus status) {
+        this.status = status;
+    }
+
+    public HttpStatus status() {
+        return status;
+    }
+
+    public boolean isRetryable() {
+        return this != DECLINED;
+    }
+}
@@ -0,0 +1,12 @@
+package com.psiw.proj.backend.utils.enums;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Sposób zapisu zajętych miejsc przy rezerwacji")
+public enum SeatClaimMode {
+    @Schema(description = "Encje TicketSeat zapisywane przez JPA, konflikt wykrywa ograniczenie UNIQUE przy flush")
+    JPA,
+
+    @Schema(description = "Jedno zapytanie INSERT ... SELECT ... ON CONFLICT DO NOTHING; konflikt wykrywa liczba wstawionych wierszy")
+    NATIVE
+}
@@ -0,0 +1,7 @@
+package com.psiw.proj.backend.utils.events;
+
+/**
+ * Film został dodany, zmieniony lub usunięty – publikowane z {@code MovieEntityListener}.
+ */
+public record MovieChangedEvent(Long movieId) {
+}
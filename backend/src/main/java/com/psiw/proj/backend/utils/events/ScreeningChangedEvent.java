@@ -0,0 +1,7 @@
+package com.psiw.proj.backend.utils.events;
+
+/**
+ * Seans został dodany, zmieniony lub usunięty – publikowane z {@code ScreeningEntityListener}.
+ */
+public record ScreeningChangedEvent(Long screeningId) {
+}
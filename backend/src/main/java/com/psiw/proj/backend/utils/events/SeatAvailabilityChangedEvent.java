@@ -0,0 +1,12 @@
+package com.psiw.proj.backend.utils.events;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Zmiana zajętości miejsc seansu. Przy zajęciu w transakcji dostarczane dopiero po jej zatwierdzeniu.
+ *
+ * @param available {@code true} – miejsca zwolnione, {@code false} – zajęte
+ */
+public record SeatAvailabilityChangedEvent(Long screeningId, LocalDate screeningDate, List<Long> seatIds, boolean available) {
+}
@@ -0,0 +1,7 @@
+package com.psiw.proj.backend.utils.events;
+
+/**
+ * Bileter został dodany, zmieniony (np. rola lub hasło) lub usunięty – publikowane z {@code TicketClerkEntityListener}.
+ */
+public record TicketClerkChangedEvent(Long clerkId, String username) {
+}
@@ -0,0 +1,11 @@
+package com.psiw.proj.backend.utils.events;
+
+import com.psiw.proj.backend.utils.responseDto.TicketResponse;
+
+import java.time.Duration;
+
+/**
+ * Wystawiono nowy bilet – dostarczane po zatwierdzeniu transakcji rezerwacji.
+ */
+public record TicketIssuedEvent(TicketResponse ticket, Duration screeningDuration) {
+}
@@ -0,0 +1,93 @@
+package com.psiw.proj.backend.utils.images;
+
+import com.psiw.proj.backend.utils.enums.ImageFormat;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Skalowanie i ponowna kompresja obrazów wyłącznie przy użyciu JDK (ImageIO + Java2D).
+ */
+public final class ImageResizer {
+
+    private static final float JPEG_QUALITY = 0.8f;
+
+    private ImageResizer() {
+    }
+
+    public static BufferedImage read(InputStream in) throws IOException {
+        BufferedImage image = ImageIO.read(in);
+        if (image == null) {
+            throw new IOException("No ImageIO reader for image");
+        }
+        return image;
+    }
+
+    /**
+     * Zmniejsza obraz do zadanej szerokości z zachowaniem proporcji; mniejszych obrazów nie powiększa.
+     */
+    public static BufferedImage scaleToWidth(BufferedImage source, int targetWidth) {
+        int width = source.getWidth();
+        int height = source.getHeight();
+        BufferedImage current = toRgb(source);
+        // kolejne połowienia – samo dwuliniowe skalowanie przy dużym pomniejszeniu gubi szczegóły
+        while (width > targetWidth) {
+            width = Math.max(width / 2, targetWidth);
+            height = Math.max(1, (int) Math.round((double) source.getHeight() * width / source.getWidth()));
+            current = draw(current, width, height);
+        }
+        return current;
+    }
+
+    public static void write(BufferedImage image, ImageFormat format, OutputStream out) throws IOException {
+        if (format == ImageFormat.PNG) {
+            ImageIO.write(image, "png", out);
+            return;
+        }
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream ios = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(ios);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    // JPEG nie obsługuje kanału alfa – wspólny typ RGB dla obu formatów
+    private static BufferedImage toRgb(BufferedImage source) {
+        if (source.getType() == BufferedImage.TYPE_INT_RGB) {
+            return source;
+        }
+        return draw(source, source.getWidth(), source.getHeight());
+    }
+
+    private static BufferedImage draw(BufferedImage source, int width, int height) {
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = target.createGraphics();
+        try {
+            // przezroczyste piksele na białym tle zamiast czarnego
+            g.setBackground(Color.WHITE);
+            g.clearRect(0, 0, width, height);
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return target;
+    }
+}
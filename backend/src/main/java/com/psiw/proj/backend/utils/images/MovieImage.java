@@ -0,0 +1,15 @@
+package com.psiw.proj.backend.utils.images;
+
+import org.springframework.core.io.Resource;
+import org.springframework.http.MediaType;
+
+import java.time.Instant;
+
+/**
+ * Obraz filmu wraz z metadanymi wyznaczonymi jednorazowo przy pierwszym odczycie.
+ *
+ * @param contentHash skrót treści – ETag i wersja w adresie obrazu
+ */
+public record MovieImage(Resource resource, String filename, MediaType contentType, long contentLength,
+                         String contentHash, Instant lastModified) {
+}
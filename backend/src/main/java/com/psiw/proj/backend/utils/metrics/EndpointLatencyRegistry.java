@@ -0,0 +1,40 @@
+package com.psiw.proj.backend.utils.metrics;
+
+import com.psiw.proj.backend.utils.responseDto.helpers.LatencyStatsDto;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Histogramy czasów obsługi metod kontrolerów, po jednym na metodę.
+ */
+@Component
+public class EndpointLatencyRegistry {
+
+    private final ConcurrentMap<Method, Entry> histograms = new ConcurrentHashMap<>();
+
+    public LatencyHistogram histogramFor(Method method) {
+        Entry entry = histograms.get(method);
+        if (entry == null) {
+            entry = histograms.computeIfAbsent(method,
+                    m -> new Entry(m.getDeclaringClass().getSimpleName() + "." + m.getName(), new LatencyHistogram()));
+        }
+        return entry.histogram;
+    }
+
+    /**
+     * @return migawki histogramów posortowane po nazwie {@code Klasa.metoda}
+     */
+    public Map<String, LatencyStatsDto> snapshot() {
+        Map<String, LatencyStatsDto> result = new TreeMap<>();
+        histograms.values().forEach(entry -> result.put(entry.name, entry.histogram.snapshot()));
+        return result;
+    }
+
+    private record Entry(String name, LatencyHistogram histogram) {
+    }
+}
@@ -0,0 +1,93 @@
+package com.psiw.proj.backend.utils.occupancy;
+
+import java.util.BitSet;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Mapa zajętości miejsc jednego seansu – jeden bit na pozycję w sali.
+ * Pozycja miejsca to (rowNumber - 1) * columnCount + (columnNumber - 1).
+ */
+public final class SeatBitmap {
+
+    private final int rowCount;
+    private final int columnCount;
+    private final AtomicLongArray words;
+
+    public SeatBitmap(int rowCount, int columnCount) {
+        if (rowCount < 1 || columnCount < 1) {
+            throw new IllegalArgumentException("Room geometry must be at least 1x1, got " + rowCount + "x" + columnCount);
+        }
+        this.rowCount = rowCount;
+        this.columnCount = columnCount;
+        this.words = new AtomicLongArray((rowCount * columnCount + 63) >>> 6);
+    }
+
+    public int rowCount() {
+        return rowCount;
+    }
+
+    public int columnCount() {
+        return columnCount;
+    }
+
+    public int capacity() {
+        return rowCount * columnCount;
+    }
+
+    public int positionOf(int rowNumber, int columnNumber) {
+        if (rowNumber < 1 || rowNumber > rowCount || columnNumber < 1 || columnNumber > columnCount) {
+            throw new IllegalArgumentException("Seat R" + rowNumber + "C" + columnNumber + " is outside the room");
+        }
+        return (rowNumber - 1) * columnCount + (columnNumber - 1);
+    }
+
+    public boolean isTaken(int position) {
+        checkPosition(position);
+        return (words.get(position >>> 6) & (1L << position)) != 0;
+    }
+
+    public void markTaken(int position) {
+        checkPosition(position);
+        long mask = 1L << position;
+        int index = position >>> 6;
+        long current;
+        do {
+            current = words.get(index);
+        } while ((current & mask) == 0 && !words.compareAndSet(index, current, current | mask));
+    }
+
+    public void release(int position) {
+        checkPosition(position);
+        long mask = 1L << position;
+        int index = position >>> 6;
+        long current;
+        do {
+            current = words.get(index);
+        } while ((current & mask) != 0 && !words.compareAndSet(index, current, current & ~mask));
+    }
+
+    public int takenCount() {
+        int count = 0;
+        for (int i = 0; i < words.length(); i++) {
+            count += Long.bitCount(words.get(i));
+        }
+        return count;
+    }
+
+    /**
+     * Kopia zajętych pozycji – każde słowo odczytane atomowo, całość bez blokady.
+     */
+    public BitSet snapshot() {
+        long[] copy = new long[words.length()];
+        for (int i = 0; i < copy.length; i++) {
+            copy[i] = words.get(i);
+        }
+        return BitSet.valueOf(copy);
+    }
+
+    private void checkPosition(int position) {
+        if (position < 0 || position >= capacity()) {
+            throw new IndexOutOfBoundsException("Seat position " + position + " outside of 0.." + (capacity() - 1));
+        }
+    }
+}
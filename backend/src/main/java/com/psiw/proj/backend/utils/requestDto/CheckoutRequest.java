@@ -0,0 +1,39 @@
+package com.psiw.proj.backend.utils.requestDto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+@Schema(description = "Dane zakupu biletu: miejsca, osoba rezerwująca i płatność")
+public record CheckoutRequest(
+
+        @Schema(description = "ID seansu", example = "123")
+        @NotNull
+        Long screeningId,
+
+        @Schema(description = "Lista identyfikatorów miejsc do kupienia", example = "[1, 2, 3]")
+        @NotNull @NotEmpty @Size(max = 20)
+        List<Long> seatIds,
+
+        @Schema(description = "Adres email osoby rezerwującej", example = "john.doe@example.com")
+        @NotNull @Email
+        String email,
+
+        @Schema(description = "Imię osoby rezerwującej", example = "John")
+        @NotNull @NotEmpty
+        String name,
+
+        @Schema(description = "Nazwisko osoby rezerwującej", example = "Doe")
+        @NotNull @NotEmpty
+        String surname,
+
+        @Schema(description = "Dane płatności przekazywane do bramki")
+        @NotNull @Valid
+        PaymentRequest payment
+
+) {}
@@ -0,0 +1,23 @@
+package com.psiw.proj.backend.utils.requestDto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+@Schema(description = "Dane osoby rezerwującej potrzebne do zamiany blokady miejsc na bilet")
+public record HoldConfirmationRequest(
+
+        @Schema(description = "Adres email osoby rezerwującej", example = "john.doe@example.com")
+        @NotNull @Email
+        String email,
+
+        @Schema(description = "Imię osoby rezerwującej", example = "John")
+        @NotNull @NotEmpty
+        String name,
+
+        @Schema(description = "Nazwisko osoby rezerwującej", example = "Doe")
+        @NotNull @NotEmpty
+        String surname
+
+) {}
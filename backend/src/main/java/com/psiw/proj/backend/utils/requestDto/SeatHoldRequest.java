@@ -0,0 +1,21 @@
+package com.psiw.proj.backend.utils.requestDto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+@Schema(description = "Dane wymagane do czasowego zablokowania miejsc na seansie")
+public record SeatHoldRequest(
+
+        @Schema(description = "ID seansu", example = "123")
+        @NotNull
+        Long screeningId,
+
+        @Schema(description = "Lista identyfikatorów miejsc do zablokowania", example = "[1, 2, 3]")
+        @NotNull @NotEmpty @Size(max = 20)
+        List<Long> seatIds
+
+) {}
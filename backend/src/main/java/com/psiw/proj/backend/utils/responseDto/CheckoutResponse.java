@@ -0,0 +1,34 @@
+package com.psiw.proj.backend.utils.responseDto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.psiw.proj.backend.utils.enums.CheckoutStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Schema(description = "Stan zakupu biletu")
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record CheckoutResponse(
+
+        @Schema(description = "Identyfikator zakupu", example = "550e8400-e29b-41d4-a716-446655440000")
+        UUID checkoutId,
+
+        @Schema(description = "Etap zakupu", example = "PAYMENT_PENDING")
+        CheckoutStatus status,
+
+        @Schema(description = "Liczba dotychczasowych prób płatności", example = "1")
+        int paymentAttempts,
+
+        @Schema(description = "Moment wygaśnięcia blokady miejsc", example = "2025-05-24T18:10:00")
+        LocalDateTime holdExpiresAt,
+
+        @Schema(description = "Bilet – tylko dla statusu CONFIRMED")
+        TicketResponse ticket,
+
+        @Schema(description = "Przyczyna niepowodzenia", example = "Payment failed.")
+        String message
+
+) {}
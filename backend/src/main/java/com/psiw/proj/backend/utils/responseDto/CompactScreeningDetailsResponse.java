@@ -0,0 +1,46 @@
+package com.psiw.proj.backend.utils.responseDto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.psiw.proj.backend.utils.responseDto.helpers.MovieSimpleDto;
+import com.psiw.proj.backend.utils.responseDto.helpers.RoomDto;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Schema(description = "Szczegóły seansu z mapą miejsc zakodowaną jako bitset. Pozycja miejsca to " +
+        "(rząd - 1) * liczba kolumn + (kolumna - 1)")
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record CompactScreeningDetailsResponse(
+        @Schema(description = "ID seansu", example = "201", required = true)
+        @NotNull Long id,
+
+        @Schema(description = "Informacje o filmie", required = true)
+        @NotNull MovieSimpleDto movie,
+
+        @Schema(description = "Informacje o sali", required = true)
+        @NotNull RoomDto room,
+
+        @Schema(description = "Czas rozpoczęcia", example = "2025-05-23T20:00:00", required = true)
+        @NotNull LocalDateTime startTime,
+
+        @Schema(description = "Czas trwania w minutach", required = true)
+        @NotNull Long duration,
+
+        @Schema(description = "Bitset dostępności w base64, little-endian: bit pozycji p w bajcie p / 8 na bicie p % 8. " +
+                "Brakujące końcowe bajty oznaczają miejsca niedostępne", example = "/w8=", required = true)
+        @NotNull String availability,
+
+        @Schema(description = "Dla regularnej sali: ID miejsca = seatIdBase + pozycja, numer miejsca = pozycja + 1", example = "1")
+        Long seatIdBase,
+
+        @Schema(description = "Dla nieregularnej sali: ID miejsc według pozycji (null – brak miejsca)")
+        List<Long> seatIds,
+
+        @Schema(description = "Dla nieregularnej sali: numery miejsc według pozycji (null – brak miejsca)")
+        List<Integer> seatNumbers
+) {
+}
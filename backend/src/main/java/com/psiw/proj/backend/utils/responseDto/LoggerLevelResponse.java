@@ -0,0 +1,19 @@
+package com.psiw.proj.backend.utils.responseDto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+
+@Schema(description = "Poziom logowania pojedynczego loggera")
+@Builder
+public record LoggerLevelResponse(
+
+        @Schema(description = "Nazwa loggera", example = "org.hibernate.SQL")
+        String name,
+
+        @Schema(description = "Poziom ustawiony wprost – null, gdy dziedziczony", example = "DEBUG")
+        String configuredLevel,
+
+        @Schema(description = "Poziom faktycznie obowiązujący", example = "DEBUG")
+        String effectiveLevel
+
+) {}
@@ -0,0 +1,20 @@
+package com.psiw.proj.backend.utils.responseDto;
+
+import com.psiw.proj.backend.utils.responseDto.helpers.CacheStatsDto;
+import com.psiw.proj.backend.utils.responseDto.helpers.LatencyStatsDto;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+
+import java.util.Map;
+
+@Schema(description = "Bieżące metryki działania serwera")
+@Builder
+public record MetricsResponse(
+
+        @Schema(description = "Pamięć podręczna zalogowanych bileterów")
+        CacheStatsDto principalCache,
+
+        @Schema(description = "Czasy obsługi metod kontrolerów od startu serwera, klucz: Klasa.metoda")
+        Map<String, LatencyStatsDto> endpoints
+
+) {}
@@ -19,6 +19,10 @@ public record MovieResponse(
         @Schema(description = "Opis filmu", example = "Film science-fiction w reżyserii Christophera Nolana", required = true)
         @NotNull String description,
 
+        @Schema(description = "Wersjonowany adres plakatu – niezmienny, można go buforować bez ograniczeń",
+                example = "/psiw/api/v1/open/movies/101/image?v=0f343b0931126a20f133d67c2b018a3b")
+        String imageUrl,
+
         @Schema(description = "Lista seansów dla filmu", required = true)
         @NotNull List<ScreeningSummaryDto> screenings
 ) {
@@ -1,10 +1,13 @@
 package com.psiw.proj.backend.utils.responseDto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.psiw.proj.backend.utils.enums.PaymentFailureType;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotNull;
 import lombok.Builder;
 
 @Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
 @Schema(description = "Odpowiedź po przetworzeniu płatności")
 public record PaymentResponse(
 
@@ -12,6 +15,9 @@ public record PaymentResponse(
         boolean success,
 
         @Schema(description = "Komunikat informacyjny", example = "Payment succeeded.")
-        @NotNull String message
+        @NotNull String message,
 
-) {}
\ No newline at end of file
+        @Schema(description = "Rodzaj awarii – tylko dla nieudanych płatności", example = "UNAVAILABLE")
+        PaymentFailureType failure
+
+) {}
@@ -0,0 +1,26 @@
+package com.psiw.proj.backend.utils.responseDto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Schema(description = "Czasowa blokada miejsc na seansie")
+@Builder
+public record SeatHoldResponse(
+
+        @Schema(description = "Identyfikator blokady", example = "550e8400-e29b-41d4-a716-446655440000")
+        UUID holdId,
+
+        @Schema(description = "ID seansu", example = "123")
+        Long screeningId,
+
+        @Schema(description = "Zablokowane miejsca", example = "[1, 2, 3]")
+        List<Long> seatIds,
+
+        @Schema(description = "Moment wygaśnięcia blokady", example = "2025-05-24T18:10:00")
+        LocalDateTime expiresAt
+
+) {}
@@ -0,0 +1,21 @@
+package com.psiw.proj.backend.utils.responseDto.helpers;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+
+@Schema(description = "Statystyki pamięci podręcznej")
+@Builder
+public record CacheStatsDto(
+        @Schema(description = "Liczba trafień", example = "1250")
+        long hits,
+
+        @Schema(description = "Liczba chybień", example = "12")
+        long misses,
+
+        @Schema(description = "Odsetek trafień (0-1)", example = "0.99")
+        double hitRatio,
+
+        @Schema(description = "Aktualna liczba wpisów", example = "8")
+        int size
+) {
+}
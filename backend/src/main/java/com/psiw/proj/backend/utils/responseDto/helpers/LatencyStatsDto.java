@@ -0,0 +1,30 @@
+package com.psiw.proj.backend.utils.responseDto.helpers;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+
+@Schema(description = "Rozkład czasu obsługi wywołań (w milisekundach)")
+@Builder
+public record LatencyStatsDto(
+        @Schema(description = "Liczba wywołań", example = "15230")
+        long count,
+
+        @Schema(description = "Średni czas", example = "3.41")
+        double meanMs,
+
+        @Schema(description = "Mediana", example = "2.1")
+        double p50Ms,
+
+        @Schema(description = "90. percentyl", example = "6.2")
+        double p90Ms,
+
+        @Schema(description = "99. percentyl", example = "18.4")
+        double p99Ms,
+
+        @Schema(description = "99,9. percentyl", example = "55.3")
+        double p999Ms,
+
+        @Schema(description = "Najdłuższy czas", example = "120.7")
+        double maxMs
+) {
+}
@@ -16,7 +16,10 @@ public record ScreeningSummaryDto(
         LocalDateTime startTime,
 
         @Schema(description = "Czas trwania seansu w minutach", example = "120")
-        Long duration
+        Long duration,
+
+        @Schema(description = "Liczba wolnych miejsc – 0 oznacza wyprzedany seans", example = "37")
+        Integer freeSeats
 
 ) {
 }
@@ -0,0 +1,16 @@
+package com.psiw.proj.backend.utils.responseDto.helpers;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.Builder;
+
+@Schema(description = "Zmiana dostępności pojedynczego miejsca")
+@Builder
+public record SeatDeltaDto(
+        @Schema(description = "ID miejsca", example = "501")
+        @NotNull Long seatId,
+
+        @Schema(description = "Czy miejsce jest teraz dostępne", example = "false")
+        boolean available
+) {
+}
@@ -0,0 +1,72 @@
+package com.psiw.proj.backend.utils.validation;
+
+import com.psiw.proj.backend.utils.enums.TicketStatus;
+import com.psiw.proj.backend.utils.responseDto.TicketResponse;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Niezmienny wpis indeksu biletów – gotowa odpowiedź dla bramki i koniec seansu,
+ * wystarczające do wyznaczenia statusu bez sięgania do bazy.
+ */
+public record TicketIndexEntry(TicketResponse ticket, LocalDateTime screeningEnd) {
+
+    // bilet aktywuje się 15 minut przed seansem
+    private static final long ACTIVATION_MINUTES = 15;
+
+    public UUID ticketNumber() {
+        return ticket.ticketId();
+    }
+
+    public TicketStatus status() {
+        return ticket.status();
+    }
+
+    public LocalDateTime screeningStart() {
+        return ticket.screeningStartTime();
+    }
+
+    /**
+     * Status, jaki bilet powinien mieć w chwili {@code now} – pozostałe statusy (USED, EXPIRED) się nie zmieniają.
+     */
+    public TicketStatus statusAt(LocalDateTime now) {
+        if (status() == TicketStatus.WAITING_FOR_ACTIVATION
+                && !now.isBefore(screeningStart().minusMinutes(ACTIVATION_MINUTES)) && now.isBefore(screeningEnd)) {
+            return TicketStatus.VALID;
+        }
+        if (status() == TicketStatus.VALID && !now.isBefore(screeningEnd)) {
+            return TicketStatus.EXPIRED;
+        }
+        return status();
+    }
+
+    /**
+     * Z dwóch wersji tego samego biletu wybiera bardziej zaawansowaną – status biletu nigdy się nie cofa,
+     * więc odświeżenie z bazy nie nadpisze skanu zatwierdzonego chwilę wcześniej.
+     */
+    public TicketIndexEntry latest(TicketIndexEntry other) {
+        return stage(other.status()) > stage(status()) ? other : this;
+    }
+
+    private static int stage(TicketStatus status) {
+        return switch (status) {
+            case WAITING_FOR_ACTIVATION -> 0;
+            case VALID -> 1;
+            case USED, EXPIRED -> 2;
+        };
+    }
+
+    public TicketIndexEntry withStatus(TicketStatus status) {
+        return new TicketIndexEntry(TicketResponse.builder()
+                .seatNumbers(ticket.seatNumbers())
+                .movieTitle(ticket.movieTitle())
+                .screeningStartTime(ticket.screeningStartTime())
+                .ticketId(ticket.ticketId())
+                .status(status)
+                .email(ticket.email())
+                .ticketOwner(ticket.ticketOwner())
+                .price(ticket.price())
+                .build(), screeningEnd);
+    }
+}
@@ -0,0 +1,116 @@
+package com.psiw.proj.backend.controller;
+
+import com.psiw.proj.backend.config.security.PooledPasswordEncoder;
+import com.psiw.proj.backend.config.security.RSAKeyRecord;
+import com.psiw.proj.backend.config.security.SecurityConfig;
+import com.psiw.proj.backend.config.security.UserInfoManagerConfig;
+import com.psiw.proj.backend.config.security.jwtUtils.JwtTokenUtils;
+import com.psiw.proj.backend.service.interfaces.AuthService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.test.context.bean.override.convention.TestBean;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(LoginController.class)
+@Import(SecurityConfig.class)
+class LoginControllerTest {
+
+    // jeden wątek BCrypt i jedno miejsce w kolejce – trzecie logowanie jest odrzucane
+    private static final CountDownLatch STARTED = new CountDownLatch(1);
+    private static final CountDownLatch RELEASE = new CountDownLatch(1);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @TestBean
+    private PasswordEncoder passwordEncoder;
+
+    @MockitoBean
+    private UserInfoManagerConfig userInfoManagerConfig;
+
+    @MockitoBean
+    private AuthService authService;
+
+    @MockitoBean
+    private JwtTokenUtils jwtTokenUtils;
+
+    @MockitoBean
+    private JwtDecoder jwtDecoder;
+
+    @MockitoBean
+    private JwtEncoder jwtEncoder;
+
+    @MockitoBean
+    private RSAKeyRecord rsaKeyRecord;
+
+    @MockitoBean
+    private Clock clock;
+
+    static PasswordEncoder passwordEncoder() {
+        return new PooledPasswordEncoder(new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                STARTED.countDown();
+                try {
+                    RELEASE.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return false;
+            }
+        }, 1, 1, Duration.ofMinutes(5), 10, Clock.systemUTC());
+    }
+
+    @AfterEach
+    void tearDown() {
+        RELEASE.countDown();
+    }
+
+    @Test
+    void shouldAnswerServiceUnavailableWhenPasswordPoolIsSaturated() throws Exception {
+        // given
+        when(userInfoManagerConfig.loadUserByUsername("clerk"))
+                .thenReturn(User.withUsername("clerk").password("hash").authorities("ROLE_CLERK").build());
+        PooledPasswordEncoder encoder = (PooledPasswordEncoder) passwordEncoder;
+        CompletableFuture.runAsync(() -> encoder.matches("a", "hash"));
+        assertThat(STARTED.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture.runAsync(() -> encoder.matches("b", "hash"));
+        while (encoder.queueDepth() < 1) {
+            Thread.onSpinWait();
+        }
+        String credentials = Base64.getEncoder().encodeToString("clerk:secret".getBytes(StandardCharsets.UTF_8));
+
+        // when & then
+        mockMvc.perform(post("/psiw/api/v1/auth/login").header(HttpHeaders.AUTHORIZATION, "Basic " + credentials))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+    }
+}
@@ -3,8 +3,10 @@ package com.psiw.proj.backend.repository;
 import com.psiw.proj.backend.entity.Movie;
 import com.psiw.proj.backend.entity.Room;
 import com.psiw.proj.backend.entity.Screening;
+import com.psiw.proj.backend.repository.projections.RepertoireRow;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
@@ -16,6 +18,7 @@ import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -31,204 +34,72 @@ class MovieRepositoryTest {
     private EntityManager entityManager;
 
     @Test
-    void shouldLoadMoviesWithScreeningsAndRoomsEagerlyUsingEntityGraph() {
+    void shouldReturnOnlyScreeningsInRangeAsFlatRowsWithoutManagedEntities() {
         // given
-        LocalDate targetDate = LocalDate.now().plusDays(1);
-        LocalDateTime from = targetDate.atStartOfDay();
-        LocalDateTime to = targetDate.plusDays(1).atStartOfDay();
-
-        // tworzę salę
-        Room room = Room.builder()
-                .roomNumber(uniqueRoomNumber())
-                .rowCount(10)
-                .columnCount(10)
-                .build();
+        LocalDateTime from = LocalDate.now().plusDays(1).atStartOfDay();
+        LocalDateTime to = from.plusDays(1);
 
-        // tworzę film
+        Room room = Room.builder().roomNumber(uniqueRoomNumber()).rowCount(5).columnCount(5).build();
         Movie movie = Movie.builder()
-                .title("Test Movie")
-                .description("Test Description")
-                .image("test.jpg")
+                .title("Projection Movie")
+                .description("Rows only")
+                .image("rows.jpg")
                 .build();
-
-        // create and persist independent entities first
         entityManager.persist(room);
         entityManager.persist(movie);
-        entityManager.flush(); // ensure IDs are generated
-
-        // create screening after room and movie are persisted
-        Screening screening = Screening.builder()
-                .startTime(from.plusHours(2))
-                .duration(Duration.ofMinutes(120))
-                .room(room)
-                .movie(movie)
-                .build();
-
-        // build bidirectional relationships
-        movie.getScreenings().add(screening);
-        room.getScreenings().add(screening);
 
-        // persist dependent entity
-        entityManager.persist(screening);
+        Screening evening = Screening.builder().startTime(from.plusHours(20)).duration(Duration.ofMinutes(95))
+                .room(room).movie(movie).build();
+        Screening morning = Screening.builder().startTime(from.plusHours(9)).duration(Duration.ofMinutes(95))
+                .room(room).movie(movie).build();
+        Screening nextDay = Screening.builder().startTime(to.plusHours(9)).duration(Duration.ofMinutes(95))
+                .room(room).movie(movie).build();
+        entityManager.persist(evening);
+        entityManager.persist(morning);
+        entityManager.persist(nextDay);
         entityManager.flush();
         entityManager.clear();
 
         // when
-        List<Movie> movies = movieRepository.findDistinctByScreeningsStartTimeBetween(from, to);
+        List<RepertoireRow> rows = movieRepository.findRepertoireRows(from, to);
 
         // then
-        assertThat(movies).isNotEmpty();
-        for (Movie m : movies) {
-            assertThat(m.getScreenings()).isNotEmpty();
-            for (Screening s : m.getScreenings()) {
-                assertThat(s.getRoom()).isNotNull(); // room powinien być eagerly załadowany
-                assertThat(s.getStartTime()).isAfterOrEqualTo(from);
-                assertThat(s.getStartTime()).isBefore(to);
-            }
-        }
+        assertThat(rows).extracting(RepertoireRow::screeningId).containsExactly(morning.getId(), evening.getId());
+        assertThat(rows.getFirst().title()).isEqualTo("Projection Movie");
+        assertThat(rows.getFirst().duration()).isEqualTo(Duration.ofMinutes(95));
+        assertThat(rows.getFirst().freeSeats()).isEqualTo(25);
+        assertThat(entityManager.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
     }
 
     @Test
-    void shouldNotReturnMoviesWithoutScreeningsInRange() {
+    void shouldStreamRowsOfAllDaysInRangeGroupedByMovie() {
         // given
-        LocalDate targetDate = LocalDate.now().plusDays(1);
-        LocalDateTime from = targetDate.atStartOfDay();
-        LocalDateTime to = targetDate.plusDays(1).atStartOfDay();
+        LocalDateTime from = LocalDate.now().plusDays(10).atStartOfDay();
+        LocalDateTime to = from.plusDays(3);
 
         Room room = Room.builder().roomNumber(uniqueRoomNumber()).rowCount(5).columnCount(5).build();
-        Movie movie = Movie.builder()
-                .title("Out of Range Movie")
-                .description("This won't match")
-                .image("image.jpg")
-                .build();
-
+        Movie zulu = Movie.builder().title("Zulu Range").description("z").image("z.jpg").build();
+        Movie alpha = Movie.builder().title("Alpha Range").description("a").image("a.jpg").build();
         entityManager.persist(room);
-        entityManager.persist(movie);
-        entityManager.flush();
-
-        Screening screening = Screening.builder()
-                .startTime(from.minusDays(2)) // poza zakresem
-                .duration(Duration.ofMinutes(90))
-                .room(room)
-                .movie(movie)
-                .build();
-
-        movie.getScreenings().add(screening);
-        room.getScreenings().add(screening);
-
-        entityManager.persist(screening);
+        entityManager.persist(zulu);
+        entityManager.persist(alpha);
+        for (int day = 0; day < 4; day++) {
+            entityManager.persist(Screening.builder().startTime(from.plusDays(day).plusHours(12)).duration(Duration.ofMinutes(90))
+                    .room(room).movie(day % 2 == 0 ? zulu : alpha).build());
+        }
         entityManager.flush();
         entityManager.clear();
 
         // when
-        List<Movie> result = movieRepository.findDistinctByScreeningsStartTimeBetween(from, to);
-
-        // then
-        assertThat(result).isEmpty();
-    }
-
-    @Test
-    void shouldReturnMovieWithOnlySomeScreeningsInRange() {
-        LocalDateTime now = LocalDateTime.now();
-        LocalDateTime from = now.plusDays(1).toLocalDate().atStartOfDay();
-        LocalDateTime to = from.plusDays(1);
-
-        Room room = Room.builder().rowCount(10).roomNumber(uniqueRoomNumber()).columnCount(10).build();
-        Movie movie = Movie.builder()
-                .title("Partial Range Movie")
-                .description("Only one screening matches")
-                .image("image.jpg")
-                .build();
-
-        entityManager.persist(room);
-        entityManager.persist(movie);
-        entityManager.flush();
-
-        Screening s1 = Screening.builder()
-                .startTime(from.plusHours(3)) // w zakresie
-                .duration(Duration.ofMinutes(120))
-                .room(room)
-                .movie(movie)
-                .build();
-
-        Screening s2 = Screening.builder()
-                .startTime(now.minusDays(2)) // poza zakresem
-                .duration(Duration.ofMinutes(90))
-                .room(room)
-                .movie(movie)
-                .build();
-
-        movie.getScreenings().add(s1);
-        movie.getScreenings().add(s2);
-        room.getScreenings().add(s1);
-        room.getScreenings().add(s2);
-
-        entityManager.persist(s1);
-        entityManager.persist(s2);
-        entityManager.flush();
-        entityManager.clear();
-
-        List<Movie> result = movieRepository.findDistinctByScreeningsStartTimeBetween(from, to);
-
-        assertThat(result).hasSize(1);
-        assertThat(result.getFirst().getTitle()).isEqualTo("Partial Range Movie");
-    }
-
-    @Test
-    void shouldReturnMultipleMoviesWithScreeningsInRange() {
-        LocalDateTime from = LocalDate.now().plusDays(1).atStartOfDay();
-        LocalDateTime to = from.plusDays(1);
-
-        Room room = Room.builder().roomNumber(uniqueRoomNumber()).rowCount(5).columnCount(5).build();
-        entityManager.persist(room);
-
-        for (int i = 1; i <= 3; i++) {
-            Movie movie = Movie.builder()
-                    .title("Movie " + i)
-                    .description("Desc " + i)
-                    .image("img" + i + ".jpg")
-                    .build();
-
-            entityManager.persist(movie);
-            entityManager.flush();
-
-            Screening screening = Screening.builder()
-                    .startTime(from.plusHours(i)) // wszystkie w zakresie
-                    .duration(Duration.ofMinutes(100 + i))
-                    .room(room)
-                    .movie(movie)
-                    .build();
-
-            movie.getScreenings().add(screening);
-            room.getScreenings().add(screening);
-
-            entityManager.persist(screening);
+        List<RepertoireRow> rows;
+        try (Stream<RepertoireRow> stream = movieRepository.streamRepertoireRows(from, to)) {
+            rows = stream.toList();
         }
 
-        entityManager.flush();
-        entityManager.clear();
-
-        List<Movie> movies = movieRepository.findDistinctByScreeningsStartTimeBetween(from, to);
-        assertThat(movies).hasSize(3);
-    }
-
-    @Test
-    void shouldNotReturnMovieWithoutAnyScreenings() {
-        Movie movie = Movie.builder()
-                .title("No Screening Movie")
-                .description("No screenings at all")
-                .image("no.jpg")
-                .build();
-
-        entityManager.persist(movie);
-        entityManager.flush();
-        entityManager.clear();
-
-        LocalDateTime from = LocalDate.now().plusDays(1).atStartOfDay();
-        LocalDateTime to = from.plusDays(1);
-
-        List<Movie> movies = movieRepository.findDistinctByScreeningsStartTimeBetween(from, to);
-        assertThat(movies).isEmpty();
+        // then – czwarty dzień jest już poza przedziałem
+        assertThat(rows).extracting(RepertoireRow::title).containsExactly("Alpha Range", "Zulu Range", "Zulu Range");
+        assertThat(rows).extracting(RepertoireRow::startTime)
+                .containsExactly(from.plusDays(1).plusHours(12), from.plusHours(12), from.plusDays(2).plusHours(12));
     }
 
     private String uniqueRoomNumber() {
@@ -0,0 +1,165 @@
+package com.psiw.proj.backend.repository;
+
+import com.psiw.proj.backend.entity.*;
+import com.psiw.proj.backend.exceptions.custom.SeatsAlreadyTakenException;
+import com.psiw.proj.backend.service.implementation.NativeSeatClaimStrategy;
+import com.psiw.proj.backend.utils.enums.TicketStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Wykonuje natywne zapytanie zajmowania miejsc na H2 w trybie PostgreSQL – domyślny tryb H2
+ * nie zna ON CONFLICT, a w pozostałych testach strategia przechodzi na JPA.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:native-claim;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password="
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class NativeSeatClaimTest {
+
+    @Autowired
+    private TicketSeatRepository ticketSeatRepository;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private NativeSeatClaimStrategy strategy;
+    private Room room;
+    private Screening screening;
+
+    @BeforeEach
+    void setUp() {
+        strategy = new NativeSeatClaimStrategy(ticketSeatRepository);
+        room = Room.builder().roomNumber("N-" + System.nanoTime()).rowCount(8).columnCount(8).build();
+        entityManager.persist(room);
+        Movie movie = Movie.builder().title("Film").description("Opis").image("img.jpg").build();
+        entityManager.persist(movie);
+        screening = Screening.builder()
+                .movie(movie)
+                .room(room)
+                .startTime(LocalDateTime.of(2025, 6, 5, 18, 0))
+                .duration(Duration.ofMinutes(90))
+                .build();
+        entityManager.persist(screening);
+    }
+
+    @Test
+    void shouldClaimSeatsAndLinkThemToTicket() {
+        // given
+        Seat seat1 = createSeat(room, 1, 1);
+        Seat seat2 = createSeat(room, 1, 2);
+        Ticket ticket = createTicket();
+
+        // when
+        strategy.claim(ticket, screening, List.of(seat2, seat1));
+
+        // then
+        assertThat(ticket.getTicketSeats()).hasSize(2);
+        entityManager.flush();
+        entityManager.clear();
+        assertThat(ticketSeatRepository.findTakenSeatIds(screening.getId())).containsExactlyInAnyOrder(seat1.getId(), seat2.getId());
+        assertThat(ticketRepository.findAllByScreeningId(screening.getId()).getFirst().getTicketSeats())
+                .extracting(ts -> ts.getSeat().getId())
+                .containsExactlyInAnyOrder(seat1.getId(), seat2.getId());
+    }
+
+    @Test
+    void shouldShareIdBlocksWithPooledGenerator() {
+        // given – więcej miejsc niż jedna pula identyfikatorów
+        List<Seat> seats = IntStream.rangeClosed(1, 60)
+                .mapToObj(i -> createSeat(room, (i - 1) / 8 + 1, (i - 1) % 8 + 1))
+                .toList();
+        Seat jpaSeat = createSeat(room, 8, 5);
+        Ticket ticket = createTicket();
+
+        // when
+        strategy.claim(ticket, screening, seats);
+        TicketSeat viaJpa = ticketSeatRepository.saveAndFlush(TicketSeat.builder()
+                .ticket(createTicket())
+                .seat(jpaSeat)
+                .screening(screening)
+                .build());
+        long nativeBlock = ticketSeatRepository.nextIdBlock();
+
+        // then – identyfikatory z natywnego zapytania i z generatora się nie nakładają
+        List<Long> nativeIds = ticket.getTicketSeats().stream().map(TicketSeat::getId).toList();
+        assertThat(nativeIds).hasSize(60).doesNotHaveDuplicates().doesNotContain(viaJpa.getId());
+        assertThat(nativeIds).allMatch(id -> id > 0 && id < nativeBlock - TicketSeat.ID_ALLOCATION_SIZE + 1);
+        assertThat(ticketSeatRepository.findTakenSeatIds(screening.getId())).hasSize(61);
+    }
+
+    @Test
+    void shouldReportSeatTakenInDatabase() {
+        // given
+        Seat free = createSeat(room, 2, 1);
+        Seat taken = createSeat(room, 2, 2);
+        entityManager.persist(TicketSeat.builder().ticket(createTicket()).seat(taken).screening(screening).build());
+        Ticket ticket = createTicket();
+
+        // when / then
+        assertThatThrownBy(() -> strategy.claim(ticket, screening, List.of(free, taken)))
+                .isInstanceOf(SeatsAlreadyTakenException.class)
+                .hasMessage("Seats already taken: [" + taken.getId() + "]");
+    }
+
+    @Test
+    void shouldNotClaimSeatFromAnotherRoom() {
+        // given
+        Room otherRoom = Room.builder().roomNumber("O-" + System.nanoTime()).rowCount(2).columnCount(2).build();
+        entityManager.persist(otherRoom);
+        Seat own = createSeat(room, 3, 1);
+        Seat foreign = createSeat(otherRoom, 1, 1);
+        Ticket ticket = createTicket();
+
+        // when / then
+        assertThatThrownBy(() -> strategy.claim(ticket, screening, List.of(own, foreign)))
+                .isInstanceOf(SeatsAlreadyTakenException.class)
+                .hasMessageContaining(String.valueOf(foreign.getId()));
+    }
+
+    private Ticket createTicket() {
+        Ticket ticket = Ticket.builder()
+                .screening(screening)
+                .status(TicketStatus.WAITING_FOR_ACTIVATION)
+                .ownerEmail("test@gmail.com")
+                .ownerName("John")
+                .ownerSurname("Doe")
+                .ticketPrice(BigDecimal.TEN)
+                .build();
+        return ticketRepository.save(ticket);
+    }
+
+    private Seat createSeat(Room seatRoom, int row, int col) {
+        Seat seat = Seat.builder()
+                .room(seatRoom)
+                .rowNumber(row)
+                .columnNumber(col)
+                .seatNumber((row - 1) * 8 + col)
+                .seatPrice(BigDecimal.TEN)
+                .build();
+        entityManager.persist(seat);
+        return seat;
+    }
+}
@@ -4,6 +4,9 @@ import com.psiw.proj.backend.entity.Movie;
 import com.psiw.proj.backend.entity.Room;
 import com.psiw.proj.backend.entity.Screening;
 import com.psiw.proj.backend.entity.Seat;
+import com.psiw.proj.backend.entity.Ticket;
+import com.psiw.proj.backend.entity.TicketSeat;
+import com.psiw.proj.backend.utils.enums.TicketStatus;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import org.junit.jupiter.api.Test;
@@ -88,6 +91,44 @@ class ScreeningRepositoryTest {
         assertThat(fetched.getRoom().getSeats()).hasSize(4); // 2x2 = 4 miejsca
     }
 
+    @Test
+    void shouldIncrementAndRecountReservedSeats() {
+        // given
+        Room room = Room.builder().rowCount(2).roomNumber("R-count").columnCount(2).build();
+        entityManager.persist(room);
+        Seat seat = Seat.builder().rowNumber(1).columnNumber(1).seatNumber(1).seatPrice(BigDecimal.TEN).room(room).build();
+        entityManager.persist(seat);
+        Movie movie = Movie.builder().title("Counter").description("...").image("c.jpg").build();
+        entityManager.persist(movie);
+        Screening screening = Screening.builder()
+                .startTime(LocalDateTime.now().plusDays(1))
+                .duration(Duration.ofMinutes(100))
+                .room(room)
+                .movie(movie)
+                .build();
+        entityManager.persist(screening);
+        Ticket ticket = Ticket.builder().screening(screening).ticketPrice(BigDecimal.TEN)
+                .ownerName("A").ownerSurname("B").ownerEmail("a@b.com").status(TicketStatus.VALID).build();
+        entityManager.persist(ticket);
+        entityManager.persist(TicketSeat.builder().ticket(ticket).seat(seat).screening(screening).build());
+        entityManager.flush();
+
+        // when
+        screeningRepository.addReservedSeats(screening.getId(), 3);
+        entityManager.clear();
+        int afterIncrement = screeningRepository.findById(screening.getId()).orElseThrow().getReservedSeats();
+
+        int recounted = screeningRepository.recountReservedSeats();
+        entityManager.clear();
+        int afterRecount = screeningRepository.findById(screening.getId()).orElseThrow().getReservedSeats();
+
+        // then – przeliczenie wraca do faktycznej liczby wierszy ticket_seat
+        assertThat(afterIncrement).isEqualTo(3);
+        assertThat(recounted).isEqualTo(1);
+        assertThat(afterRecount).isEqualTo(1);
+        assertThat(screeningRepository.recountReservedSeats()).isZero();
+    }
+
     @Test
     void shouldReturnEmptyIfScreeningDoesNotExist() {
         // when
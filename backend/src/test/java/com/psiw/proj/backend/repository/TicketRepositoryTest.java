@@ -1,6 +1,7 @@
 package com.psiw.proj.backend.repository;
 
 import com.psiw.proj.backend.entity.*;
+import com.psiw.proj.backend.repository.projections.TicketIndexRow;
 import com.psiw.proj.backend.utils.enums.TicketStatus;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
@@ -118,6 +119,78 @@ class TicketRepositoryTest {
         assertThat(tickets).isEmpty();
     }
 
+    @Test
+    void shouldLoadIndexRowsOnlyForScreeningsInWindowAndUpdateStatusConditionally() {
+        // given
+        Room room = Room.builder().roomNumber("I1").rowCount(3).columnCount(3).build();
+        entityManager.persist(room);
+
+        Seat seat1 = createSeat(room, 1, 1);
+        Seat seat2 = createSeat(room, 2, 2);
+        entityManager.persist(seat1);
+        entityManager.persist(seat2);
+
+        Movie movie = Movie.builder()
+                .title("Indexed")
+                .description("desc")
+                .image("img3.jpg")
+                .build();
+        entityManager.persist(movie);
+
+        LocalDateTime now = LocalDateTime.of(2025, 6, 5, 12, 0);
+        Screening soon = Screening.builder()
+                .movie(movie)
+                .room(room)
+                .startTime(now.plusHours(1))
+                .duration(Duration.ofMinutes(90))
+                .build();
+        Screening later = Screening.builder()
+                .movie(movie)
+                .room(room)
+                .startTime(now.plusDays(2))
+                .duration(Duration.ofMinutes(90))
+                .build();
+        entityManager.persist(soon);
+        entityManager.persist(later);
+
+        Ticket ticket = createTicket(soon);
+        Ticket laterTicket = createTicket(later);
+        entityManager.persist(ticket);
+        entityManager.persist(laterTicket);
+        entityManager.persist(createTicketSeat(ticket, seat2, soon));
+        entityManager.persist(createTicketSeat(ticket, seat1, soon));
+        entityManager.persist(createTicketSeat(laterTicket, seat1, later));
+        entityManager.flush();
+        entityManager.clear();
+
+        // when
+        List<TicketIndexRow> rows = ticketRepository.findIndexRowsStartingBetween(now, now.plusHours(6));
+        int scanned = ticketRepository.updateStatus(ticket.getTicketNumber(), TicketStatus.VALID, TicketStatus.USED);
+        int scannedAgain = ticketRepository.updateStatus(ticket.getTicketNumber(), TicketStatus.VALID, TicketStatus.USED);
+
+        // then
+        assertThat(rows).extracting(TicketIndexRow::ticketNumber).containsOnly(ticket.getTicketNumber());
+        assertThat(rows).extracting(TicketIndexRow::seatNumber).containsExactly(1, 2);
+        assertThat(rows.getFirst().movieTitle()).isEqualTo("Indexed");
+        assertThat(rows.getFirst().duration()).isEqualTo(Duration.ofMinutes(90));
+        assertThat(scanned).isEqualTo(1);
+        assertThat(scannedAgain).isZero();
+        assertThat(ticketRepository.findIndexRows(ticket.getTicketNumber()))
+                .extracting(TicketIndexRow::status)
+                .containsOnly(TicketStatus.USED);
+    }
+
+    private Ticket createTicket(Screening screening) {
+        return Ticket.builder()
+                .screening(screening)
+                .status(TicketStatus.VALID)
+                .ownerEmail("test@gmail.com")
+                .ownerName("John")
+                .ownerSurname("Doe")
+                .ticketPrice(BigDecimal.TEN)
+                .build();
+    }
+
     private Seat createSeat(Room room, int col, int seatNumber) {
         return Seat.builder()
                 .room(room)
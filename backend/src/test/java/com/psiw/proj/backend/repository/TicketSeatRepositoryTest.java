@@ -16,6 +16,7 @@ import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -198,6 +199,123 @@ class TicketSeatRepositoryTest {
         assertThat(takenSeatIds).containsExactlyInAnyOrder(seat1.getId(), seat2.getId());
     }
 
+    @Test
+    void shouldReturnPositionsOfTakenSeatsInRoom() {
+        // given
+        Room room = roomRepository.save(Room.builder()
+                .roomNumber(uniqueRoomNumber())
+                .rowCount(4)
+                .columnCount(5)
+                .build());
+
+        Seat seat1 = seatRepository.save(Seat.builder()
+                .rowNumber(1)
+                .columnNumber(1)
+                .seatNumber(1)
+                .seatPrice(BigDecimal.valueOf(12.5))
+                .room(room)
+                .build());
+        Seat seat2 = seatRepository.save(Seat.builder()
+                .rowNumber(3)
+                .columnNumber(2)
+                .seatNumber(12)
+                .seatPrice(BigDecimal.valueOf(12.5))
+                .room(room)
+                .build());
+
+        Movie movie = movieRepository.save(Movie.builder()
+                .title("Positions")
+                .description("...")
+                .image("poster.jpg")
+                .build());
+
+        Screening screening = screeningRepository.save(Screening.builder()
+                .movie(movie)
+                .room(room)
+                .startTime(LocalDateTime.now().plusDays(1))
+                .duration(Duration.ofMinutes(120))
+                .build());
+
+        Ticket ticket = ticketRepository.save(Ticket.builder()
+                .screening(screening)
+                .ticketPrice(BigDecimal.valueOf(10.0))
+                .ownerName("Alice")
+                .ownerSurname("Wonderland")
+                .ownerEmail("alice@example.com")
+                .status(TicketStatus.VALID)
+                .build());
+
+        ticketSeatRepository.saveAll(List.of(
+                TicketSeat.builder().screening(screening).seat(seat1).ticket(ticket).build(),
+                TicketSeat.builder().screening(screening).seat(seat2).ticket(ticket).build()
+        ));
+
+        entityManager.flush();
+        entityManager.clear();
+
+        // when
+        List<Integer> positions = ticketSeatRepository.findTakenSeatPositions(screening.getId());
+
+        // then – (rząd - 1) * 5 + (kolumna - 1)
+        assertThat(positions).containsExactlyInAnyOrder(0, 11);
+    }
+
+    @Test
+    void shouldAssignIdsFromSequenceBeforeFlushSoInsertsCanBeBatched() {
+        // given
+        Room room = roomRepository.save(Room.builder()
+                .roomNumber(uniqueRoomNumber())
+                .rowCount(2)
+                .columnCount(5)
+                .build());
+
+        List<Seat> seats = seatRepository.saveAll(IntStream.rangeClosed(1, 10)
+                .mapToObj(i -> Seat.builder()
+                        .rowNumber((i - 1) / 5 + 1)
+                        .columnNumber((i - 1) % 5 + 1)
+                        .seatNumber(i)
+                        .seatPrice(BigDecimal.valueOf(12.5))
+                        .room(room)
+                        .build())
+                .toList());
+
+        Movie movie = movieRepository.save(Movie.builder()
+                .title("Group")
+                .description("...")
+                .image("poster.jpg")
+                .build());
+
+        Screening screening = screeningRepository.save(Screening.builder()
+                .movie(movie)
+                .room(room)
+                .startTime(LocalDateTime.now().plusDays(1))
+                .duration(Duration.ofMinutes(120))
+                .build());
+
+        Ticket ticket = ticketRepository.save(Ticket.builder()
+                .screening(screening)
+                .ticketPrice(BigDecimal.valueOf(125.0))
+                .ownerName("Alice")
+                .ownerSurname("Wonderland")
+                .ownerEmail("alice@example.com")
+                .status(TicketStatus.VALID)
+                .build());
+
+        // when – identyfikatory pochodzą z sekwencji, więc INSERT-y czekają na flush
+        List<TicketSeat> links = ticketSeatRepository.saveAll(seats.stream()
+                .map(seat -> TicketSeat.builder().screening(screening).seat(seat).ticket(ticket).build())
+                .toList());
+
+        // then
+        assertThat(links).extracting(TicketSeat::getId).doesNotContainNull().doesNotHaveDuplicates();
+
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(ticketSeatRepository.findTakenSeatIds(screening.getId()))
+                .containsExactlyInAnyOrderElementsOf(seats.stream().map(Seat::getId).toList());
+    }
+
     @Test
     void shouldReturnEmptySetIfNoTicketsForScreening() {
         // given
@@ -0,0 +1,251 @@
+package com.psiw.proj.backend.service;
+
+import com.psiw.proj.backend.exceptions.custom.CheckoutNotFoundException;
+import com.psiw.proj.backend.exceptions.custom.SeatHoldNotFoundException;
+import com.psiw.proj.backend.exceptions.custom.SeatsAlreadyTakenException;
+import com.psiw.proj.backend.service.implementation.CheckoutServiceImpl;
+import com.psiw.proj.backend.service.interfaces.PaymentSimulatorService;
+import com.psiw.proj.backend.service.interfaces.SeatHoldService;
+import com.psiw.proj.backend.utils.concurrency.CircuitBreaker;
+import com.psiw.proj.backend.utils.enums.CheckoutStatus;
+import com.psiw.proj.backend.utils.enums.PaymentFailureType;
+import com.psiw.proj.backend.utils.requestDto.CheckoutRequest;
+import com.psiw.proj.backend.utils.requestDto.HoldConfirmationRequest;
+import com.psiw.proj.backend.utils.requestDto.PaymentRequest;
+import com.psiw.proj.backend.utils.requestDto.SeatHoldRequest;
+import com.psiw.proj.backend.utils.responseDto.CheckoutResponse;
+import com.psiw.proj.backend.utils.responseDto.PaymentResponse;
+import com.psiw.proj.backend.utils.responseDto.SeatHoldResponse;
+import com.psiw.proj.backend.utils.responseDto.TicketResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CheckoutServiceImplTest {
+
+    @Mock
+    private SeatHoldService seatHoldService;
+
+    @Mock
+    private PaymentSimulatorService paymentSimulatorService;
+
+    private final UUID holdId = UUID.randomUUID();
+    private final PaymentRequest payment = new PaymentRequest(1L, new BigDecimal("50.00"), "CARD");
+    private final CheckoutRequest request = new CheckoutRequest(1L, List.of(10L, 11L), "a@b.com", "John", "Doe", payment);
+    private final TicketResponse ticket = TicketResponse.builder().ticketId(UUID.randomUUID()).seatNumbers(List.of(1, 2)).build();
+
+    private CheckoutServiceImpl checkoutService;
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(Instant.parse("2025-06-05T12:00:00Z"), ZoneOffset.UTC);
+        checkoutService = new CheckoutServiceImpl(seatHoldService, paymentSimulatorService, clock,
+                3, Duration.ofMillis(1), Duration.ofMillis(2), Duration.ofSeconds(1),
+                2, Duration.ofSeconds(10), Duration.ofMinutes(30), 100, Duration.ofMinutes(1));
+        lenient().when(seatHoldService.hold(new SeatHoldRequest(1L, List.of(10L, 11L)))).thenReturn(SeatHoldResponse.builder()
+                .holdId(holdId)
+                .screeningId(1L)
+                .seatIds(List.of(10L, 11L))
+                .expiresAt(LocalDateTime.parse("2025-06-05T12:10:00"))
+                .build());
+    }
+
+    @Test
+    void shouldRetryTransientFailureAndConfirmReservation() {
+        // given
+        when(paymentSimulatorService.process(payment))
+                .thenReturn(failed(PaymentFailureType.UNAVAILABLE))
+                .thenReturn(succeeded("Payment succeeded."));
+        when(seatHoldService.confirm(eq(holdId), any(HoldConfirmationRequest.class))).thenReturn(ticket);
+
+        // when
+        CheckoutResponse accepted = checkoutService.start(request);
+        CheckoutResponse finished = awaitTerminal(accepted.checkoutId());
+
+        // then
+        assertThat(accepted.status()).isEqualTo(CheckoutStatus.PAYMENT_PENDING);
+        assertThat(finished.status()).isEqualTo(CheckoutStatus.CONFIRMED);
+        assertThat(finished.ticket()).isEqualTo(ticket);
+        assertThat(finished.paymentAttempts()).isEqualTo(2);
+        verify(seatHoldService).confirm(holdId, new HoldConfirmationRequest("a@b.com", "John", "Doe"));
+    }
+
+    @Test
+    void shouldNotRetryDeclinedPaymentAndReleaseHold() {
+        // given
+        when(paymentSimulatorService.process(payment)).thenReturn(failed(PaymentFailureType.DECLINED));
+
+        // when
+        CheckoutResponse finished = awaitTerminal(checkoutService.start(request).checkoutId());
+
+        // then
+        assertThat(finished.status()).isEqualTo(CheckoutStatus.PAYMENT_FAILED);
+        assertThat(finished.paymentAttempts()).isEqualTo(1);
+        verify(seatHoldService).release(holdId);
+        verify(seatHoldService, never()).confirm(any(), any());
+    }
+
+    @Test
+    void shouldOpenCircuitAndGiveUpAfterMaxAttempts() {
+        // given
+        when(paymentSimulatorService.process(payment)).thenReturn(failed(PaymentFailureType.UNAVAILABLE));
+        doThrow(new SeatHoldNotFoundException("expired")).when(seatHoldService).release(holdId);
+
+        // when
+        CheckoutResponse finished = awaitTerminal(checkoutService.start(request).checkoutId());
+
+        // then
+        assertThat(finished.status()).isEqualTo(CheckoutStatus.PAYMENT_FAILED);
+        assertThat(finished.paymentAttempts()).isEqualTo(2);
+        assertThat(finished.message()).isEqualTo("Payment gateway unavailable.");
+        assertThat(checkoutService.paymentCircuitState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void shouldRefundPaymentWhenConfirmationFails() {
+        // given
+        when(paymentSimulatorService.process(payment)).thenReturn(succeeded("Payment succeeded."));
+        when(seatHoldService.confirm(eq(holdId), any(HoldConfirmationRequest.class)))
+                .thenThrow(new SeatHoldNotFoundException("Seat hold expired: " + holdId));
+        when(paymentSimulatorService.refund(payment)).thenReturn(succeeded("Payment refunded."));
+
+        // when
+        CheckoutResponse finished = awaitTerminal(checkoutService.start(request).checkoutId());
+
+        // then
+        assertThat(finished.status()).isEqualTo(CheckoutStatus.REFUNDED);
+        assertThat(finished.message()).contains("expired").contains("refunded");
+        verify(paymentSimulatorService).refund(payment);
+    }
+
+    @Test
+    void shouldReportFailureWhenRefundIsNotAccepted() {
+        // given
+        when(paymentSimulatorService.process(payment)).thenReturn(succeeded("Payment succeeded."));
+        when(seatHoldService.confirm(eq(holdId), any(HoldConfirmationRequest.class)))
+                .thenThrow(new SeatHoldNotFoundException("Seat hold expired: " + holdId));
+        when(paymentSimulatorService.refund(payment)).thenReturn(failed(PaymentFailureType.UNAVAILABLE));
+
+        // when
+        CheckoutResponse finished = awaitTerminal(checkoutService.start(request).checkoutId());
+
+        // then
+        assertThat(finished.status()).isEqualTo(CheckoutStatus.FAILED);
+        assertThat(finished.message()).contains("Refund pending");
+        verify(paymentSimulatorService, times(3)).refund(payment);
+    }
+
+    @Test
+    void shouldRefundInsteadOfRetryingWhenGatewayAnswersAfterTimeout() {
+        // given – bramka pobiera pieniądze, ale odpowiada dopiero po limicie próby (1 s)
+        when(paymentSimulatorService.process(payment)).thenReturn(CompletableFuture.supplyAsync(
+                () -> PaymentResponse.builder().success(true).message("Payment succeeded.").build(),
+                CompletableFuture.delayedExecutor(1500, TimeUnit.MILLISECONDS)));
+        when(paymentSimulatorService.refund(payment)).thenReturn(succeeded("Payment refunded."));
+
+        // when
+        CheckoutResponse finished = awaitTerminal(checkoutService.start(request).checkoutId());
+
+        // then
+        assertThat(finished.status()).isEqualTo(CheckoutStatus.REFUNDED);
+        assertThat(finished.paymentAttempts()).isEqualTo(1);
+        assertThat(finished.message()).contains("did not answer in time").contains("refunded");
+        verify(paymentSimulatorService, times(1)).process(payment);
+        verify(paymentSimulatorService).refund(payment);
+        verify(seatHoldService).release(holdId);
+        verify(seatHoldService, never()).confirm(any(), any());
+    }
+
+    @Test
+    void shouldNotChargeWhenHoldExpiresBeforePaymentWindow() {
+        // given – trzy próby po (1 s + 2 ms) nie zmieszczą się w 2 sekundach blokady
+        when(seatHoldService.hold(any())).thenReturn(SeatHoldResponse.builder()
+                .holdId(holdId)
+                .screeningId(1L)
+                .seatIds(List.of(10L, 11L))
+                .expiresAt(LocalDateTime.parse("2025-06-05T12:00:02"))
+                .build());
+
+        // when
+        CheckoutResponse finished = awaitTerminal(checkoutService.start(request).checkoutId());
+
+        // then
+        assertThat(finished.status()).isEqualTo(CheckoutStatus.PAYMENT_FAILED);
+        verify(seatHoldService).release(holdId);
+        verifyNoInteractions(paymentSimulatorService);
+    }
+
+    @Test
+    void shouldPropagateSeatConflictSynchronously() {
+        // given
+        when(seatHoldService.hold(any())).thenThrow(new SeatsAlreadyTakenException("Seats already taken"));
+
+        // when & then
+        assertThatThrownBy(() -> checkoutService.start(request)).isInstanceOf(SeatsAlreadyTakenException.class);
+        verifyNoInteractions(paymentSimulatorService);
+    }
+
+    @Test
+    void shouldKeepInFlightCheckoutsBeyondCacheCapacity() {
+        // given – pojemność 1, a dwa zakupy czekają na bramkę
+        Clock clock = Clock.fixed(Instant.parse("2025-06-05T12:00:00Z"), ZoneOffset.UTC);
+        CheckoutServiceImpl smallService = new CheckoutServiceImpl(seatHoldService, paymentSimulatorService, clock,
+                3, Duration.ofMillis(1), Duration.ofMillis(2), Duration.ofSeconds(1),
+                2, Duration.ofSeconds(10), Duration.ofMinutes(30), 1, Duration.ofMinutes(1));
+        CompletableFuture<PaymentResponse> gateway = new CompletableFuture<>();
+        when(paymentSimulatorService.process(payment)).thenReturn(gateway);
+
+        // when
+        UUID first = smallService.start(request).checkoutId();
+        UUID second = smallService.start(request).checkoutId();
+
+        // then
+        assertThat(smallService.get(first).status()).isEqualTo(CheckoutStatus.PAYMENT_PENDING);
+        assertThat(smallService.get(second).status()).isEqualTo(CheckoutStatus.PAYMENT_PENDING);
+        gateway.complete(PaymentResponse.builder().success(false).message("Payment failed.").failure(PaymentFailureType.DECLINED).build());
+    }
+
+    @Test
+    void shouldThrowForUnknownCheckout() {
+        // when & then
+        assertThatThrownBy(() -> checkoutService.get(UUID.randomUUID())).isInstanceOf(CheckoutNotFoundException.class);
+    }
+
+    private static CompletableFuture<PaymentResponse> succeeded(String message) {
+        return CompletableFuture.completedFuture(PaymentResponse.builder().success(true).message(message).build());
+    }
+
+    private static CompletableFuture<PaymentResponse> failed(PaymentFailureType type) {
+        return CompletableFuture.completedFuture(PaymentResponse.builder().success(false).message("Payment failed.").failure(type).build());
+    }
+
+    private CheckoutResponse awaitTerminal(UUID checkoutId) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        CheckoutResponse response = checkoutService.get(checkoutId);
+        while (!response.status().isTerminal() && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+            response = checkoutService.get(checkoutId);
+        }
+        return response;
+    }
+}
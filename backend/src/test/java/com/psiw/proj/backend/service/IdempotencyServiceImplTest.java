@@ -0,0 +1,124 @@
+package com.psiw.proj.backend.service;
+
+import com.psiw.proj.backend.exceptions.custom.IdempotencyKeyReuseException;
+import com.psiw.proj.backend.service.implementation.IdempotencyServiceImpl;
+import com.psiw.proj.backend.utils.requestDto.ReservationRequest;
+import com.psiw.proj.backend.utils.responseDto.TicketResponse;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IdempotencyServiceImplTest {
+
+    private final Clock clock = Clock.fixed(Instant.parse("2025-06-05T12:00:00Z"), ZoneOffset.UTC);
+    private final IdempotencyServiceImpl idempotencyService = new IdempotencyServiceImpl(clock, Duration.ofHours(24), 100);
+
+    private final ReservationRequest request = new ReservationRequest(1L, List.of(10L, 11L), "a@b.com", "John", "Doe");
+    private final TicketResponse ticket = TicketResponse.builder().ticketId(UUID.randomUUID()).seatNumbers(List.of(1, 2)).build();
+
+    @Test
+    void shouldReplayStoredResponseForSameKeyAndRequest() {
+        // given
+        AtomicInteger calls = new AtomicInteger();
+
+        // when
+        TicketResponse first = idempotencyService.execute("key-1", request, () -> {
+            calls.incrementAndGet();
+            return ticket;
+        });
+        TicketResponse second = idempotencyService.execute("key-1", request, () -> {
+            calls.incrementAndGet();
+            return TicketResponse.builder().ticketId(UUID.randomUUID()).build();
+        });
+
+        // then
+        assertThat(second).isSameAs(first);
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void shouldRejectKeyReusedWithDifferentRequest() {
+        // given
+        idempotencyService.execute("key-1", request, () -> ticket);
+        ReservationRequest other = new ReservationRequest(1L, List.of(12L), "a@b.com", "John", "Doe");
+
+        // when & then
+        assertThatThrownBy(() -> idempotencyService.execute("key-1", other, () -> ticket))
+                .isInstanceOf(IdempotencyKeyReuseException.class);
+    }
+
+    @Test
+    void shouldNotRememberFailures() {
+        // given
+        assertThatThrownBy(() -> idempotencyService.execute("key-1", request, () -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class);
+
+        // when
+        TicketResponse retried = idempotencyService.execute("key-1", request, () -> ticket);
+
+        // then
+        assertThat(retried).isSameAs(ticket);
+    }
+
+    @Test
+    void shouldRejectBlankKey() {
+        // when & then
+        assertThatThrownBy(() -> idempotencyService.execute(" ", request, () -> ticket))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldRunConcurrentDuplicatesOnlyOnce() throws Exception {
+        // given
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            // when
+            Future<TicketResponse> first = executor.submit(() -> idempotencyService.execute("key-1", request, () -> {
+                calls.incrementAndGet();
+                started.countDown();
+                await(release);
+                return ticket;
+            }));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+            Future<TicketResponse> duplicate = executor.submit(() -> idempotencyService.execute("key-1", request, () -> {
+                calls.incrementAndGet();
+                return ticket;
+            }));
+            release.countDown();
+
+            // then
+            assertThat(first.get(5, TimeUnit.SECONDS)).isSameAs(ticket);
+            assertThat(duplicate.get(5, TimeUnit.SECONDS)).isSameAs(ticket);
+            assertThat(calls).hasValue(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
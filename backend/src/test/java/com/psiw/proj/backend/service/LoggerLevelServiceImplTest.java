@@ -0,0 +1,81 @@
+package com.psiw.proj.backend.service;
+
+import com.psiw.proj.backend.service.implementation.LoggerLevelServiceImpl;
+import com.psiw.proj.backend.utils.responseDto.LoggerLevelResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggerConfiguration;
+import org.springframework.boot.logging.LoggingSystem;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LoggerLevelServiceImplTest {
+
+    @Mock
+    private LoggingSystem loggingSystem;
+
+    @InjectMocks
+    private LoggerLevelServiceImpl loggerLevelService;
+
+    @Test
+    void shouldSetLevelCaseInsensitively() {
+        // given
+        when(loggingSystem.getLoggerConfiguration("org.hibernate.SQL"))
+                .thenReturn(new LoggerConfiguration("org.hibernate.SQL", LogLevel.DEBUG, LogLevel.DEBUG));
+
+        // when
+        LoggerLevelResponse response = loggerLevelService.setLevel("org.hibernate.SQL", "debug");
+
+        // then
+        verify(loggingSystem).setLogLevel("org.hibernate.SQL", LogLevel.DEBUG);
+        assertThat(response.configuredLevel()).isEqualTo("DEBUG");
+        assertThat(response.effectiveLevel()).isEqualTo("DEBUG");
+    }
+
+    @Test
+    void shouldResetToInheritedLevelWhenLevelMissing() {
+        // given
+        when(loggingSystem.getLoggerConfiguration("org.hibernate.SQL"))
+                .thenReturn(new LoggerConfiguration("org.hibernate.SQL", null, LogLevel.INFO));
+
+        // when
+        LoggerLevelResponse response = loggerLevelService.setLevel("org.hibernate.SQL", null);
+
+        // then
+        verify(loggingSystem).setLogLevel("org.hibernate.SQL", null);
+        assertThat(response.configuredLevel()).isNull();
+        assertThat(response.effectiveLevel()).isEqualTo("INFO");
+    }
+
+    @Test
+    void shouldRejectUnknownLevel() {
+        // when & then
+        assertThatThrownBy(() -> loggerLevelService.setLevel("org.hibernate.SQL", "loud"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Unsupported log level: loud");
+        verify(loggingSystem, never()).setLogLevel(any(), any());
+    }
+
+    @Test
+    void shouldFallBackToRootLevelForUnknownLogger() {
+        // given
+        when(loggingSystem.getLoggerConfiguration("com.example.Missing")).thenReturn(null);
+        when(loggingSystem.getLoggerConfiguration(LoggingSystem.ROOT_LOGGER_NAME))
+                .thenReturn(new LoggerConfiguration(LoggingSystem.ROOT_LOGGER_NAME, LogLevel.WARN, LogLevel.WARN));
+
+        // when
+        LoggerLevelResponse response = loggerLevelService.getLevel("com.example.Missing");
+
+        // then
+        assertThat(response.configuredLevel()).isNull();
+        assertThat(response.effectiveLevel()).isEqualTo("WARN");
+    }
+}
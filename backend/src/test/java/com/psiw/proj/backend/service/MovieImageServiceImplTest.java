@@ -0,0 +1,140 @@
+package com.psiw.proj.backend.service;
+
+import com.psiw.proj.backend.entity.Movie;
+import com.psiw.proj.backend.exceptions.custom.MovieImageNotFoundException;
+import com.psiw.proj.backend.exceptions.custom.MovieNotFoundException;
+import com.psiw.proj.backend.repository.MovieRepository;
+import com.psiw.proj.backend.service.implementation.MovieImageServiceImpl;
+import com.psiw.proj.backend.utils.events.MovieChangedEvent;
+import com.psiw.proj.backend.utils.images.MovieImage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.MediaType;
+import org.springframework.util.unit.DataSize;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MovieImageServiceImplTest {
+
+    @Mock
+    private MovieRepository movieRepository;
+
+    private MovieImageServiceImpl movieImageService;
+
+    @BeforeEach
+    void setUp() {
+        movieImageService = new MovieImageServiceImpl(movieRepository, new DefaultResourceLoader(), "classpath:/static/images/",
+                DataSize.ofMegabytes(1), DataSize.ofKilobytes(100));
+    }
+
+    @Test
+    void shouldResolveImageMetadataOnlyOnce() {
+        // given
+        when(movieRepository.findById(1L)).thenReturn(Optional.of(Movie.builder().id(1L).image("inception.jpg").build()));
+
+        // when
+        MovieImage first = movieImageService.loadImage(1L);
+        MovieImage second = movieImageService.loadImage(1L);
+
+        // then
+        assertThat(second).isSameAs(first);
+        assertThat(first.contentType()).isEqualTo(MediaType.IMAGE_JPEG);
+        assertThat(first.contentLength()).isPositive();
+        assertThat(first.filename()).isEqualTo("inception.jpg");
+        assertThat(first.resource()).isInstanceOf(ByteArrayResource.class);
+        assertThat(first.contentHash()).hasSize(32);
+        verify(movieRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    void shouldVersionImageUrlWithContentHash() {
+        // given
+        when(movieRepository.findById(1L)).thenReturn(Optional.of(Movie.builder().id(1L).image("inception.jpg").build()));
+        when(movieRepository.findById(2L)).thenReturn(Optional.of(Movie.builder().id(2L).image("missing.jpg").build()));
+
+        // when
+        String versioned = movieImageService.versionedImageUrl(1L);
+        String unversioned = movieImageService.versionedImageUrl(2L);
+
+        // then
+        assertThat(versioned).isEqualTo("/psiw/api/v1/open/movies/1/image?v=" + movieImageService.loadImage(1L).contentHash());
+        assertThat(unversioned).isEqualTo("/psiw/api/v1/open/movies/2/image");
+    }
+
+    @Test
+    void shouldKeepContentHashAfterPosterEviction() {
+        // given – cache mieści jeden bajt, więc plakat nie zostaje w pamięci
+        movieImageService = new MovieImageServiceImpl(movieRepository, new DefaultResourceLoader(), "classpath:/static/images/",
+                DataSize.ofBytes(1), DataSize.ofKilobytes(100));
+        when(movieRepository.findById(1L)).thenReturn(Optional.of(Movie.builder().id(1L).image("inception.jpg").build()));
+        String first = movieImageService.versionedImageUrl(1L);
+
+        // when
+        String second = movieImageService.versionedImageUrl(1L);
+
+        // then
+        assertThat(second).isEqualTo(first).contains("?v=");
+        verify(movieRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    void shouldStreamPosterLargerThanPosterLimit() {
+        // given – matrix.jpg ma ok. 270 KB, limit pojedynczego plakatu to 100 KB
+        when(movieRepository.findById(3L)).thenReturn(Optional.of(Movie.builder().id(3L).image("matrix.jpg").build()));
+
+        // when
+        MovieImage image = movieImageService.loadImage(3L);
+
+        // then
+        assertThat(image.resource()).isNotInstanceOf(ByteArrayResource.class);
+        assertThat(image.contentLength()).isGreaterThan(DataSize.ofKilobytes(100).toBytes());
+    }
+
+    @Test
+    void shouldReloadPosterAfterMovieChange() {
+        // given
+        when(movieRepository.findById(1L))
+                .thenReturn(Optional.of(Movie.builder().id(1L).image("inception.jpg").build()))
+                .thenReturn(Optional.of(Movie.builder().id(1L).image("parasite.jpg").build()));
+        movieImageService.loadImage(1L);
+
+        // when
+        movieImageService.onMovieChanged(new MovieChangedEvent(1L));
+        MovieImage reloaded = movieImageService.loadImage(1L);
+
+        // then
+        assertThat(reloaded.filename()).isEqualTo("parasite.jpg");
+        verify(movieRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    void shouldThrowWhenMovieDoesNotExist() {
+        // given
+        when(movieRepository.findById(99L)).thenReturn(Optional.empty());
+
+        // when & then
+        assertThatThrownBy(() -> movieImageService.loadImage(99L))
+                .isInstanceOf(MovieNotFoundException.class);
+    }
+
+    @Test
+    void shouldThrowWhenImageFileIsMissing() {
+        // given
+        when(movieRepository.findById(2L)).thenReturn(Optional.of(Movie.builder().id(2L).image("missing.jpg").build()));
+
+        // when & then
+        assertThatThrownBy(() -> movieImageService.loadImage(2L))
+                .isInstanceOf(MovieImageNotFoundException.class)
+                .hasMessageContaining("missing.jpg");
+    }
+}
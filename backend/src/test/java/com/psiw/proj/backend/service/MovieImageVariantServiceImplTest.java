@@ -0,0 +1,93 @@
+package com.psiw.proj.backend.service;
+
+import com.psiw.proj.backend.repository.MovieRepository;
+import com.psiw.proj.backend.service.implementation.MovieImageVariantServiceImpl;
+import com.psiw.proj.backend.service.interfaces.MovieImageService;
+import com.psiw.proj.backend.utils.enums.ImageFormat;
+import com.psiw.proj.backend.utils.enums.ImageSize;
+import com.psiw.proj.backend.utils.events.MovieChangedEvent;
+import com.psiw.proj.backend.utils.images.ImageResizer;
+import com.psiw.proj.backend.utils.images.MovieImage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.MediaType;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MovieImageVariantServiceImplTest {
+
+    @Mock
+    private MovieImageService movieImageService;
+
+    @Mock
+    private MovieRepository movieRepository;
+
+    @TempDir
+    Path variantsDirectory;
+
+    private MovieImageVariantServiceImpl variantService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        variantService = new MovieImageVariantServiceImpl(movieImageService, movieRepository, variantsDirectory, false);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageResizer.write(new BufferedImage(800, 1200, BufferedImage.TYPE_INT_RGB), ImageFormat.PNG, out);
+        byte[] poster = out.toByteArray();
+        when(movieImageService.loadImage(1L))
+                .thenReturn(new MovieImage(new ByteArrayResource(poster), "poster.png", MediaType.IMAGE_PNG, poster.length,
+                        "0123456789abcdef0123456789abcdef", Instant.parse("2025-06-05T12:00:00Z")));
+    }
+
+    @Test
+    void shouldGenerateThumbnailOnceAndReuseIt() throws IOException {
+        // when
+        MovieImage first = variantService.loadVariant(1L, ImageSize.THUMBNAIL, ImageFormat.JPEG);
+        MovieImage second = variantService.loadVariant(1L, ImageSize.THUMBNAIL, ImageFormat.JPEG);
+
+        // then
+        assertThat(second).isSameAs(first);
+        assertThat(first.contentType()).isEqualTo(MediaType.IMAGE_JPEG);
+        assertThat(first.filename()).isEqualTo("poster.jpg");
+        try (InputStream in = first.resource().getInputStream()) {
+            assertThat(ImageResizer.read(in).getWidth()).isEqualTo(ImageSize.THUMBNAIL.width());
+        }
+        assertThat(variantFiles()).hasSize(1);
+    }
+
+    @Test
+    void shouldDeleteVariantsWhenMovieChanges() throws IOException {
+        // given
+        variantService.loadVariant(1L, ImageSize.THUMBNAIL, ImageFormat.JPEG);
+        variantService.loadVariant(1L, ImageSize.MEDIUM, ImageFormat.PNG);
+
+        // when
+        variantService.onMovieChanged(new MovieChangedEvent(1L));
+
+        // then
+        assertThat(variantFiles()).isEmpty();
+    }
+
+    private List<Path> variantFiles() throws IOException {
+        try (Stream<Path> files = Files.list(variantsDirectory)) {
+            return files.toList();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.psiw.proj.backend.service;
+
+import com.psiw.proj.backend.entity.Screening;
+import com.psiw.proj.backend.entity.Seat;
+import com.psiw.proj.backend.entity.Ticket;
+import com.psiw.proj.backend.exceptions.custom.SeatsAlreadyTakenException;
+import com.psiw.proj.backend.repository.TicketSeatRepository;
+import com.psiw.proj.backend.service.implementation.NativeSeatClaimStrategy;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NativeSeatClaimStrategyTest {
+
+    @Mock
+    private TicketSeatRepository ticketSeatRepository;
+
+    @InjectMocks
+    private NativeSeatClaimStrategy strategy;
+
+    private final Ticket ticket = Ticket.builder().ticketNumber(UUID.randomUUID()).build();
+    private final Screening screening = Screening.builder().id(1L).build();
+    private final List<Seat> seats = List.of(Seat.builder().id(10L).build(), Seat.builder().id(11L).build());
+
+    @Test
+    void shouldFlushTicketBeforeClaimingAllSeats() {
+        // given
+        when(ticketSeatRepository.nextIdBlock()).thenReturn(150L);
+        when(ticketSeatRepository.claimSeats(101L, ticket.getTicketNumber(), 1L, List.of(10L, 11L))).thenReturn(2);
+
+        // when / then
+        assertThatCode(() -> strategy.claim(ticket, screening, seats)).doesNotThrowAnyException();
+        InOrder order = inOrder(ticketSeatRepository);
+        order.verify(ticketSeatRepository).flush();
+        order.verify(ticketSeatRepository).claimSeats(101L, ticket.getTicketNumber(), 1L, List.of(10L, 11L));
+        verify(ticketSeatRepository).getReferenceById(101L);
+        verify(ticketSeatRepository).getReferenceById(102L);
+        verify(ticketSeatRepository, never()).findSeatIdsByTicketNumber(any());
+    }
+
+    @Test
+    void shouldSkipInitialSequenceValueLikePooledOptimizer() {
+        // given – świeża sekwencja zwraca najpierw 1
+        when(ticketSeatRepository.nextIdBlock()).thenReturn(1L, 51L);
+        when(ticketSeatRepository.claimSeats(2L, ticket.getTicketNumber(), 1L, List.of(10L, 11L))).thenReturn(2);
+
+        // when / then
+        assertThatCode(() -> strategy.claim(ticket, screening, seats)).doesNotThrowAnyException();
+    }
+
+    @Test
+    void shouldReportSeatsThatWereNotClaimed() {
+        // given – miejsce 10 zajęte w międzyczasie, ON CONFLICT go pominął
+        when(ticketSeatRepository.nextIdBlock()).thenReturn(150L);
+        when(ticketSeatRepository.claimSeats(101L, ticket.getTicketNumber(), 1L, List.of(10L, 11L))).thenReturn(1);
+        when(ticketSeatRepository.findSeatIdsByTicketNumber(ticket.getTicketNumber())).thenReturn(List.of(11L));
+
+        // when / then
+        assertThatThrownBy(() -> strategy.claim(ticket, screening, seats))
+                .isInstanceOf(SeatsAlreadyTakenException.class)
+                .hasMessage("Seats already taken: [10]");
+    }
+}
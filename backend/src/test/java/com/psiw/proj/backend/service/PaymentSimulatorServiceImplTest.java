@@ -0,0 +1,110 @@
+package com.psiw.proj.backend.service;
+
+import com.psiw.proj.backend.service.implementation.PaymentSimulatorServiceImpl;
+import com.psiw.proj.backend.utils.enums.LatencyProfile;
+import com.psiw.proj.backend.utils.enums.PaymentFailureType;
+import com.psiw.proj.backend.utils.requestDto.PaymentRequest;
+import com.psiw.proj.backend.utils.responseDto.PaymentResponse;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PaymentSimulatorServiceImplTest {
+
+    private final PaymentRequest request = new PaymentRequest(1L, new BigDecimal("50.00"), "CARD");
+
+    @Test
+    void shouldAlwaysSucceedWithZeroFailureRatio() {
+        // given
+        PaymentSimulatorServiceImpl simulator = simulator(0.0, List.of(PaymentFailureType.UNAVAILABLE), LatencyProfile.FIXED, Duration.ZERO);
+
+        // when
+        List<PaymentResponse> responses = IntStream.range(0, 100)
+                .mapToObj(i -> simulator.process(request).join())
+                .toList();
+
+        // then
+        assertThat(responses).allMatch(PaymentResponse::success);
+        assertThat(responses).allMatch(response -> response.failure() == null);
+    }
+
+    @Test
+    void shouldFailWithConfiguredTypesOnly() {
+        // given
+        List<PaymentFailureType> types = List.of(PaymentFailureType.TIMEOUT, PaymentFailureType.DECLINED);
+        PaymentSimulatorServiceImpl simulator = simulator(1.0, types, LatencyProfile.FIXED, Duration.ZERO);
+
+        // when
+        List<PaymentResponse> responses = IntStream.range(0, 100)
+                .mapToObj(i -> simulator.process(request).join())
+                .toList();
+
+        // then
+        assertThat(responses).noneMatch(PaymentResponse::success);
+        assertThat(responses).extracting(PaymentResponse::failure).isSubsetOf(types);
+    }
+
+    @Test
+    void shouldCompleteAfterConfiguredLatencyWithoutBlockingCaller() throws Exception {
+        // given
+        PaymentSimulatorServiceImpl simulator = simulator(0.0, List.of(PaymentFailureType.UNAVAILABLE), LatencyProfile.FIXED, Duration.ofMillis(100));
+        long start = System.nanoTime();
+
+        // when
+        CompletableFuture<PaymentResponse> pending = simulator.process(request);
+        boolean doneImmediately = pending.isDone();
+        PaymentResponse response = pending.get(5, TimeUnit.SECONDS);
+
+        // then
+        assertThat(doneImmediately).isFalse();
+        assertThat(response.success()).isTrue();
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(100));
+    }
+
+    @Test
+    void shouldRunDependentStagesOutsideSharedDelayThread() throws Exception {
+        // given
+        PaymentSimulatorServiceImpl simulator = simulator(0.0, List.of(PaymentFailureType.UNAVAILABLE), LatencyProfile.FIXED, Duration.ofMillis(20));
+
+        // when
+        boolean virtual = simulator.process(request)
+                .thenApply(response -> Thread.currentThread().isVirtual())
+                .get(5, TimeUnit.SECONDS);
+
+        // then
+        assertThat(virtual).isTrue();
+    }
+
+    @Test
+    void shouldAcceptRefundRegardlessOfFailureRatio() {
+        // given
+        PaymentSimulatorServiceImpl simulator = simulator(1.0, List.of(PaymentFailureType.UNAVAILABLE), LatencyProfile.FIXED, Duration.ZERO);
+
+        // when
+        PaymentResponse response = simulator.refund(request).join();
+
+        // then
+        assertThat(response.success()).isTrue();
+        assertThat(response.failure()).isNull();
+    }
+
+    @Test
+    void shouldRejectInvalidFailureRatio() {
+        // when & then
+        assertThatThrownBy(() -> simulator(1.5, List.of(PaymentFailureType.UNAVAILABLE), LatencyProfile.FIXED, Duration.ZERO))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private PaymentSimulatorServiceImpl simulator(double failureRatio, List<PaymentFailureType> types,
+                                                  LatencyProfile profile, Duration mean) {
+        return new PaymentSimulatorServiceImpl(failureRatio, types, profile, mean, Duration.ZERO, 0.0, Duration.ofSeconds(2));
+    }
+}
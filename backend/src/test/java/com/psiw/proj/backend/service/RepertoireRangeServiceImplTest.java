@@ -0,0 +1,108 @@
+package com.psiw.proj.backend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.psiw.proj.backend.repository.MovieRepository;
+import com.psiw.proj.backend.repository.projections.RepertoireRow;
+import com.psiw.proj.backend.service.implementation.RepertoireRangeServiceImpl;
+import com.psiw.proj.backend.service.interfaces.MovieImageService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RepertoireRangeServiceImplTest {
+
+    @Mock
+    private MovieRepository movieRepository;
+
+    @Mock
+    private MovieImageService movieImageService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private RepertoireRangeServiceImpl rangeService;
+
+    @BeforeEach
+    void setUp() {
+        rangeService = new RepertoireRangeServiceImpl(movieRepository, movieImageService, objectMapper, transactionManager, 7);
+    }
+
+    @Test
+    void shouldStreamMoviesGroupedAcrossTheWholeRange() throws Exception {
+        // given
+        LocalDate from = LocalDate.of(2025, 5, 26);
+        LocalDate to = LocalDate.of(2025, 5, 28);
+        LocalDateTime monday = from.atStartOfDay();
+        when(movieRepository.streamRepertoireRows(monday, to.plusDays(1).atStartOfDay())).thenReturn(Stream.of(
+                new RepertoireRow(2L, "Alpha", "A", 201L, monday.plusHours(10), Duration.ofMinutes(90), 25),
+                new RepertoireRow(2L, "Alpha", "A", 202L, monday.plusDays(2).plusHours(10), Duration.ofMinutes(90), 25),
+                new RepertoireRow(1L, "Beta", "B", 101L, monday.plusDays(1).plusHours(18), Duration.ofMinutes(100), 25)
+        ));
+        when(movieImageService.versionedImageUrl(anyLong())).thenAnswer(inv -> "/img/" + inv.getArgument(0));
+
+        // when
+        StreamingResponseBody body = rangeService.streamMoviesForRange(from, to);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        body.writeTo(out);
+
+        // then
+        JsonNode movies = objectMapper.readTree(out.toByteArray());
+        assertThat(movies).hasSize(2);
+        assertThat(movies.get(0).get("title").asText()).isEqualTo("Alpha");
+        assertThat(movies.get(0).get("imageUrl").asText()).isEqualTo("/img/2");
+        assertThat(movies.get(0).get("screenings")).extracting(s -> s.get("id").asLong()).containsExactly(201L, 202L);
+        assertThat(movies.get(1).get("screenings").get(0).get("startTime").asText()).isEqualTo("2025-05-27T18:00:00");
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void shouldWriteEmptyArrayWhenNothingIsScheduled() throws Exception {
+        // given
+        LocalDate day = LocalDate.of(2025, 1, 1);
+        when(movieRepository.streamRepertoireRows(any(), any())).thenReturn(Stream.empty());
+
+        // when
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        rangeService.streamMoviesForRange(day, day).writeTo(out);
+
+        // then
+        assertThat(out.toString()).isEqualTo("[]");
+    }
+
+    @Test
+    void shouldRejectInvalidRangeBeforeStreaming() {
+        // given
+        LocalDate from = LocalDate.of(2025, 5, 26);
+
+        // when / then
+        assertThatThrownBy(() -> rangeService.streamMoviesForRange(from, from.minusDays(1)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("before its start");
+        assertThatThrownBy(() -> rangeService.streamMoviesForRange(from, from.plusDays(7)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("exceeds the limit of 7");
+        verifyNoInteractions(movieRepository, transactionManager);
+    }
+}
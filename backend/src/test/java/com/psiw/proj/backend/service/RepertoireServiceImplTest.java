@@ -8,10 +8,14 @@ import com.psiw.proj.backend.exceptions.custom.RoomHasNoSeatsException;
 import com.psiw.proj.backend.exceptions.custom.ScreeningNotFoundException;
 import com.psiw.proj.backend.repository.MovieRepository;
 import com.psiw.proj.backend.repository.ScreeningRepository;
-import com.psiw.proj.backend.repository.TicketSeatRepository;
+import com.psiw.proj.backend.repository.projections.RepertoireRow;
 import com.psiw.proj.backend.service.implementation.RepertoireServiceImpl;
+import com.psiw.proj.backend.service.interfaces.MovieImageService;
+import com.psiw.proj.backend.service.interfaces.SeatOccupancyService;
+import com.psiw.proj.backend.utils.responseDto.CompactScreeningDetailsResponse;
 import com.psiw.proj.backend.utils.responseDto.MovieResponse;
 import com.psiw.proj.backend.utils.responseDto.ScreeningDetailsResponse;
+import com.psiw.proj.backend.utils.responseDto.helpers.ScreeningSummaryDto;
 import com.psiw.proj.backend.utils.responseDto.helpers.SeatDto;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -22,9 +26,10 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Optional;
-import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -41,7 +46,10 @@ class RepertoireServiceImplTest {
     private ScreeningRepository screeningRepository;
 
     @Mock
-    private TicketSeatRepository ticketSeatRepository;
+    private SeatOccupancyService seatOccupancyService;
+
+    @Mock
+    private MovieImageService movieImageService;
 
     @InjectMocks
     private RepertoireServiceImpl repertoireService;
@@ -53,30 +61,11 @@ class RepertoireServiceImplTest {
         LocalDateTime from = date.atStartOfDay();
         LocalDateTime to = date.plusDays(1).atStartOfDay();
 
-        Room room = Room.builder()
-                .roomNumber("A1")
-                .rowCount(5)
-                .columnCount(5)
-                .build();
+        RepertoireRow row = new RepertoireRow(10L, "Test Movie", "Some description",
+                1L, from.plusHours(10), Duration.ofMinutes(120), 25);
 
-        Movie movie = Movie.builder()
-                .id(10L)
-                .title("Test Movie")
-                .description("Some description")
-                .image("image.png")
-                .build();
-
-        Screening screening = Screening.builder()
-                .id(1L)
-                .startTime(from.plusHours(10))
-                .duration(Duration.ofMinutes(120))
-                .movie(movie)
-                .room(room)
-                .build();
-
-        movie.setScreenings(List.of(screening));
-
-        when(movieRepository.findDistinctByScreeningsStartTimeBetween(from, to)).thenReturn(List.of(movie));
+        when(movieRepository.findRepertoireRows(from, to)).thenReturn(List.of(row));
+        when(movieImageService.versionedImageUrl(10L)).thenReturn("/psiw/api/v1/open/movies/10/image?v=abc");
 
         // when
         List<MovieResponse> result = repertoireService.getMoviesWithScreeningsForDate(date);
@@ -85,9 +74,11 @@ class RepertoireServiceImplTest {
         assertThat(result).hasSize(1);
         MovieResponse response = result.getFirst();
         assertThat(response.title()).isEqualTo("Test Movie");
+        assertThat(response.imageUrl()).isEqualTo("/psiw/api/v1/open/movies/10/image?v=abc");
         assertThat(response.screenings()).hasSize(1);
-        assertThat(response.screenings().getFirst().startTime()).isEqualTo(screening.getStartTime());
-        assertThat(response.screenings().getFirst().duration()).isEqualTo(screening.getDuration().toMinutes());
+        assertThat(response.screenings().getFirst().startTime()).isEqualTo(row.startTime());
+        assertThat(response.screenings().getFirst().duration()).isEqualTo(120L);
+        assertThat(response.screenings().getFirst().freeSeats()).isEqualTo(25);
     }
 
     @Test
@@ -133,7 +124,8 @@ class RepertoireServiceImplTest {
                 .build();
 
         when(screeningRepository.findByIdWithRoomAndMovie(screeningId)).thenReturn(Optional.of(screening));
-        when(ticketSeatRepository.findTakenSeatIds(screeningId)).thenReturn(Set.of(1L)); // seat1 is taken
+        when(seatOccupancyService.isTaken(screening, seat1)).thenReturn(true); // seat1 is taken
+        when(seatOccupancyService.isTaken(screening, seat2)).thenReturn(false);
 
         // when
         ScreeningDetailsResponse result = repertoireService.getScreeningDetails(screeningId);
@@ -157,6 +149,55 @@ class RepertoireServiceImplTest {
         assertThat(seatDto2.available()).isTrue();
     }
 
+    @Test
+    void shouldEncodeRegularRoomAsBitsetWithSeatIdBase() {
+        // given – sala 2x2, ID 11..14 wierszami, zajęte R1C2 (pozycja 1)
+        Room room = Room.builder().roomNumber("B1").rowCount(2).columnCount(2).build();
+        room.setSeats(List.of(
+                Seat.builder().id(11L).rowNumber(1).columnNumber(1).seatNumber(1).room(room).build(),
+                Seat.builder().id(12L).rowNumber(1).columnNumber(2).seatNumber(2).room(room).build(),
+                Seat.builder().id(13L).rowNumber(2).columnNumber(1).seatNumber(3).room(room).build(),
+                Seat.builder().id(14L).rowNumber(2).columnNumber(2).seatNumber(4).room(room).build()));
+        Screening screening = compactScreening(room);
+        BitSet taken = new BitSet();
+        taken.set(1);
+
+        when(screeningRepository.findByIdWithRoomAndMovie(3L)).thenReturn(Optional.of(screening));
+        when(seatOccupancyService.takenPositions(screening)).thenReturn(taken);
+
+        // when
+        CompactScreeningDetailsResponse result = repertoireService.getCompactScreeningDetails(3L);
+
+        // then
+        assertThat(result.seatIdBase()).isEqualTo(11L);
+        assertThat(result.seatIds()).isNull();
+        assertThat(result.seatNumbers()).isNull();
+        assertThat(Base64.getDecoder().decode(result.availability())).containsExactly(0b1101);
+    }
+
+    @Test
+    void shouldListSeatIdsForIrregularRoom() {
+        // given – sala 2x2 bez miejsca R2C1
+        Room room = Room.builder().roomNumber("B2").rowCount(2).columnCount(2).build();
+        room.setSeats(List.of(
+                Seat.builder().id(21L).rowNumber(1).columnNumber(1).seatNumber(1).room(room).build(),
+                Seat.builder().id(22L).rowNumber(1).columnNumber(2).seatNumber(2).room(room).build(),
+                Seat.builder().id(23L).rowNumber(2).columnNumber(2).seatNumber(3).room(room).build()));
+        Screening screening = compactScreening(room);
+
+        when(screeningRepository.findByIdWithRoomAndMovie(3L)).thenReturn(Optional.of(screening));
+        when(seatOccupancyService.takenPositions(screening)).thenReturn(new BitSet());
+
+        // when
+        CompactScreeningDetailsResponse result = repertoireService.getCompactScreeningDetails(3L);
+
+        // then
+        assertThat(result.seatIdBase()).isNull();
+        assertThat(result.seatIds()).containsExactly(21L, 22L, null, 23L);
+        assertThat(result.seatNumbers()).containsExactly(1, 2, null, 3);
+        assertThat(Base64.getDecoder().decode(result.availability())).containsExactly(0b1011);
+    }
+
     @Test
     void shouldThrowExceptionIfScreeningNotFound() {
         // given
@@ -173,7 +214,7 @@ class RepertoireServiceImplTest {
     void shouldReturnEmptyListWhenNoMoviesForDate() {
         // given
         LocalDate date = LocalDate.of(2025, 1, 1);
-        when(movieRepository.findDistinctByScreeningsStartTimeBetween(any(), any())).thenReturn(List.of());
+        when(movieRepository.findRepertoireRows(any(), any())).thenReturn(List.of());
 
         // when
         List<MovieResponse> result = repertoireService.getMoviesWithScreeningsForDate(date);
@@ -183,28 +224,25 @@ class RepertoireServiceImplTest {
     }
 
     @Test
-    void shouldReturnMovieWithNoScreeningsInDate() {
+    void shouldGroupConsecutiveRowsByMovie() {
         // given
         LocalDate date = LocalDate.of(2025, 5, 18);
         LocalDateTime from = date.atStartOfDay();
         LocalDateTime to = date.plusDays(1).atStartOfDay();
 
-        Movie movie = Movie.builder()
-                .id(1L)
-                .title("No Show")
-                .description("No screenings today")
-                .image("img.png")
-                .screenings(List.of()) // brak seansów
-                .build();
-
-        when(movieRepository.findDistinctByScreeningsStartTimeBetween(from, to)).thenReturn(List.of(movie));
+        when(movieRepository.findRepertoireRows(from, to)).thenReturn(List.of(
+                new RepertoireRow(2L, "Alpha", "A", 201L, from.plusHours(10), Duration.ofMinutes(90), 25),
+                new RepertoireRow(1L, "Beta", "B", 101L, from.plusHours(12), Duration.ofMinutes(100), 25),
+                new RepertoireRow(1L, "Beta", "B", 102L, from.plusHours(18), Duration.ofMinutes(100), 25)
+        ));
 
         // when
         List<MovieResponse> result = repertoireService.getMoviesWithScreeningsForDate(date);
 
         // then
-        assertThat(result).hasSize(1);
-        assertThat(result.getFirst().screenings()).isEmpty();
+        assertThat(result).extracting(MovieResponse::id).containsExactly(2L, 1L);
+        assertThat(result.getFirst().screenings()).extracting(ScreeningSummaryDto::id).containsExactly(201L);
+        assertThat(result.get(1).screenings()).extracting(ScreeningSummaryDto::id).containsExactly(101L, 102L);
     }
 
     @Test
@@ -214,32 +252,10 @@ class RepertoireServiceImplTest {
         LocalDateTime from = date.atStartOfDay();
         LocalDateTime to = date.plusDays(1).atStartOfDay();
 
-        Movie movie = Movie.builder()
-                .id(2L)
-                .title("Multiple Shows")
-                .description("Twice a day")
-                .image("multi.png")
-                .build();
-
-        Screening s1 = Screening.builder()
-                .id(101L)
-                .movie(movie)
-                .startTime(from.plusHours(10))
-                .duration(Duration.ofMinutes(100))
-                .room(Room.builder().roomNumber("A1").build())
-                .build();
-
-        Screening s2 = Screening.builder()
-                .id(102L)
-                .movie(movie)
-                .startTime(from.plusHours(16))
-                .duration(Duration.ofMinutes(100))
-                .room(Room.builder().roomNumber("A1").build())
-                .build();
-
-        movie.setScreenings(List.of(s1, s2));
-
-        when(movieRepository.findDistinctByScreeningsStartTimeBetween(from, to)).thenReturn(List.of(movie));
+        when(movieRepository.findRepertoireRows(from, to)).thenReturn(List.of(
+                new RepertoireRow(2L, "Multiple Shows", "Twice a day", 101L, from.plusHours(10), Duration.ofMinutes(100), 25),
+                new RepertoireRow(2L, "Multiple Shows", "Twice a day", 102L, from.plusHours(16), Duration.ofMinutes(100), 25)
+        ));
 
         // when
         List<MovieResponse> result = repertoireService.getMoviesWithScreeningsForDate(date);
@@ -292,7 +308,7 @@ class RepertoireServiceImplTest {
                 .build();
 
         when(screeningRepository.findByIdWithRoomAndMovie(screeningId)).thenReturn(Optional.of(screening));
-        when(ticketSeatRepository.findTakenSeatIds(screeningId)).thenReturn(Set.of()); // nic nie zajęte
+        when(seatOccupancyService.isTaken(any(), any())).thenReturn(false); // nic nie zajęte
 
         // when
         ScreeningDetailsResponse response = repertoireService.getScreeningDetails(screeningId);
@@ -344,7 +360,7 @@ class RepertoireServiceImplTest {
                 .build();
 
         when(screeningRepository.findByIdWithRoomAndMovie(screeningId)).thenReturn(Optional.of(screening));
-        when(ticketSeatRepository.findTakenSeatIds(screeningId)).thenReturn(Set.of(10L, 11L));
+        when(seatOccupancyService.isTaken(any(), any())).thenReturn(true);
 
         // when
         ScreeningDetailsResponse result = repertoireService.getScreeningDetails(screeningId);
@@ -370,7 +386,6 @@ class RepertoireServiceImplTest {
                 .build();
 
         when(screeningRepository.findByIdWithRoomAndMovie(screeningId)).thenReturn(Optional.of(screening));
-        when(ticketSeatRepository.findTakenSeatIds(screeningId)).thenReturn(Set.of());
 
         // when / then
         assertThatThrownBy(() -> repertoireService.getScreeningDetails(screeningId))
@@ -395,7 +410,6 @@ class RepertoireServiceImplTest {
                 .build();
 
         when(screeningRepository.findByIdWithRoomAndMovie(screeningId)).thenReturn(Optional.of(screening));
-        when(ticketSeatRepository.findTakenSeatIds(screeningId)).thenReturn(Set.of());
 
         // when
         ScreeningDetailsResponse result = repertoireService.getScreeningDetails(screeningId);
@@ -403,4 +417,14 @@ class RepertoireServiceImplTest {
         // then
         assertThat(result.seats()).isEmpty();
     }
+
+    private Screening compactScreening(Room room) {
+        return Screening.builder()
+                .id(3L)
+                .movie(Movie.builder().id(5L).title("Avengers").build())
+                .room(room)
+                .startTime(LocalDateTime.of(2025, 5, 20, 15, 0))
+                .duration(Duration.ofMinutes(140))
+                .build();
+    }
 }
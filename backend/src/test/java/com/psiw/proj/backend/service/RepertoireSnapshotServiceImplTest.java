@@ -0,0 +1,103 @@
+package com.psiw.proj.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.psiw.proj.backend.service.implementation.RepertoireSnapshotServiceImpl;
+import com.psiw.proj.backend.service.interfaces.RepertoireService;
+import com.psiw.proj.backend.utils.events.ScreeningChangedEvent;
+import com.psiw.proj.backend.utils.events.SeatAvailabilityChangedEvent;
+import com.psiw.proj.backend.utils.responseDto.MovieResponse;
+import com.psiw.proj.backend.utils.responseDto.helpers.ScreeningSummaryDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RepertoireSnapshotServiceImplTest {
+
+    @Mock
+    private RepertoireService repertoireService;
+
+    private final LocalDate date = LocalDate.of(2025, 6, 5);
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private RepertoireSnapshotServiceImpl snapshotService;
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(Instant.parse("2025-06-05T12:00:00Z"), ZoneOffset.UTC);
+        snapshotService = new RepertoireSnapshotServiceImpl(repertoireService, objectMapper, clock, Duration.ofMinutes(10), 10);
+    }
+
+    @Test
+    void shouldServeSerializedSnapshotFromCache() {
+        // given
+        ScreeningSummaryDto screening = ScreeningSummaryDto.builder()
+                .id(1L)
+                .startTime(LocalDateTime.of(2025, 6, 5, 18, 30))
+                .duration(120L)
+                .build();
+        when(repertoireService.getMoviesWithScreeningsForDate(date))
+                .thenReturn(List.of(new MovieResponse(10L, "Matrix", "desc", "/psiw/api/v1/open/movies/10/image?v=abc", List.of(screening))));
+
+        // when
+        byte[] first = snapshotService.getMoviesJsonForDate(date);
+        byte[] second = snapshotService.getMoviesJsonForDate(date);
+
+        // then
+        assertThat(second).isSameAs(first);
+        assertThat(new String(first, StandardCharsets.UTF_8))
+                .contains("\"title\":\"Matrix\"")
+                .contains("\"startTime\":\"2025-06-05T18:30:00\"");
+        verify(repertoireService, times(1)).getMoviesWithScreeningsForDate(date);
+    }
+
+    @Test
+    void shouldRebuildSnapshotAfterScreeningChange() {
+        // given
+        when(repertoireService.getMoviesWithScreeningsForDate(date)).thenReturn(List.of());
+        snapshotService.getMoviesJsonForDate(date);
+
+        // when
+        snapshotService.onScreeningChanged(new ScreeningChangedEvent(1L));
+        snapshotService.getMoviesJsonForDate(date);
+
+        // then
+        verify(repertoireService, times(2)).getMoviesWithScreeningsForDate(date);
+    }
+
+    @Test
+    void shouldRebuildOnlyTheDayWhoseSeatsChanged() {
+        // given
+        LocalDate otherDate = date.plusDays(1);
+        when(repertoireService.getMoviesWithScreeningsForDate(any())).thenReturn(List.of());
+        snapshotService.getMoviesJsonForDate(date);
+        snapshotService.getMoviesJsonForDate(otherDate);
+
+        // when
+        snapshotService.onSeatAvailabilityChanged(new SeatAvailabilityChangedEvent(1L, date, List.of(5L), false));
+        snapshotService.getMoviesJsonForDate(date);
+        snapshotService.getMoviesJsonForDate(otherDate);
+
+        // then
+        verify(repertoireService, times(2)).getMoviesWithScreeningsForDate(date);
+        verify(repertoireService, times(1)).getMoviesWithScreeningsForDate(otherDate);
+    }
+}
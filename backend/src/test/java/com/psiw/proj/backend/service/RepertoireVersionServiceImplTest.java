@@ -0,0 +1,76 @@
+package com.psiw.proj.backend.service;
+
+import com.psiw.proj.backend.service.implementation.RepertoireVersionServiceImpl;
+import com.psiw.proj.backend.utils.events.SeatAvailabilityChangedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RepertoireVersionServiceImplTest {
+
+    private final LocalDate date = LocalDate.of(2025, 6, 5);
+    private final RepertoireVersionServiceImpl versionService =
+            new RepertoireVersionServiceImpl(Clock.fixed(Instant.parse("2025-06-05T12:00:00Z"), ZoneOffset.UTC));
+
+    @Test
+    void shouldKeepEtagStableWithoutChanges() {
+        // when
+        String first = versionService.screeningEtag(1L);
+        String second = versionService.screeningEtag(1L);
+
+        // then
+        assertThat(first).isEqualTo(second).startsWith("\"").endsWith("\"");
+    }
+
+    @Test
+    void shouldMoveOnlyAffectedEtagsOnReservation() {
+        // given
+        String screeningBefore = versionService.screeningEtag(1L);
+        String otherScreeningBefore = versionService.screeningEtag(2L);
+        String dateBefore = versionService.repertoireEtag(date);
+        String otherDateBefore = versionService.repertoireEtag(date.plusDays(1));
+
+        // when
+        versionService.onSeatAvailabilityChanged(new SeatAvailabilityChangedEvent(1L, date, List.of(10L), false));
+
+        // then
+        assertThat(versionService.screeningEtag(1L)).isNotEqualTo(screeningBefore);
+        assertThat(versionService.repertoireEtag(date)).isNotEqualTo(dateBefore);
+        assertThat(versionService.screeningEtag(2L)).isEqualTo(otherScreeningBefore);
+        assertThat(versionService.repertoireEtag(date.plusDays(1))).isEqualTo(otherDateBefore);
+    }
+
+    @Test
+    void shouldMoveScreeningAndDateEtagsOnInvalidation() {
+        // given
+        String screeningBefore = versionService.screeningEtag(1L);
+        String dateBefore = versionService.repertoireEtag(date);
+
+        // when
+        versionService.invalidateScreening(1L, date);
+
+        // then
+        assertThat(versionService.screeningEtag(1L)).isNotEqualTo(screeningBefore);
+        assertThat(versionService.repertoireEtag(date)).isNotEqualTo(dateBefore);
+    }
+
+    @Test
+    void shouldMoveAllEtagsOnScreeningChange() {
+        // given
+        String screeningBefore = versionService.screeningEtag(2L);
+        String dateBefore = versionService.repertoireEtag(date);
+
+        // when
+        versionService.onRepertoireChanged();
+
+        // then
+        assertThat(versionService.screeningEtag(2L)).isNotEqualTo(screeningBefore);
+        assertThat(versionService.repertoireEtag(date)).isNotEqualTo(dateBefore);
+    }
+}
@@ -2,12 +2,15 @@ package com.psiw.proj.backend.service;
 
 import com.psiw.proj.backend.entity.*;
 import com.psiw.proj.backend.exceptions.custom.ScreeningNotFoundException;
+import com.psiw.proj.backend.exceptions.custom.SeatsAlreadyTakenException;
 import com.psiw.proj.backend.repository.ScreeningRepository;
 import com.psiw.proj.backend.repository.SeatRepository;
 import com.psiw.proj.backend.repository.TicketRepository;
-import com.psiw.proj.backend.repository.TicketSeatRepository;
 import com.psiw.proj.backend.service.implementation.ReservationServiceImpl;
+import com.psiw.proj.backend.service.interfaces.SeatClaimStrategy;
+import com.psiw.proj.backend.service.interfaces.SeatOccupancyService;
 import com.psiw.proj.backend.utils.enums.TicketStatus;
+import com.psiw.proj.backend.utils.events.SeatAvailabilityChangedEvent;
 import com.psiw.proj.backend.utils.requestDto.ReservationRequest;
 import com.psiw.proj.backend.utils.responseDto.TicketResponse;
 import org.junit.jupiter.api.Test;
@@ -16,6 +19,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
@@ -43,7 +47,13 @@ class ReservationServiceImplTest {
     private TicketRepository ticketRepository;
 
     @Mock
-    private TicketSeatRepository ticketSeatRepository;
+    private SeatClaimStrategy seatClaimStrategy;
+
+    @Mock
+    private SeatOccupancyService seatOccupancyService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private ReservationServiceImpl reservationService;
@@ -83,8 +93,6 @@ class ReservationServiceImplTest {
                 .build();
 
         when(screeningRepository.findById(screeningId)).thenReturn(Optional.of(screening));
-        when(seatRepository.countByIdInAndRoomRoomNumber(seatIds, "A1")).thenReturn(2L);
-        when(ticketRepository.findAllByScreeningId(screeningId)).thenReturn(List.of());
         when(seatRepository.findAllById(seatIds)).thenReturn(List.of(seat1, seat2));
         when(ticketRepository.save(any())).thenAnswer(inv -> {
             Ticket t = inv.getArgument(0);
@@ -108,7 +116,9 @@ class ReservationServiceImplTest {
         assertThat(response.price()).isEqualTo(DEFAULT_SEAT_PRICE
                 .multiply(new BigDecimal(request.seatIds().size()))
                 .setScale(2, RoundingMode.HALF_UP));
-        verify(ticketSeatRepository, times(1)).saveAll(anyList());
+        verify(seatClaimStrategy).claim(any(Ticket.class), eq(screening), eq(List.of(seat1, seat2)));
+        verify(screeningRepository).addReservedSeats(screeningId, 2);
+        verify(seatOccupancyService).claim(screening, List.of(seat1, seat2));
     }
 
     @Test
@@ -124,10 +134,13 @@ class ReservationServiceImplTest {
     @Test
     void shouldThrowWhenSeatsAreNotFromSameRoom() {
         Long screeningId = 2L;
-        Room room = Room.builder().roomNumber("B99").build();
+        Room room = Room.builder().id(1L).roomNumber("B99").build();
+        Room otherRoom = Room.builder().id(2L).roomNumber("C01").build();
         Screening screening = Screening.builder().id(screeningId).room(room).build();
         when(screeningRepository.findById(screeningId)).thenReturn(Optional.of(screening));
-        when(seatRepository.countByIdInAndRoomRoomNumber(List.of(1L, 2L), "B99")).thenReturn(1L);
+        when(seatRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(
+                Seat.builder().id(1L).room(room).build(),
+                Seat.builder().id(2L).room(otherRoom).build()));
 
         ReservationRequest request = new ReservationRequest(screeningId, List.of(1L, 2L), "a@b.com", "A", "B");
         assertThatThrownBy(() -> reservationService.reserveSeats(request))
@@ -141,18 +154,20 @@ class ReservationServiceImplTest {
         List<Long> seatIds = List.of(10L, 11L);
         Room room = Room.builder().roomNumber("A1").build();
         Screening screening = Screening.builder().id(screeningId).room(room).build();
-        Seat seat = Seat.builder().id(10L).build();
-        TicketSeat ts = TicketSeat.builder().seat(seat).build();
-        Ticket ticket = Ticket.builder().ticketSeats(List.of(ts)).build();
+        Seat seat1 = Seat.builder().id(10L).rowNumber(1).columnNumber(1).room(room).build();
+        Seat seat2 = Seat.builder().id(11L).rowNumber(1).columnNumber(2).room(room).build();
 
         when(screeningRepository.findById(screeningId)).thenReturn(Optional.of(screening));
-        when(seatRepository.countByIdInAndRoomRoomNumber(seatIds, "A1")).thenReturn(2L);
-        when(ticketRepository.findAllByScreeningId(screeningId)).thenReturn(List.of(ticket));
+        when(seatRepository.findAllById(seatIds)).thenReturn(List.of(seat1, seat2));
+        doThrow(new SeatsAlreadyTakenException("Seats already taken: [10]"))
+                .when(seatOccupancyService).claim(screening, List.of(seat1, seat2));
 
         ReservationRequest request = new ReservationRequest(screeningId, seatIds, "a@b.com", "A", "B");
         assertThatThrownBy(() -> reservationService.reserveSeats(request))
-                .isInstanceOf(IllegalStateException.class)
+                .isInstanceOf(SeatsAlreadyTakenException.class)
                 .hasMessageContaining("Seats already taken");
+        verify(ticketRepository, never()).save(any());
+        verify(seatClaimStrategy, never()).claim(any(), any(), anyList());
     }
 
     @Test
@@ -189,8 +204,6 @@ class ReservationServiceImplTest {
                 .build();
 
         when(screeningRepository.findById(screeningId)).thenReturn(Optional.of(screening));
-        when(seatRepository.countByIdInAndRoomRoomNumber(seatIds, "C77")).thenReturn(2L);
-        when(ticketRepository.findAllByScreeningId(screeningId)).thenReturn(List.of());
         when(seatRepository.findAllById(seatIds)).thenReturn(List.of(seat1, seat2));
 
         ArgumentCaptor<Ticket> ticketCaptor = ArgumentCaptor.forClass(Ticket.class);
@@ -217,4 +230,35 @@ class ReservationServiceImplTest {
                 .multiply(new BigDecimal(request.seatIds().size()))
                 .setScale(2, RoundingMode.HALF_UP));
     }
+
+    @Test
+    void shouldReserveHeldSeatsWithoutClaimingAgain() {
+        // given
+        Long screeningId = 5L;
+        List<Long> seatIds = List.of(7L);
+        Room room = Room.builder().roomNumber("A1").build();
+        Movie movie = Movie.builder().title("Held").build();
+        Screening screening = Screening.builder()
+                .id(screeningId)
+                .room(room)
+                .movie(movie)
+                .startTime(LocalDateTime.of(2025, 6, 1, 18, 30))
+                .build();
+        Seat seat = Seat.builder().id(7L).seatNumber(7).rowNumber(1).columnNumber(7).room(room).build();
+
+        when(screeningRepository.findById(screeningId)).thenReturn(Optional.of(screening));
+        when(seatRepository.findAllById(seatIds)).thenReturn(List.of(seat));
+        when(ticketRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+
+        // when
+        TicketResponse response = reservationService.reserveHeldSeats(
+                new ReservationRequest(screeningId, seatIds, "a@b.com", "A", "B"));
+
+        // then
+        assertThat(response.seatNumbers()).containsExactly(7);
+        verify(seatOccupancyService, never()).claim(any(), any());
+        verify(seatClaimStrategy).claim(any(Ticket.class), eq(screening), eq(List.of(seat)));
+        verify(screeningRepository).addReservedSeats(screeningId, 1);
+        verify(eventPublisher).publishEvent(new SeatAvailabilityChangedEvent(screeningId, screening.getStartTime().toLocalDate(), seatIds, false));
+    }
 }
@@ -0,0 +1,69 @@
+package com.psiw.proj.backend.service;
+
+import com.psiw.proj.backend.exceptions.custom.ScreeningNotFoundException;
+import com.psiw.proj.backend.repository.ScreeningRepository;
+import com.psiw.proj.backend.service.implementation.SeatAvailabilityStreamServiceImpl;
+import com.psiw.proj.backend.utils.events.SeatAvailabilityChangedEvent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SeatAvailabilityStreamServiceImplTest {
+
+    @Mock
+    private ScreeningRepository screeningRepository;
+
+    private SeatAvailabilityStreamServiceImpl streamService() {
+        return new SeatAvailabilityStreamServiceImpl(screeningRepository, Duration.ofMinutes(30), Duration.ofSeconds(15), 16);
+    }
+
+    @Test
+    void shouldRegisterSubscriberForExistingScreening() {
+        // given
+        when(screeningRepository.existsById(1L)).thenReturn(true);
+        SeatAvailabilityStreamServiceImpl streamService = streamService();
+
+        // when
+        SseEmitter emitter = streamService.subscribe(1L);
+
+        // then
+        assertThat(emitter.getTimeout()).isEqualTo(Duration.ofMinutes(30).toMillis());
+        assertThat(streamService.subscriberCount(1L)).isEqualTo(1);
+        assertThat(streamService.subscriberCount(2L)).isZero();
+    }
+
+    @Test
+    void shouldRejectSubscriptionToUnknownScreening() {
+        // given
+        when(screeningRepository.existsById(99L)).thenReturn(false);
+        SeatAvailabilityStreamServiceImpl streamService = streamService();
+
+        // when & then
+        assertThatThrownBy(() -> streamService.subscribe(99L))
+                .isInstanceOf(ScreeningNotFoundException.class);
+        assertThat(streamService.subscriberCount(99L)).isZero();
+    }
+
+    @Test
+    void shouldIgnoreChangesOfScreeningWithoutSubscribers() {
+        // given
+        SeatAvailabilityStreamServiceImpl streamService = streamService();
+
+        // when
+        streamService.onSeatAvailabilityChanged(new SeatAvailabilityChangedEvent(1L, LocalDate.of(2025, 6, 5), List.of(10L), false));
+
+        // then
+        assertThat(streamService.subscriberCount(1L)).isZero();
+    }
+}
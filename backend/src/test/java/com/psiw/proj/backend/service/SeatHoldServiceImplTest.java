@@ -0,0 +1,217 @@
+package com.psiw.proj.backend.service;
+
+import com.psiw.proj.backend.entity.Movie;
+import com.psiw.proj.backend.entity.Room;
+import com.psiw.proj.backend.entity.Screening;
+import com.psiw.proj.backend.entity.Seat;
+import com.psiw.proj.backend.exceptions.custom.SeatHoldNotFoundException;
+import com.psiw.proj.backend.exceptions.custom.SeatsAlreadyTakenException;
+import com.psiw.proj.backend.repository.ScreeningRepository;
+import com.psiw.proj.backend.repository.SeatRepository;
+import com.psiw.proj.backend.service.implementation.SeatHoldServiceImpl;
+import com.psiw.proj.backend.service.interfaces.ReservationService;
+import com.psiw.proj.backend.service.interfaces.SeatOccupancyService;
+import com.psiw.proj.backend.utils.requestDto.HoldConfirmationRequest;
+import com.psiw.proj.backend.utils.requestDto.ReservationRequest;
+import com.psiw.proj.backend.utils.requestDto.SeatHoldRequest;
+import com.psiw.proj.backend.utils.responseDto.SeatHoldResponse;
+import com.psiw.proj.backend.utils.responseDto.TicketResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SeatHoldServiceImplTest {
+
+    @Mock
+    private ScreeningRepository screeningRepository;
+
+    @Mock
+    private SeatRepository seatRepository;
+
+    @Mock
+    private SeatOccupancyService seatOccupancyService;
+
+    @Mock
+    private ReservationService reservationService;
+
+    private final AtomicReference<Instant> now = new AtomicReference<>(Instant.parse("2025-06-05T12:00:00Z"));
+    private final Room room = Room.builder().roomNumber("A1").rowCount(2).columnCount(2).build();
+    private final Screening screening = Screening.builder().id(1L).room(room).movie(Movie.builder().title("Matrix").build()).build();
+    private final Seat seat1 = Seat.builder().id(10L).rowNumber(1).columnNumber(1).room(room).build();
+    private final Seat seat2 = Seat.builder().id(11L).rowNumber(1).columnNumber(2).room(room).build();
+    private final HoldConfirmationRequest customer = new HoldConfirmationRequest("a@b.com", "John", "Doe");
+
+    private SeatHoldServiceImpl seatHoldService;
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = mock(Clock.class);
+        lenient().when(clock.instant()).thenAnswer(inv -> now.get());
+        lenient().when(clock.getZone()).thenReturn(ZoneId.of("UTC"));
+        seatHoldService = new SeatHoldServiceImpl(screeningRepository, seatRepository, seatOccupancyService,
+                reservationService, clock, Duration.ofMinutes(10), Duration.ofSeconds(1));
+    }
+
+    @Test
+    void shouldClaimSeatsForHold() {
+        // given
+        givenSeatsExist();
+
+        // when
+        SeatHoldResponse response = seatHoldService.hold(new SeatHoldRequest(1L, List.of(10L, 11L)));
+
+        // then
+        assertThat(response.holdId()).isNotNull();
+        assertThat(response.seatIds()).containsExactly(10L, 11L);
+        assertThat(response.expiresAt()).isEqualTo("2025-06-05T12:10:00");
+        verify(seatOccupancyService).claim(screening, List.of(seat1, seat2));
+    }
+
+    @Test
+    void shouldNotCreateHoldWhenSeatsAreTaken() {
+        // given
+        givenSeatsExist();
+        doThrow(new SeatsAlreadyTakenException("Seats already taken: [10]"))
+                .when(seatOccupancyService).claim(screening, List.of(seat1, seat2));
+
+        // when / then
+        assertThatThrownBy(() -> seatHoldService.hold(new SeatHoldRequest(1L, List.of(10L, 11L))))
+                .isInstanceOf(SeatsAlreadyTakenException.class);
+    }
+
+    @Test
+    void shouldReleaseSeatsWhenHoldExpires() {
+        // given
+        givenSeatsExist();
+        seatHoldService.hold(new SeatHoldRequest(1L, List.of(10L, 11L)));
+
+        // when
+        now.set(now.get().plus(Duration.ofMinutes(9)));
+        seatHoldService.expireDueHolds();
+
+        // then
+        verify(seatOccupancyService, never()).release(any(), any());
+
+        // when
+        now.set(now.get().plus(Duration.ofMinutes(2)));
+        seatHoldService.expireDueHolds();
+
+        // then
+        verify(seatOccupancyService, times(1)).release(screening, List.of(seat1, seat2));
+    }
+
+    @Test
+    void shouldConfirmHoldIntoTicket() {
+        // given
+        givenSeatsExist();
+        SeatHoldResponse hold = seatHoldService.hold(new SeatHoldRequest(1L, List.of(10L, 11L)));
+        TicketResponse ticket = TicketResponse.builder().movieTitle("Matrix").build();
+        when(reservationService.reserveHeldSeats(new ReservationRequest(1L, List.of(10L, 11L), "a@b.com", "John", "Doe")))
+                .thenReturn(ticket);
+
+        // when
+        TicketResponse result = seatHoldService.confirm(hold.holdId(), customer);
+        now.set(now.get().plus(Duration.ofMinutes(30)));
+        seatHoldService.expireDueHolds();
+
+        // then
+        assertThat(result).isSameAs(ticket);
+        verify(seatOccupancyService, never()).release(any(), any());
+    }
+
+    @Test
+    void shouldReleaseSeatsWhenConfirmationFails() {
+        // given
+        givenSeatsExist();
+        SeatHoldResponse hold = seatHoldService.hold(new SeatHoldRequest(1L, List.of(10L, 11L)));
+        when(reservationService.reserveHeldSeats(any())).thenThrow(new IllegalArgumentException("One or more seats not in room"));
+
+        // when / then
+        assertThatThrownBy(() -> seatHoldService.confirm(hold.holdId(), customer))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(seatOccupancyService).release(screening, List.of(seat1, seat2));
+        verify(seatOccupancyService, never()).resync(any(), any());
+    }
+
+    @Test
+    void shouldResyncInsteadOfReleasingWhenSeatsWereSoldInDatabase() {
+        // given
+        givenSeatsExist();
+        SeatHoldResponse hold = seatHoldService.hold(new SeatHoldRequest(1L, List.of(10L, 11L)));
+        when(reservationService.reserveHeldSeats(any())).thenThrow(new SeatsAlreadyTakenException("Seats already taken: [10]"));
+
+        // when / then
+        assertThatThrownBy(() -> seatHoldService.confirm(hold.holdId(), customer))
+                .isInstanceOf(SeatsAlreadyTakenException.class);
+        verify(seatOccupancyService).resync(screening, List.of(seat1, seat2));
+        verify(seatOccupancyService, never()).release(any(), any());
+    }
+
+    @Test
+    void shouldResyncWhenUniqueConstraintRejectsConfirmation() {
+        // given
+        givenSeatsExist();
+        SeatHoldResponse hold = seatHoldService.hold(new SeatHoldRequest(1L, List.of(10L, 11L)));
+        DataIntegrityViolationException violation = new DataIntegrityViolationException("uc_ticketseat_screening_seat");
+        when(reservationService.reserveHeldSeats(any())).thenThrow(violation);
+        doThrow(new CannotCreateTransactionException("db down")).when(seatOccupancyService).resync(any(), any());
+
+        // when / then – bez bazy miejsca zostają zajęte, a pierwotny błąd nie ginie
+        assertThatThrownBy(() -> seatHoldService.confirm(hold.holdId(), customer))
+                .isSameAs(violation)
+                .satisfies(e -> assertThat(e.getSuppressed()).hasSize(1));
+        verify(seatOccupancyService, never()).release(any(), any());
+    }
+
+    @Test
+    void shouldRejectConfirmationOfExpiredHold() {
+        // given
+        givenSeatsExist();
+        SeatHoldResponse hold = seatHoldService.hold(new SeatHoldRequest(1L, List.of(10L, 11L)));
+        now.set(now.get().plus(Duration.ofMinutes(10)));
+
+        // when / then – koło jeszcze nie ruszyło, ale termin już minął
+        assertThatThrownBy(() -> seatHoldService.confirm(hold.holdId(), customer))
+                .isInstanceOf(SeatHoldNotFoundException.class);
+        verify(reservationService, never()).reserveHeldSeats(any());
+        verify(seatOccupancyService).release(screening, List.of(seat1, seat2));
+    }
+
+    @Test
+    void shouldReleaseHoldOnlyOnce() {
+        // given
+        givenSeatsExist();
+        SeatHoldResponse hold = seatHoldService.hold(new SeatHoldRequest(1L, List.of(10L, 11L)));
+
+        // when
+        seatHoldService.release(hold.holdId());
+
+        // then
+        assertThatThrownBy(() -> seatHoldService.release(hold.holdId()))
+                .isInstanceOf(SeatHoldNotFoundException.class);
+        verify(seatOccupancyService, times(1)).release(screening, List.of(seat1, seat2));
+    }
+
+    private void givenSeatsExist() {
+        when(screeningRepository.findById(1L)).thenReturn(Optional.of(screening));
+        when(seatRepository.countByIdInAndRoomRoomNumber(List.of(10L, 11L), "A1")).thenReturn(2L);
+        when(seatRepository.findAllById(List.of(10L, 11L))).thenReturn(List.of(seat1, seat2));
+    }
+}
@@ -0,0 +1,211 @@
+package com.psiw.proj.backend.service;
+
+import com.psiw.proj.backend.entity.Room;
+import com.psiw.proj.backend.entity.Screening;
+import com.psiw.proj.backend.entity.Seat;
+import com.psiw.proj.backend.exceptions.custom.SeatsAlreadyTakenException;
+import com.psiw.proj.backend.repository.TicketSeatRepository;
+import com.psiw.proj.backend.service.implementation.SeatOccupancyServiceImpl;
+import com.psiw.proj.backend.service.interfaces.RepertoireVersionService;
+import com.psiw.proj.backend.utils.events.SeatAvailabilityChangedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SeatOccupancyServiceImplTest {
+
+    @Mock
+    private TicketSeatRepository ticketSeatRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private RepertoireVersionService repertoireVersionService;
+
+    @InjectMocks
+    private SeatOccupancyServiceImpl seatOccupancyService;
+
+    private final Room room = Room.builder().roomNumber("A1").rowCount(3).columnCount(4).build();
+    private final Screening screening = Screening.builder().id(7L).room(room).startTime(LocalDateTime.of(2025, 6, 5, 18, 0)).build();
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void shouldRejectClaimOfSeatsTakenInDatabase() {
+        // given – R1C2 (pozycja 1) i R3C4 (pozycja 11) są zajęte
+        when(ticketSeatRepository.findTakenSeatPositions(7L)).thenReturn(List.of(1, 11));
+        Seat free = seat(1L, 1, 1);
+        Seat taken = seat(2L, 1, 2);
+        Seat last = seat(12L, 3, 4);
+
+        // when / then
+        assertThatThrownBy(() -> seatOccupancyService.claim(screening, List.of(free, taken, last)))
+                .isInstanceOf(SeatsAlreadyTakenException.class)
+                .hasMessageContaining("[2, 12]");
+        assertThat(seatOccupancyService.isTaken(screening, free)).isFalse();
+    }
+
+    @Test
+    void shouldLoadBitmapOnlyOncePerScreening() {
+        // given
+        when(ticketSeatRepository.findTakenSeatPositions(7L)).thenReturn(List.of());
+        Seat seat = seat(1L, 2, 2);
+
+        // when
+        seatOccupancyService.isTaken(screening, seat);
+        seatOccupancyService.isTaken(screening, seat);
+        seatOccupancyService.claim(screening, List.of(seat));
+
+        // then
+        verify(ticketSeatRepository, times(1)).findTakenSeatPositions(7L);
+    }
+
+    @Test
+    void shouldMarkClaimedSeatsWithoutReloading() {
+        // given
+        when(ticketSeatRepository.findTakenSeatPositions(7L)).thenReturn(List.of());
+        Seat seat = seat(5L, 2, 1);
+        assertThat(seatOccupancyService.isTaken(screening, seat)).isFalse();
+
+        // when
+        seatOccupancyService.claim(screening, List.of(seat));
+
+        // then
+        assertThat(seatOccupancyService.isTaken(screening, seat)).isTrue();
+        verify(ticketSeatRepository, times(1)).findTakenSeatPositions(7L);
+        verify(eventPublisher).publishEvent(new SeatAvailabilityChangedEvent(7L, LocalDate.of(2025, 6, 5), List.of(5L), false));
+    }
+
+    @Test
+    void shouldReleaseClaimWhenTransactionRollsBack() {
+        // given
+        when(ticketSeatRepository.findTakenSeatPositions(7L)).thenReturn(List.of());
+        Seat seat = seat(5L, 2, 1);
+        TransactionSynchronizationManager.initSynchronization();
+
+        // when
+        seatOccupancyService.claim(screening, List.of(seat));
+        assertThat(seatOccupancyService.isTaken(screening, seat)).isTrue();
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        // then
+        assertThat(seatOccupancyService.isTaken(screening, seat)).isFalse();
+        verify(repertoireVersionService).invalidateScreening(7L, LocalDate.of(2025, 6, 5));
+    }
+
+    @Test
+    void shouldKeepEtagsWhenTransactionCommits() {
+        // given
+        when(ticketSeatRepository.findTakenSeatPositions(7L)).thenReturn(List.of());
+        Seat seat = seat(5L, 2, 1);
+        TransactionSynchronizationManager.initSynchronization();
+
+        // when
+        seatOccupancyService.claim(screening, List.of(seat));
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        // then
+        assertThat(seatOccupancyService.isTaken(screening, seat)).isTrue();
+        verifyNoInteractions(repertoireVersionService);
+    }
+
+    @Test
+    void shouldResyncOnlyGivenSeatsFromDatabase() {
+        // given – R1C1 i R1C2 zablokowane w pamięci, w bazie sprzedano tylko R1C1
+        when(ticketSeatRepository.findTakenSeatPositions(7L)).thenReturn(List.of()).thenReturn(List.of(0));
+        Seat sold = seat(1L, 1, 1);
+        Seat unsold = seat(2L, 1, 2);
+        Seat otherHold = seat(3L, 1, 3);
+        seatOccupancyService.claim(screening, List.of(sold, unsold));
+        seatOccupancyService.claim(screening, List.of(otherHold));
+
+        // when
+        seatOccupancyService.resync(screening, List.of(sold, unsold));
+
+        // then
+        assertThat(seatOccupancyService.isTaken(screening, sold)).isTrue();
+        assertThat(seatOccupancyService.isTaken(screening, unsold)).isFalse();
+        assertThat(seatOccupancyService.isTaken(screening, otherHold)).isTrue();
+        verify(eventPublisher).publishEvent(new SeatAvailabilityChangedEvent(7L, LocalDate.of(2025, 6, 5), List.of(2L), true));
+    }
+
+    @Test
+    void shouldLetExactlyOneConcurrentClaimWin() throws Exception {
+        // given
+        when(ticketSeatRepository.findTakenSeatPositions(7L)).thenReturn(List.of());
+        List<Seat> seats = List.of(seat(1L, 1, 1), seat(2L, 1, 2));
+        int contenders = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(contenders);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger winners = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        // when
+        for (int i = 0; i < contenders; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    seatOccupancyService.claim(screening, seats);
+                    winners.incrementAndGet();
+                } catch (SeatsAlreadyTakenException ignored) {
+                    // przegrany
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        // then
+        assertThat(winners.get()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRejectSeatOutsideRoom() {
+        // given
+        when(ticketSeatRepository.findTakenSeatPositions(7L)).thenReturn(List.of());
+        Seat outside = seat(99L, 4, 1);
+
+        // when / then
+        assertThatThrownBy(() -> seatOccupancyService.claim(screening, Collections.singletonList(outside)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("outside the room");
+    }
+
+    private Seat seat(Long id, int row, int column) {
+        return Seat.builder().id(id).rowNumber(row).columnNumber(column).room(room).build();
+    }
+}
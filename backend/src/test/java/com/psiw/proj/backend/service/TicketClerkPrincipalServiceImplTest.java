@@ -0,0 +1,102 @@
+package com.psiw.proj.backend.service;
+
+import com.psiw.proj.backend.entity.TicketClerk;
+import com.psiw.proj.backend.exceptions.custom.TicketClerkNotFoundException;
+import com.psiw.proj.backend.repository.TicketClerkRepository;
+import com.psiw.proj.backend.service.implementation.TicketClerkPrincipalServiceImpl;
+import com.psiw.proj.backend.utils.events.TicketClerkChangedEvent;
+import com.psiw.proj.backend.utils.responseDto.helpers.CacheStatsDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TicketClerkPrincipalServiceImplTest {
+
+    @Mock
+    private TicketClerkRepository ticketClerkRepository;
+
+    private TicketClerkPrincipalServiceImpl principalService;
+
+    private final TicketClerk clerk = TicketClerk.builder().id(1L).username("clerk").password("x").fullName("Jan Kowalski").build();
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(Instant.parse("2025-06-05T12:00:00Z"), ZoneOffset.UTC);
+        principalService = new TicketClerkPrincipalServiceImpl(ticketClerkRepository, clock, Duration.ofMinutes(5), 10);
+    }
+
+    @Test
+    void shouldQueryRepositoryOncePerClerk() {
+        // given
+        when(ticketClerkRepository.findByUsername("clerk")).thenReturn(Optional.of(clerk));
+
+        // when
+        TicketClerk first = principalService.loadPrincipal("clerk");
+        TicketClerk second = principalService.loadPrincipal("clerk");
+
+        // then
+        assertThat(second).isSameAs(first);
+        verify(ticketClerkRepository, times(1)).findByUsername("clerk");
+    }
+
+    @Test
+    void shouldNotCacheUnknownClerk() {
+        // given
+        when(ticketClerkRepository.findByUsername("ghost")).thenReturn(Optional.empty());
+
+        // when & then
+        assertThatThrownBy(() -> principalService.loadPrincipal("ghost")).isInstanceOf(TicketClerkNotFoundException.class);
+        assertThatThrownBy(() -> principalService.loadPrincipal("ghost")).isInstanceOf(TicketClerkNotFoundException.class);
+        verify(ticketClerkRepository, times(2)).findByUsername("ghost");
+    }
+
+    @Test
+    void shouldReloadClerkAfterChangeEvent() {
+        // given
+        TicketClerk promoted = TicketClerk.builder().id(1L).username("clerk").password("y").fullName("Jan Kowalski").build();
+        when(ticketClerkRepository.findByUsername("clerk")).thenReturn(Optional.of(clerk)).thenReturn(Optional.of(promoted));
+        principalService.loadPrincipal("clerk");
+
+        // when
+        principalService.onTicketClerkChanged(new TicketClerkChangedEvent(1L, "clerk"));
+        TicketClerk reloaded = principalService.loadPrincipal("clerk");
+
+        // then
+        assertThat(reloaded).isSameAs(promoted);
+        verify(ticketClerkRepository, times(2)).findByUsername("clerk");
+    }
+
+    @Test
+    void shouldCountHitsAndMisses() {
+        // given
+        when(ticketClerkRepository.findByUsername("clerk")).thenReturn(Optional.of(clerk));
+
+        // when
+        principalService.loadPrincipal("clerk");
+        principalService.loadPrincipal("clerk");
+        principalService.loadPrincipal("clerk");
+        principalService.loadPrincipal("clerk");
+        CacheStatsDto stats = principalService.stats();
+
+        // then
+        assertThat(stats.hits()).isEqualTo(3);
+        assertThat(stats.misses()).isEqualTo(1);
+        assertThat(stats.hitRatio()).isEqualTo(0.75);
+        assertThat(stats.size()).isEqualTo(1);
+    }
+}
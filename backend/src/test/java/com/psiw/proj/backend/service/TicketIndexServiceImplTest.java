@@ -0,0 +1,222 @@
+package com.psiw.proj.backend.service;
+
+import com.psiw.proj.backend.exceptions.custom.TicketNotFoundException;
+import com.psiw.proj.backend.repository.TicketRepository;
+import com.psiw.proj.backend.repository.projections.TicketIndexRow;
+import com.psiw.proj.backend.service.implementation.TicketIndexServiceImpl;
+import com.psiw.proj.backend.utils.enums.TicketStatus;
+import com.psiw.proj.backend.utils.events.TicketIssuedEvent;
+import com.psiw.proj.backend.utils.responseDto.TicketResponse;
+import com.psiw.proj.backend.utils.validation.TicketIndexEntry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TicketIndexServiceImplTest {
+
+    @Mock
+    private TicketRepository ticketRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private final LocalDateTime now = LocalDateTime.of(2025, 6, 5, 12, 0);
+    private final UUID ticketId = UUID.randomUUID();
+
+    private TicketIndexServiceImpl ticketIndexService;
+
+    @BeforeEach
+    void setUp() {
+        // zegar serwera w UTC, okno liczone w strefie kina
+        ZoneId zone = ZoneId.of("UTC+2");
+        Clock clock = Clock.fixed(now.atZone(zone).toInstant(), ZoneOffset.UTC);
+        ticketIndexService = new TicketIndexServiceImpl(ticketRepository, transactionTemplate, clock, zone,
+                Duration.ofHours(6), Duration.ofHours(4), Duration.ofMinutes(5));
+    }
+
+    @Test
+    void shouldMergeSeatRowsOfOneTicketIntoSingleEntry() {
+        // given
+        UUID otherId = UUID.randomUUID();
+        when(ticketRepository.findIndexRowsStartingBetween(now.minusHours(4), now.plusHours(6))).thenReturn(List.of(
+                row(ticketId, TicketStatus.WAITING_FOR_ACTIVATION, now.plusHours(1), 3),
+                row(ticketId, TicketStatus.WAITING_FOR_ACTIVATION, now.plusHours(1), 4),
+                row(otherId, TicketStatus.VALID, now.plusHours(1), 7)
+        ));
+
+        // when
+        ticketIndexService.refresh();
+        TicketIndexEntry entry = ticketIndexService.get(ticketId);
+
+        // then
+        assertThat(ticketIndexService.size()).isEqualTo(2);
+        assertThat(entry.ticket().seatNumbers()).containsExactly(3, 4);
+        assertThat(entry.ticket().ticketOwner()).isEqualTo("John Doe");
+        assertThat(entry.screeningEnd()).isEqualTo(now.plusHours(1).plusMinutes(90));
+        verify(ticketRepository, never()).findIndexRows(any());
+    }
+
+    @Test
+    void shouldLoadMissingTicketAndIndexItWhenInWindow() {
+        // given
+        when(ticketRepository.findIndexRows(ticketId))
+                .thenReturn(List.of(row(ticketId, TicketStatus.VALID, now.plusHours(2), 5)));
+
+        // when
+        ticketIndexService.get(ticketId);
+        TicketIndexEntry entry = ticketIndexService.get(ticketId);
+
+        // then
+        assertThat(entry.status()).isEqualTo(TicketStatus.VALID);
+        verify(ticketRepository, times(1)).findIndexRows(ticketId);
+    }
+
+    @Test
+    void shouldNotIndexTicketOutsideWindow() {
+        // given
+        when(ticketRepository.findIndexRows(ticketId))
+                .thenReturn(List.of(row(ticketId, TicketStatus.WAITING_FOR_ACTIVATION, now.plusDays(3), 5)));
+
+        // when
+        ticketIndexService.get(ticketId);
+
+        // then
+        assertThat(ticketIndexService.size()).isZero();
+    }
+
+    @Test
+    void shouldThrowWhenTicketDoesNotExist() {
+        // given
+        when(ticketRepository.findIndexRows(ticketId)).thenReturn(List.of());
+
+        // when & then
+        assertThatThrownBy(() -> ticketIndexService.get(ticketId))
+                .isInstanceOf(TicketNotFoundException.class);
+    }
+
+    @Test
+    void shouldUpdateIndexAfterSuccessfulStatusChange() {
+        // given
+        givenTransactionTemplateRunsCallback();
+        TicketIndexEntry entry = indexTicket(TicketStatus.VALID);
+        when(ticketRepository.updateStatus(ticketId, TicketStatus.VALID, TicketStatus.USED)).thenReturn(1);
+
+        // when
+        boolean changed = ticketIndexService.changeStatus(entry, TicketStatus.USED);
+
+        // then
+        assertThat(changed).isTrue();
+        assertThat(ticketIndexService.get(ticketId).status()).isEqualTo(TicketStatus.USED);
+    }
+
+    @Test
+    void shouldKeepIndexWhenStatusChangedConcurrently() {
+        // given
+        givenTransactionTemplateRunsCallback();
+        TicketIndexEntry entry = indexTicket(TicketStatus.VALID);
+        when(ticketRepository.updateStatus(ticketId, TicketStatus.VALID, TicketStatus.USED)).thenReturn(0);
+
+        // when
+        boolean changed = ticketIndexService.changeStatus(entry, TicketStatus.USED);
+
+        // then
+        assertThat(changed).isFalse();
+        assertThat(ticketIndexService.get(ticketId).status()).isEqualTo(TicketStatus.VALID);
+    }
+
+    @Test
+    void shouldNotRevertScannedTicketOnRefresh() {
+        // given
+        givenTransactionTemplateRunsCallback();
+        TicketIndexEntry entry = indexTicket(TicketStatus.VALID);
+        when(ticketRepository.updateStatus(ticketId, TicketStatus.VALID, TicketStatus.USED)).thenReturn(1);
+        ticketIndexService.changeStatus(entry, TicketStatus.USED);
+        // odczyt z bazy wykonany jeszcze przed skanem
+        when(ticketRepository.findIndexRowsStartingBetween(any(), any()))
+                .thenReturn(List.of(row(ticketId, TicketStatus.VALID, now.plusHours(1), 5)));
+
+        // when
+        ticketIndexService.refresh();
+
+        // then
+        assertThat(ticketIndexService.get(ticketId).status()).isEqualTo(TicketStatus.USED);
+    }
+
+    @Test
+    void shouldDropEntriesOfPastScreeningsOnRefresh() {
+        // given
+        ticketIndexService.onTicketIssued(issued(now.minusHours(5)));
+        ticketIndexService.onTicketIssued(issued(now.minusHours(3)));
+        assertThat(ticketIndexService.size()).isEqualTo(1);
+        when(ticketRepository.findIndexRowsStartingBetween(any(), any())).thenReturn(List.of());
+
+        // when
+        ticketIndexService.refresh();
+
+        // then
+        assertThat(ticketIndexService.size()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldIndexIssuedTicketWithoutDatabaseRoundTrip() {
+        // given
+        TicketIssuedEvent event = issued(now.plusHours(1));
+
+        // when
+        ticketIndexService.onTicketIssued(event);
+        TicketIndexEntry entry = ticketIndexService.get(event.ticket().ticketId());
+
+        // then
+        assertThat(entry.screeningEnd()).isEqualTo(now.plusHours(1).plusMinutes(90));
+        verifyNoInteractions(ticketRepository);
+    }
+
+    private TicketIndexEntry indexTicket(TicketStatus status) {
+        when(ticketRepository.findIndexRows(ticketId)).thenReturn(List.of(row(ticketId, status, now.plusHours(1), 5)));
+        return ticketIndexService.get(ticketId);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void givenTransactionTemplateRunsCallback() {
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(inv -> ((TransactionCallback<Object>) inv.getArgument(0)).doInTransaction(null));
+    }
+
+    private TicketIssuedEvent issued(LocalDateTime start) {
+        TicketResponse ticket = TicketResponse.builder()
+                .seatNumbers(List.of(1))
+                .movieTitle("Matrix")
+                .screeningStartTime(start)
+                .ticketId(UUID.randomUUID())
+                .status(TicketStatus.WAITING_FOR_ACTIVATION)
+                .email("a@b.com")
+                .ticketOwner("John Doe")
+                .price(BigDecimal.TEN)
+                .build();
+        return new TicketIssuedEvent(ticket, Duration.ofMinutes(90));
+    }
+
+    private TicketIndexRow row(UUID id, TicketStatus status, LocalDateTime start, int seatNumber) {
+        return new TicketIndexRow(id, status, BigDecimal.TEN, "a@b.com", "John", "Doe",
+                start, Duration.ofMinutes(90), "Matrix", seatNumber);
+    }
+}
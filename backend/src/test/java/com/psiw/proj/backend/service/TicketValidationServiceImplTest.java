@@ -1,11 +1,12 @@
 package com.psiw.proj.backend.service;
 
-import com.psiw.proj.backend.entity.*;
 import com.psiw.proj.backend.exceptions.custom.TicketNotFoundException;
-import com.psiw.proj.backend.repository.TicketRepository;
 import com.psiw.proj.backend.service.implementation.TicketValidationServiceImpl;
+import com.psiw.proj.backend.service.interfaces.TicketIndexService;
 import com.psiw.proj.backend.utils.enums.TicketStatus;
 import com.psiw.proj.backend.utils.responseDto.TicketResponse;
+import com.psiw.proj.backend.utils.validation.TicketIndexEntry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
@@ -22,88 +23,104 @@ import static org.mockito.Mockito.*;
 class TicketValidationServiceImplTest {
 
     @Mock
-    private TicketRepository ticketRepository;
+    private TicketIndexService ticketIndexService;
 
     @Mock
     private Clock clock;
 
-    @InjectMocks
     private TicketValidationServiceImpl service;
 
+    private final ZoneId zone = ZoneId.of("UTC+2");
     private final UUID ticketId = UUID.randomUUID();
     private final LocalDateTime now = LocalDateTime.of(2025, 6, 5, 12, 0);
 
+    @BeforeEach
+    void setUp() {
+        service = new TicketValidationServiceImpl(ticketIndexService, clock, zone);
+    }
+
     @Test
     void shouldReturnValidWhenLessThan15MinutesBeforeStart() {
         // given
         prepareClock();
-        LocalDateTime screeningStart = now.plusMinutes(10);
-        Ticket ticket = prepareTicket(TicketStatus.WAITING_FOR_ACTIVATION, screeningStart);
-        when(ticketRepository.findById(ticketId)).thenReturn(Optional.of(ticket));
+        TicketIndexEntry entry = prepareEntry(TicketStatus.WAITING_FOR_ACTIVATION, now.plusMinutes(10));
+        when(ticketIndexService.get(ticketId)).thenReturn(entry);
+        when(ticketIndexService.changeStatus(entry, TicketStatus.VALID)).thenReturn(true);
 
         // when
         TicketResponse response = service.checkTicket(ticketId);
 
         // then
         assertEquals(TicketStatus.VALID, response.status());
+        assertEquals(List.of(1), response.seatNumbers());
     }
 
     @Test
     void shouldKeepInactiveIfTooEarlyBeforeScreening() {
         // given
         prepareClock();
-        LocalDateTime screeningStart = now.plusMinutes(30);
-        Ticket ticket = prepareTicket(TicketStatus.WAITING_FOR_ACTIVATION, screeningStart);
-
-        when(ticketRepository.findById(ticketId)).thenReturn(Optional.of(ticket));
+        TicketIndexEntry entry = prepareEntry(TicketStatus.WAITING_FOR_ACTIVATION, now.plusMinutes(30));
+        when(ticketIndexService.get(ticketId)).thenReturn(entry);
 
         // when
         TicketResponse response = service.checkTicket(ticketId);
 
         // then
         assertEquals(TicketStatus.WAITING_FOR_ACTIVATION, response.status());
-        verify(ticketRepository, never()).save(any());
+        verify(ticketIndexService, never()).changeStatus(any(), any());
     }
 
     @Test
     void shouldUpdateStatusToExpiredIfPastScreeningEnd() {
         // given
         prepareClock();
-        LocalDateTime screeningStart = now.minusMinutes(100);
-        Ticket ticket = prepareTicket(TicketStatus.VALID, screeningStart);
-
-        when(ticketRepository.findById(ticketId)).thenReturn(Optional.of(ticket));
-        when(ticketRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+        TicketIndexEntry entry = prepareEntry(TicketStatus.VALID, now.minusMinutes(100));
+        when(ticketIndexService.get(ticketId)).thenReturn(entry);
+        when(ticketIndexService.changeStatus(entry, TicketStatus.EXPIRED)).thenReturn(true);
 
         // when
         TicketResponse response = service.checkTicket(ticketId);
 
         // then
         assertEquals(TicketStatus.EXPIRED, response.status());
-        verify(ticketRepository).save(ticket);
+        verify(ticketIndexService).changeStatus(entry, TicketStatus.EXPIRED);
     }
 
     @Test
     void shouldReturnTicketAsIsForUsedStatus() {
         // given
         prepareClock();
-        LocalDateTime screeningStart = now.minusMinutes(20);
-        Ticket ticket = prepareTicket(TicketStatus.USED, screeningStart);
+        TicketIndexEntry entry = prepareEntry(TicketStatus.USED, now.minusMinutes(20));
+        when(ticketIndexService.get(ticketId)).thenReturn(entry);
+
+        // when
+        TicketResponse response = service.checkTicket(ticketId);
+
+        // then
+        assertEquals(TicketStatus.USED, response.status());
+        verify(ticketIndexService, never()).changeStatus(any(), any());
+    }
 
-        when(ticketRepository.findById(ticketId)).thenReturn(Optional.of(ticket));
+    @Test
+    void shouldReloadWhenStatusChangedConcurrently() {
+        // given
+        prepareClock();
+        TicketIndexEntry entry = prepareEntry(TicketStatus.WAITING_FOR_ACTIVATION, now.plusMinutes(10));
+        when(ticketIndexService.get(ticketId)).thenReturn(entry);
+        when(ticketIndexService.changeStatus(entry, TicketStatus.VALID)).thenReturn(false);
+        when(ticketIndexService.reload(ticketId)).thenReturn(entry.withStatus(TicketStatus.USED));
 
         // when
         TicketResponse response = service.checkTicket(ticketId);
 
         // then
         assertEquals(TicketStatus.USED, response.status());
-        verify(ticketRepository, never()).save(any());
     }
 
     @Test
     void shouldThrowIfTicketNotFound() {
         // given
-        when(ticketRepository.findById(ticketId)).thenReturn(Optional.empty());
+        when(ticketIndexService.get(ticketId)).thenThrow(new TicketNotFoundException("Ticket not found: " + ticketId));
 
         // when & then
         assertThrows(TicketNotFoundException.class, () -> service.checkTicket(ticketId));
@@ -113,67 +130,60 @@ class TicketValidationServiceImplTest {
     void shouldMarkTicketAsUsedIfValid() {
         // given
         prepareClock();
-        LocalDateTime screeningStart = now.plusMinutes(5);
-        Ticket ticket = prepareTicket(TicketStatus.VALID, screeningStart);
-
-        when(ticketRepository.findById(ticketId)).thenReturn(Optional.of(ticket));
-        when(ticketRepository.getReferenceById(ticketId)).thenReturn(ticket);
-        when(ticketRepository.save(any())).thenReturn(ticket);
+        TicketIndexEntry entry = prepareEntry(TicketStatus.VALID, now.plusMinutes(5));
+        when(ticketIndexService.get(ticketId)).thenReturn(entry);
+        when(ticketIndexService.changeStatus(entry, TicketStatus.USED)).thenReturn(true);
 
         // when
         TicketResponse result = service.scanTicket(ticketId);
 
         // then
         assertEquals(TicketStatus.USED, result.status());
-        verify(ticketRepository).save(ticket);
+        verify(ticketIndexService).changeStatus(entry, TicketStatus.USED);
     }
 
     @Test
     void shouldThrowWhenScanningNonValidTicket() {
         // given
         prepareClock();
-        LocalDateTime screeningStart = now.minusMinutes(10);
-        Ticket ticket = prepareTicket(TicketStatus.EXPIRED, screeningStart);
-        when(ticketRepository.findById(ticketId)).thenReturn(Optional.of(ticket));
+        TicketIndexEntry entry = prepareEntry(TicketStatus.EXPIRED, now.minusMinutes(10));
+        when(ticketIndexService.get(ticketId)).thenReturn(entry);
 
         // when & then
         assertThrows(IllegalStateException.class, () -> service.scanTicket(ticketId));
+        verify(ticketIndexService, never()).changeStatus(any(), any());
+    }
+
+    @Test
+    void shouldThrowWhenTicketScannedConcurrently() {
+        // given
+        prepareClock();
+        TicketIndexEntry entry = prepareEntry(TicketStatus.VALID, now.plusMinutes(5));
+        when(ticketIndexService.get(ticketId)).thenReturn(entry);
+        when(ticketIndexService.changeStatus(entry, TicketStatus.USED)).thenReturn(false);
+        when(ticketIndexService.reload(ticketId)).thenReturn(entry.withStatus(TicketStatus.USED));
+
+        // when & then
+        IllegalStateException ex = assertThrows(IllegalStateException.class, () -> service.scanTicket(ticketId));
+        assertEquals("Cannot scan ticket in status: USED", ex.getMessage());
     }
 
+    // zegar serwera w UTC – godzina seansu i tak jest porównywana w strefie kina
     private void prepareClock() {
-        Clock fixedClock = Clock.fixed(now.atZone(ZoneId.systemDefault()).toInstant(), ZoneId.systemDefault());
-        when(clock.instant()).thenReturn(fixedClock.instant());
-        when(clock.getZone()).thenReturn(fixedClock.getZone());
+        when(clock.instant()).thenReturn(now.atZone(zone).toInstant());
     }
 
-    private Ticket prepareTicket(TicketStatus status, LocalDateTime screeningStart) {
-        // Seat and ticketSeat
-        Seat seat = new Seat();
-        seat.setSeatNumber(1);
-        TicketSeat ticketSeat = new TicketSeat();
-        ticketSeat.setSeat(seat);
-
-        // Movie
-        Movie movie = new Movie();
-        movie.setTitle("Example Movie");
-
-        // Screening
-        Screening screening = new Screening();
-        screening.setStartTime(screeningStart);
-        screening.setDuration(Duration.ofMinutes(90));
-        screening.setMovie(movie);
-
-        // Ticket
-        Ticket ticket = new Ticket();
-        ticket.setTicketNumber(ticketId);
-        ticket.setStatus(status);
-        ticket.setTicketPrice(BigDecimal.valueOf(30.0));
-        ticket.setOwnerEmail("test@example.com");
-        ticket.setOwnerName("John");
-        ticket.setOwnerSurname("Doe");
-        ticket.setScreening(screening);
-        ticket.setTicketSeats(List.of(ticketSeat));
-
-        return ticket;
+    private TicketIndexEntry prepareEntry(TicketStatus status, LocalDateTime screeningStart) {
+        TicketResponse ticket = TicketResponse.builder()
+                .seatNumbers(List.of(1))
+                .movieTitle("Example Movie")
+                .screeningStartTime(screeningStart)
+                .ticketId(ticketId)
+                .status(status)
+                .email("test@example.com")
+                .ticketOwner("John Doe")
+                .price(BigDecimal.valueOf(30.0))
+                .build();
+        return new TicketIndexEntry(ticket, screeningStart.plus(Duration.ofMinutes(90)));
     }
 }
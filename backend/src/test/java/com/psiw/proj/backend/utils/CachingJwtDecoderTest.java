@@ -0,0 +1,89 @@
+package com.psiw.proj.backend.utils;
+
+import com.psiw.proj.backend.config.security.jwtUtils.CachingJwtDecoder;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CachingJwtDecoderTest {
+
+    private final AtomicReference<Instant> now = new AtomicReference<>(Instant.parse("2025-06-05T12:00:00Z"));
+    private final Clock clock = new Clock() {
+        @Override
+        public ZoneId getZone() {
+            return ZoneId.of("UTC");
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now.get();
+        }
+    };
+
+    private final AtomicInteger verifications = new AtomicInteger();
+    private final CachingJwtDecoder decoder = new CachingJwtDecoder(token -> {
+        verifications.incrementAndGet();
+        if (token.startsWith("bad")) {
+            throw new BadJwtException("Invalid signature");
+        }
+        return jwt(token, now.get().plusSeconds(120));
+    }, clock, 10);
+
+    @Test
+    void shouldVerifySignatureOncePerToken() {
+        // when
+        Jwt first = decoder.decode("token-a");
+        Jwt second = decoder.decode("token-a");
+        decoder.decode("token-b");
+
+        // then
+        assertThat(second).isSameAs(first);
+        assertThat(verifications).hasValue(2);
+        assertThat(decoder.size()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldVerifyAgainOnceTokenExpired() {
+        // given
+        decoder.decode("token-a");
+        now.set(now.get().plusSeconds(120));
+
+        // when
+        decoder.decode("token-a");
+
+        // then
+        assertThat(verifications).hasValue(2);
+    }
+
+    @Test
+    void shouldNotCacheRejectedTokens() {
+        // when & then
+        assertThatThrownBy(() -> decoder.decode("bad-token")).isInstanceOf(BadJwtException.class);
+        assertThatThrownBy(() -> decoder.decode("bad-token")).isInstanceOf(BadJwtException.class);
+        assertThat(verifications).hasValue(2);
+        assertThat(decoder.size()).isZero();
+    }
+
+    private Jwt jwt(String token, Instant expiresAt) {
+        return Jwt.withTokenValue(token)
+                .header("alg", "RS256")
+                .subject("clerk")
+                .issuedAt(now.get())
+                .expiresAt(expiresAt)
+                .build();
+    }
+}
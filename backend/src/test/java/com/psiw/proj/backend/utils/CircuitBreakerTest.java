@@ -0,0 +1,116 @@
+package com.psiw.proj.backend.utils;
+
+import com.psiw.proj.backend.utils.concurrency.CircuitBreaker;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CircuitBreakerTest {
+
+    private final AtomicReference<Instant> now = new AtomicReference<>(Instant.parse("2025-06-05T12:00:00Z"));
+    private final Clock clock = new Clock() {
+        @Override
+        public ZoneId getZone() {
+            return ZoneId.of("UTC");
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now.get();
+        }
+    };
+
+    private final CircuitBreaker breaker = new CircuitBreaker(3, Duration.ofSeconds(10), clock);
+
+    @Test
+    void shouldOpenAfterConsecutiveFailures() {
+        // given
+        breaker.onFailure();
+        breaker.onFailure();
+        assertThat(breaker.tryAcquire()).isTrue();
+
+        // when
+        breaker.onFailure();
+
+        // then
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquire()).isFalse();
+    }
+
+    @Test
+    void shouldResetFailureCountOnSuccess() {
+        // given
+        breaker.onFailure();
+        breaker.onFailure();
+
+        // when
+        breaker.onSuccess();
+        breaker.onFailure();
+
+        // then
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void shouldAllowSingleProbeAfterOpenDuration() {
+        // given
+        openBreaker();
+        now.set(now.get().plusSeconds(10));
+
+        // when
+        boolean probe = breaker.tryAcquire();
+        boolean second = breaker.tryAcquire();
+
+        // then
+        assertThat(probe).isTrue();
+        assertThat(second).isFalse();
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+    }
+
+    @Test
+    void shouldCloseAfterSuccessfulProbe() {
+        // given
+        openBreaker();
+        now.set(now.get().plusSeconds(10));
+        breaker.tryAcquire();
+
+        // when
+        breaker.onSuccess();
+
+        // then
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void shouldReopenAfterFailedProbe() {
+        // given
+        openBreaker();
+        now.set(now.get().plusSeconds(10));
+        breaker.tryAcquire();
+
+        // when
+        breaker.onFailure();
+
+        // then
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquire()).isFalse();
+    }
+
+    private void openBreaker() {
+        breaker.onFailure();
+        breaker.onFailure();
+        breaker.onFailure();
+    }
+}
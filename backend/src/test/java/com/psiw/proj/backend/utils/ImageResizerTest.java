@@ -0,0 +1,59 @@
+package com.psiw.proj.backend.utils;
+
+import com.psiw.proj.backend.utils.enums.ImageFormat;
+import com.psiw.proj.backend.utils.images.ImageResizer;
+import org.junit.jupiter.api.Test;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ImageResizerTest {
+
+    @Test
+    void shouldScaleDownKeepingAspectRatio() {
+        // given
+        BufferedImage source = new BufferedImage(1000, 1500, BufferedImage.TYPE_INT_ARGB);
+
+        // when
+        BufferedImage scaled = ImageResizer.scaleToWidth(source, 200);
+
+        // then
+        assertThat(scaled.getWidth()).isEqualTo(200);
+        assertThat(scaled.getHeight()).isEqualTo(300);
+        assertThat(scaled.getType()).isEqualTo(BufferedImage.TYPE_INT_RGB);
+    }
+
+    @Test
+    void shouldNotEnlargeSmallerImage() {
+        // given
+        BufferedImage source = new BufferedImage(120, 180, BufferedImage.TYPE_INT_RGB);
+
+        // when
+        BufferedImage scaled = ImageResizer.scaleToWidth(source, 200);
+
+        // then
+        assertThat(scaled.getWidth()).isEqualTo(120);
+        assertThat(scaled.getHeight()).isEqualTo(180);
+    }
+
+    @Test
+    void shouldWriteReadableJpegAndPng() throws IOException {
+        // given
+        BufferedImage image = new BufferedImage(40, 60, BufferedImage.TYPE_INT_RGB);
+
+        for (ImageFormat format : ImageFormat.values()) {
+            // when
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            ImageResizer.write(image, format, out);
+
+            // then
+            BufferedImage decoded = ImageResizer.read(new ByteArrayInputStream(out.toByteArray()));
+            assertThat(decoded.getWidth()).isEqualTo(40);
+            assertThat(decoded.getHeight()).isEqualTo(60);
+        }
+    }
+}
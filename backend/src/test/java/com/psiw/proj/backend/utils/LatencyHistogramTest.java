@@ -0,0 +1,83 @@
+package com.psiw.proj.backend.utils;
+
+import com.psiw.proj.backend.utils.metrics.LatencyHistogram;
+import com.psiw.proj.backend.utils.responseDto.helpers.LatencyStatsDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class LatencyHistogramTest {
+
+    @Test
+    void shouldReportPercentilesWithinBucketPrecision() {
+        // given
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long micros = 1; micros <= 100_000; micros++) {
+            histogram.record(micros);
+        }
+
+        // when
+        LatencyStatsDto stats = histogram.snapshot();
+
+        // then
+        assertThat(stats.count()).isEqualTo(100_000);
+        assertThat(stats.meanMs()).isCloseTo(50.0, within(0.01));
+        assertThat(stats.p50Ms()).isCloseTo(50.0, within(50.0 * 0.04));
+        assertThat(stats.p90Ms()).isCloseTo(90.0, within(90.0 * 0.04));
+        assertThat(stats.p99Ms()).isCloseTo(99.0, within(99.0 * 0.04));
+        assertThat(stats.maxMs()).isEqualTo(100.0);
+    }
+
+    @Test
+    void shouldKeepSmallValuesExact() {
+        // given
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(7);
+        histogram.record(7);
+        histogram.record(40);
+
+        // when
+        LatencyStatsDto stats = histogram.snapshot();
+
+        // then
+        assertThat(stats.p50Ms()).isEqualTo(0.007);
+        assertThat(stats.p999Ms()).isEqualTo(0.040);
+    }
+
+    @Test
+    void shouldReturnZerosWhenEmpty() {
+        // when
+        LatencyStatsDto stats = new LatencyHistogram().snapshot();
+
+        // then
+        assertThat(stats.count()).isZero();
+        assertThat(stats.p99Ms()).isZero();
+    }
+
+    @Test
+    void shouldNotLoseSamplesUnderConcurrentRecording() throws Exception {
+        // given
+        LatencyHistogram histogram = new LatencyHistogram();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        // when
+        for (int t = 0; t < 4; t++) {
+            executor.execute(() -> {
+                for (int i = 0; i < 100_000; i++) {
+                    histogram.record(i % 5_000);
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        // then
+        assertThat(histogram.snapshot().count()).isEqualTo(400_000);
+        assertThat(histogram.snapshot().maxMs()).isEqualTo(4.999);
+    }
+}
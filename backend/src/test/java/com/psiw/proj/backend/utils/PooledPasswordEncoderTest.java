@@ -0,0 +1,132 @@
+package com.psiw.proj.backend.utils;
+
+import com.psiw.proj.backend.config.security.PooledPasswordEncoder;
+import com.psiw.proj.backend.exceptions.custom.LoginThrottledException;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PooledPasswordEncoderTest {
+
+    private final Clock clock = Clock.fixed(Instant.parse("2025-06-05T12:00:00Z"), ZoneOffset.UTC);
+    private final BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(BCryptPasswordEncoder.BCryptVersion.$2Y, 4);
+
+    @Test
+    void shouldServeRepeatedLoginFromCredentialCache() {
+        // given
+        AtomicInteger verifications = new AtomicInteger();
+        PooledPasswordEncoder encoder = new PooledPasswordEncoder(counting(bcrypt, verifications), 1, 4, Duration.ofMinutes(5), 10, clock);
+        String hash = bcrypt.encode("secret");
+
+        // when
+        boolean first = encoder.matches("secret", hash);
+        boolean second = encoder.matches("secret", hash);
+
+        // then
+        assertThat(first).isTrue();
+        assertThat(second).isTrue();
+        assertThat(verifications).hasValue(1);
+    }
+
+    @Test
+    void shouldNotAcceptWrongPasswordAfterCachedSuccess() {
+        // given
+        PooledPasswordEncoder encoder = new PooledPasswordEncoder(bcrypt, 1, 4, Duration.ofMinutes(5), 10, clock);
+        String hash = bcrypt.encode("secret");
+        encoder.matches("secret", hash);
+
+        // when
+        boolean matches = encoder.matches("guess", hash);
+
+        // then
+        assertThat(matches).isFalse();
+    }
+
+    @Test
+    void shouldRejectLoginWhenQueueIsFull() throws Exception {
+        // given
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder blocking = counting(bcrypt, null, started, release);
+        PooledPasswordEncoder encoder = new PooledPasswordEncoder(blocking, 1, 1, Duration.ofMinutes(5), 10, clock);
+        String hash = bcrypt.encode("secret");
+        CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> encoder.matches("a", hash));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> encoder.matches("b", hash));
+        while (encoder.queueDepth() < 1) {
+            Thread.onSpinWait();
+        }
+
+        // when & then
+        assertThatThrownBy(() -> encoder.matches("c", hash)).isInstanceOf(LoginThrottledException.class);
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isFalse();
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isFalse();
+    }
+
+    @Test
+    void shouldStopAcceptingWorkAfterShutdown() {
+        // given
+        PooledPasswordEncoder encoder = new PooledPasswordEncoder(bcrypt, 1, 4, Duration.ofMinutes(5), 10, clock);
+
+        // when
+        encoder.shutdown();
+
+        // then
+        assertThatThrownBy(() -> encoder.encode("secret")).isInstanceOf(LoginThrottledException.class);
+    }
+
+    @Test
+    void shouldRequestRehashWhenCostIsRaised() {
+        // given
+        String weakHash = bcrypt.encode("secret");
+        PooledPasswordEncoder encoder = new PooledPasswordEncoder(
+                new BCryptPasswordEncoder(BCryptPasswordEncoder.BCryptVersion.$2Y, 5), 1, 4, Duration.ofMinutes(5), 10, clock);
+
+        // when & then
+        assertThat(encoder.upgradeEncoding(weakHash)).isTrue();
+        assertThat(encoder.upgradeEncoding(encoder.encode("secret"))).isFalse();
+    }
+
+    private static PasswordEncoder counting(PasswordEncoder delegate, AtomicInteger verifications) {
+        return counting(delegate, verifications, null, null);
+    }
+
+    private static PasswordEncoder counting(PasswordEncoder delegate, AtomicInteger verifications,
+                                            CountDownLatch started, CountDownLatch release) {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                return delegate.encode(rawPassword);
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                if (verifications != null) {
+                    verifications.incrementAndGet();
+                }
+                if (started != null) {
+                    started.countDown();
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return delegate.matches(rawPassword, encodedPassword);
+            }
+        };
+    }
+}
@@ -0,0 +1,87 @@
+package com.psiw.proj.backend.utils;
+
+import com.psiw.proj.backend.utils.concurrency.TimingWheel;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimingWheelTest {
+
+    private final Instant start = Instant.parse("2025-06-05T12:00:00Z");
+    private final List<String> expired = new ArrayList<>();
+    private final TimingWheel<String> wheel = new TimingWheel<>(Duration.ofSeconds(1), 8, start, expired::add);
+
+    @Test
+    void shouldExpireOnlyDueItems() {
+        // given
+        wheel.schedule("early", start.plusSeconds(2));
+        wheel.schedule("late", start.plusSeconds(5));
+
+        // when
+        wheel.advanceTo(start.plusSeconds(3));
+
+        // then
+        assertThat(expired).containsExactly("early");
+    }
+
+    @Test
+    void shouldNotExpireCancelledItems() {
+        // given
+        TimingWheel.Timeout<String> timeout = wheel.schedule("cancelled", start.plusSeconds(2));
+
+        // when
+        boolean cancelled = timeout.cancel();
+        wheel.advanceTo(start.plusSeconds(10));
+
+        // then
+        assertThat(cancelled).isTrue();
+        assertThat(expired).isEmpty();
+    }
+
+    @Test
+    void shouldKeepItemsDueAfterMoreThanOneRotation() {
+        // given – 8 kubełków po 1 s, termin za 20 s
+        wheel.schedule("far", start.plusSeconds(20));
+
+        // when
+        wheel.advanceTo(start.plusSeconds(12));
+
+        // then
+        assertThat(expired).isEmpty();
+
+        // when
+        wheel.advanceTo(start.plusSeconds(20));
+
+        // then
+        assertThat(expired).containsExactly("far");
+    }
+
+    @Test
+    void shouldCatchUpAfterLongPause() {
+        // given
+        wheel.schedule("a", start.plusSeconds(1));
+        wheel.schedule("b", start.plusSeconds(30));
+
+        // when
+        wheel.advanceTo(start.plusSeconds(100));
+
+        // then
+        assertThat(expired).containsExactlyInAnyOrder("a", "b");
+    }
+
+    @Test
+    void shouldNotCancelAlreadyExpiredItem() {
+        // given
+        TimingWheel.Timeout<String> timeout = wheel.schedule("gone", start.plusSeconds(1));
+        wheel.advanceTo(start.plusSeconds(2));
+
+        // when / then
+        assertThat(timeout.isExpired()).isTrue();
+        assertThat(timeout.cancel()).isFalse();
+    }
+}
@@ -0,0 +1,56 @@
+package com.psiw.proj.backend.utils;
+
+import com.psiw.proj.backend.utils.cache.WeightedLruCache;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WeightedLruCacheTest {
+
+    @Test
+    void shouldEvictLeastRecentlyUsedUntilWithinWeightLimit() {
+        // given
+        WeightedLruCache<String, byte[]> cache = new WeightedLruCache<>(100, value -> value.length);
+        cache.put("a", new byte[40]);
+        cache.put("b", new byte[40]);
+        cache.get("a");
+
+        // when
+        cache.put("c", new byte[40]);
+
+        // then
+        assertThat(cache.get("b")).isNull();
+        assertThat(cache.get("a")).isNotNull();
+        assertThat(cache.get("c")).isNotNull();
+        assertThat(cache.weight()).isEqualTo(80);
+    }
+
+    @Test
+    void shouldRejectEntryHeavierThanLimit() {
+        // given
+        WeightedLruCache<String, byte[]> cache = new WeightedLruCache<>(100, value -> value.length);
+        cache.put("a", new byte[10]);
+
+        // when
+        boolean stored = cache.put("a", new byte[101]);
+
+        // then
+        assertThat(stored).isFalse();
+        assertThat(cache.get("a")).isNull();
+        assertThat(cache.weight()).isZero();
+    }
+
+    @Test
+    void shouldTrackWeightWhenReplacingEntry() {
+        // given
+        WeightedLruCache<String, byte[]> cache = new WeightedLruCache<>(100, value -> value.length);
+        cache.put("a", new byte[30]);
+
+        // when
+        cache.put("a", new byte[50]);
+
+        // then
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(cache.weight()).isEqualTo(50);
+    }
+}